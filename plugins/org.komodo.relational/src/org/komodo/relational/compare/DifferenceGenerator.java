@@ -23,11 +23,17 @@ package org.komodo.relational.compare;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.komodo.relational.constants.RelationalConstants;
 import org.komodo.relational.model.Model;
 import org.komodo.relational.model.RelationalObject;
+import org.komodo.utils.HashCodeUtil;
 import org.komodo.utils.StringUtil;
 
 /**
@@ -35,6 +41,65 @@ import org.komodo.utils.StringUtil;
  */
 public class DifferenceGenerator implements RelationalConstants {
 	
+	/*
+	 * Key of the name, type and parent of an object. Objects with equal keys
+	 * are a name, type and parent match.
+	 */
+	private static final class MatchKey {
+		
+		private static final int NO_PARENT = -1;
+		
+		private final String name;
+		private final int type;
+		private final int parentType;
+		private final String parentName;
+		private final int hashCode;
+		
+		public MatchKey(RelationalObject ref) {
+			this.name = normalize(ref.getName());
+			this.type = ref.getType();
+			
+			RelationalObject parent = ref.getParent();
+			if(parent==null) {
+				this.parentType = NO_PARENT;
+				this.parentName = null;
+			} else {
+				this.parentType = parent.getType();
+				// Consider model parents equal, otherwise names must match
+				this.parentName = (parentType==TYPES.MODEL) ? null : normalize(parent.getName());
+			}
+			
+			int result = HashCodeUtil.hashCode(0, name);
+			result = HashCodeUtil.hashCode(result, type);
+			result = HashCodeUtil.hashCode(result, parentType);
+			if(parentName!=null) {
+				result = HashCodeUtil.hashCode(result, parentName);
+			}
+			this.hashCode = result;
+		}
+		
+		/*
+		 * Null and empty names are equal
+		 */
+		private static String normalize(String name) {
+			return (name==null) ? StringUtil.Constants.EMPTY_STRING : name;
+		}
+		
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if(this==obj) return true;
+			if(!(obj instanceof MatchKey)) return false;
+			MatchKey other = (MatchKey)obj;
+			return hashCode==other.hashCode && type==other.type && parentType==other.parentType 
+					&& name.equals(other.name) && StringUtil.equals(parentName, other.parentName);
+		}
+	}
+	
 	/**
 	 * Compare two Relational Models
 	 * @param targetModel the 'target' Model with the desired end state.
@@ -51,19 +116,26 @@ public class DifferenceGenerator implements RelationalConstants {
 		// Get all Primary Objects for the existing state
 		Collection<RelationalObject> originalChildren = filterForPrimaryRefs(originalModel.getAllReferences());		
 		
+		// Index the original objects by name, type and parent so each target is matched with a single lookup
+		Map<MatchKey, RelationalObject> originalIndex = indexByMatchKey(originalChildren);
+		Map<RelationalObject, Integer> hashCodes = new IdentityHashMap<RelationalObject, Integer>();
+		
 		// The targetChildren will either be a create or a replace
 		List<RelationalObject> objsToCreate = new ArrayList<RelationalObject>();
 		List<RelationalObject> objsToUpdate = new ArrayList<RelationalObject>();
 		List<RelationalObject> objsExactMatch = new ArrayList<RelationalObject>();
+		Set<MatchKey> targetKeys = new HashSet<MatchKey>();
 		
 		Iterator<RelationalObject> iter = targetChildren.iterator();
 		while(iter.hasNext()) {
 			RelationalObject targetObj = iter.next();
-			RelationalObject nameTypeParentMatch = getNameTypeParentMatch(originalChildren,targetObj);
+			MatchKey key = new MatchKey(targetObj);
+			targetKeys.add(key);
+			RelationalObject nameTypeParentMatch = originalIndex.get(key);
 			// The Existing Collection has an object with matching name and type
 			if(nameTypeParentMatch!=null) {
 				// If not an exact match, put in replace list
-				if(!nameTypeParentMatch.equals(targetObj)) {
+				if(!isExactMatch(nameTypeParentMatch, targetObj, hashCodes)) {
 					objsToUpdate.add(targetObj);
 				// Exact match, do nothing with it
 				} else {
@@ -80,9 +152,8 @@ public class DifferenceGenerator implements RelationalConstants {
 		iter = originalChildren.iterator();
 		while(iter.hasNext()) {
 			RelationalObject origObj = iter.next();
-			RelationalObject matchObj = getNameTypeParentMatch(targetChildren,origObj);
 			// If no name/type match in the target list, then its a delete
-			if(matchObj==null) {
+			if(!targetKeys.contains(new MatchKey(origObj))) {
 				objsToDelete.add(origObj);
 			}
 		}
@@ -95,64 +166,40 @@ public class DifferenceGenerator implements RelationalConstants {
 		return diffReport;
 	}
 	
-	/**
-	 * Find a RelationalReference in the supplied list which matches another RelationalReference
-	 * @param refs the list of RelationalReference objects
-	 * @param ref a RelationalReference
-	 * @return the matching RelationalReference or null if none found
+	/*
+	 * Index the supplied objects by name, type and parent. Where objects share
+	 * a key the first is indexed.
 	 */
-	private static RelationalObject getNameTypeParentMatch(Collection<RelationalObject> refs, RelationalObject ref) {
-		RelationalObject result = null;
-		for(RelationalObject listRef : refs) {
-			if(nameTypeParentMatch(listRef,ref)) {
-				result = listRef;
-				break;
+	private static Map<MatchKey, RelationalObject> indexByMatchKey(Collection<RelationalObject> refs) {
+		Map<MatchKey, RelationalObject> index = new HashMap<MatchKey, RelationalObject>();
+		for(RelationalObject ref : refs) {
+			MatchKey key = new MatchKey(ref);
+			if(!index.containsKey(key)) {
+				index.put(key, ref);
 			}
 		}
-		return result;
+		return index;
 	}
 	
 	/*
-	 * Determine if the name, type and parent of the supplied objects match
+	 * Determine if the supplied objects are equal. Objects with differing hash codes
+	 * cannot be equal so the full comparison is only made when the hash codes agree.
+	 * The hash code of each object is only calculated once.
 	 */
-	private static boolean nameTypeParentMatch(RelationalObject ref1, RelationalObject ref2) {
-		if(ref1==null || ref2==null) {
+	private static boolean isExactMatch(RelationalObject ref1, RelationalObject ref2, Map<RelationalObject, Integer> hashCodes) {
+		if(structuralHash(ref1, hashCodes) != structuralHash(ref2, hashCodes)) {
 			return false;
 		}
-		
-        // string properties
-        if (!StringUtil.valuesAreEqual(ref1.getName(), ref2.getName()) ) {
-            return false;
-        }
-        
-        if(ref1.getType() != ref2.getType()) {
-        	return false;
-        }
-
-        RelationalObject ref1Parent = ref1.getParent();
-        RelationalObject ref2Parent = ref2.getParent();
-        if(ref1Parent==null && ref2Parent==null) {
-        	return true;
-        }
-        
-        if(ref1Parent==null || ref2Parent==null) {
-        	return false;
-        }
-                
-        // Parent types
-        if(ref1Parent.getType() != ref1Parent.getType()) {
-        	return false;
-        }
-        
-        // Consider model parents equal
-        if(ref1Parent.getType()==TYPES.MODEL) {
-        	return true;
-        // Non-model, names must match
-        } else if (!StringUtil.valuesAreEqual(ref1Parent.getName(), ref1Parent.getName()) ) {
-            return false;
-        }
-        
-        return true;
+		return ref1.equals(ref2);
+	}
+	
+	private static int structuralHash(RelationalObject ref, Map<RelationalObject, Integer> hashCodes) {
+		Integer hashCode = hashCodes.get(ref);
+		if(hashCode==null) {
+			hashCode = ref.hashCode();
+			hashCodes.put(ref, hashCode);
+		}
+		return hashCode;
 	}
 	
 	/*
@@ -638,36 +638,36 @@ public class Column extends RelationalObject {
     public int hashCode() {
         int result = super.hashCode();
 
-        // string properties
+        // string properties, which are compared ignoring case
         if (!StringUtil.isEmpty(getCharacterSetName())) {
-            result = HashCodeUtil.hashCode(result, getCharacterSetName());
+            result = HashCodeUtil.hashCode(result, getCharacterSetName().toLowerCase());
         }
         if (!StringUtil.isEmpty(getCollationName())) {
-            result = HashCodeUtil.hashCode(result, getCollationName());
+            result = HashCodeUtil.hashCode(result, getCollationName().toLowerCase());
         }
         if (!StringUtil.isEmpty(getDatatype())) {
-            result = HashCodeUtil.hashCode(result, getDatatype());
+            result = HashCodeUtil.hashCode(result, getDatatype().toLowerCase());
         }
         if (!StringUtil.isEmpty(getDefaultValue())) {
-            result = HashCodeUtil.hashCode(result, getDefaultValue());
+            result = HashCodeUtil.hashCode(result, getDefaultValue().toLowerCase());
         }
         if (!StringUtil.isEmpty(getFormat())) {
-            result = HashCodeUtil.hashCode(result, getFormat());
+            result = HashCodeUtil.hashCode(result, getFormat().toLowerCase());
         }
         if (!StringUtil.isEmpty(getMaximumValue())) {
-            result = HashCodeUtil.hashCode(result, getMaximumValue());
+            result = HashCodeUtil.hashCode(result, getMaximumValue().toLowerCase());
         }
         if (!StringUtil.isEmpty(getMinimumValue())) {
-            result = HashCodeUtil.hashCode(result, getMinimumValue());
+            result = HashCodeUtil.hashCode(result, getMinimumValue().toLowerCase());
         }
         if (!StringUtil.isEmpty(getNativeType())) {
-            result = HashCodeUtil.hashCode(result, getNativeType());
+            result = HashCodeUtil.hashCode(result, getNativeType().toLowerCase());
         }
         if (!StringUtil.isEmpty(getNullable())) {
-            result = HashCodeUtil.hashCode(result, getNullable());
+            result = HashCodeUtil.hashCode(result, getNullable().toLowerCase());
         }
         if (!StringUtil.isEmpty(getSearchability())) {
-            result = HashCodeUtil.hashCode(result, getSearchability());
+            result = HashCodeUtil.hashCode(result, getSearchability().toLowerCase());
         }
         
         result = HashCodeUtil.hashCode(result, getDistinctValueCount());
@@ -23,6 +23,7 @@ package org.komodo.relational.model;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Properties;
 import org.komodo.relational.Messages;
 import org.komodo.relational.Messages.RELATIONAL;
@@ -372,7 +373,7 @@ public class ForeignKey extends RelationalObject {
             return false;
         }
         
-        if (!thisColumns.isEmpty() && !thisColumns.containsAll(thatColumns)) {
+        if (!thisColumns.isEmpty() && (!thisColumns.containsAll(thatColumns) || !thatColumns.containsAll(thisColumns))) {
             return false;
         }
         
@@ -403,9 +404,8 @@ public class ForeignKey extends RelationalObject {
         }
         
         Collection<Column> cols = getColumns();
-        for(Column col: cols) {
-            result = HashCodeUtil.hashCode(result, col);
-        }
+        // Columns are compared as a set, regardless of order
+        result = HashCodeUtil.hashCode(result, new HashSet<Column>(cols).hashCode());
                 
         return result;
     }    
@@ -23,6 +23,7 @@ package org.komodo.relational.model;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 import org.komodo.relational.Messages;
@@ -352,7 +353,7 @@ public class Index extends RelationalObject {
             return false;
         }
         
-        if (!thisColumns.isEmpty() && !thisColumns.containsAll(thatColumns)) {
+        if (!thisColumns.isEmpty() && (!thisColumns.containsAll(thatColumns) || !thatColumns.containsAll(thisColumns))) {
             return false;
         }
         
@@ -382,9 +383,8 @@ public class Index extends RelationalObject {
         }
 
         List<Column> cols = getColumns();
-        for(Column col: cols) {
-            result = HashCodeUtil.hashCode(result, col);
-        }
+        // Columns are compared as a set, regardless of order
+        result = HashCodeUtil.hashCode(result, new HashSet<Column>(cols).hashCode());
         
         return result;
     }    
@@ -22,7 +22,6 @@
 package org.komodo.relational.model;
 
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
 import org.komodo.relational.Messages;
@@ -453,13 +452,8 @@ public abstract class RelationalObject implements RelationalConstants, Relationa
         }
 
         if ((this.extensionProperties != null) && !this.extensionProperties.isEmpty()) {
-        	Iterator<Object> keyIter = this.extensionProperties.keySet().iterator();
-        	while(keyIter.hasNext()) {
-        		String key = (String)keyIter.next();
-        		String value = this.extensionProperties.getProperty(key);
-        		result = HashCodeUtil.hashCode(result, key);
-        		result = HashCodeUtil.hashCode(result, value);
-        	}
+        	// Properties are compared regardless of order
+        	result = HashCodeUtil.hashCode(result, this.extensionProperties.hashCode());
         }
 
         return result;
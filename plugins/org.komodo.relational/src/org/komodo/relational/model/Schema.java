@@ -23,6 +23,7 @@ package org.komodo.relational.model;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import org.komodo.relational.core.RelationalStringNameValidator;
 import org.komodo.utils.HashCodeUtil;
@@ -195,7 +196,7 @@ public class Schema extends RelationalObject {
             return false;
         }
         
-        if (!thisTables.isEmpty() && !thisTables.containsAll(thatTables)) {
+        if (!thisTables.isEmpty() && (!thisTables.containsAll(thatTables) || !thatTables.containsAll(thisTables))) {
             return false;
         }
 
@@ -207,7 +208,7 @@ public class Schema extends RelationalObject {
             return false;
         }
         
-        if (!thisProcedures.isEmpty() && !thisProcedures.containsAll(thatProcedures)) {
+        if (!thisProcedures.isEmpty() && (!thisProcedures.containsAll(thatProcedures) || !thatProcedures.containsAll(thisProcedures))) {
             return false;
         }
 
@@ -219,7 +220,7 @@ public class Schema extends RelationalObject {
             return false;
         }
         
-        if (!thisIndexes.isEmpty() && !thisIndexes.containsAll(thatIndexes)) {
+        if (!thisIndexes.isEmpty() && (!thisIndexes.containsAll(thatIndexes) || !thatIndexes.containsAll(thisIndexes))) {
             return false;
         }
 
@@ -236,17 +237,14 @@ public class Schema extends RelationalObject {
         int result = super.hashCode();
 
         List<Table> tables = getTables();
-        for(Table table: tables) {
-            result = HashCodeUtil.hashCode(result, table);
-        }
+        // Tables are compared as a set, regardless of order
+        result = HashCodeUtil.hashCode(result, new HashSet<Table>(tables).hashCode());
         List<Procedure> procs = getProcedures();
-        for(Procedure proc: procs) {
-            result = HashCodeUtil.hashCode(result, proc);
-        }
+        // Procedures are compared as a set, regardless of order
+        result = HashCodeUtil.hashCode(result, new HashSet<Procedure>(procs).hashCode());
         List<Index> indexes = getIndexes();
-        for(Index index: indexes) {
-            result = HashCodeUtil.hashCode(result, index);
-        }
+        // Indexes are compared as a set, regardless of order
+        result = HashCodeUtil.hashCode(result, new HashSet<Index>(indexes).hashCode());
 
         return result;
     }    
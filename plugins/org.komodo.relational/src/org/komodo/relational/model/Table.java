@@ -772,9 +772,12 @@ public class Table extends RelationalObject {
         }
         
         List<ForeignKey> fks = getForeignKeys();
+        // ForeignKeys are compared regardless of order
+        int fksHash = 0;
         for(ForeignKey fk: fks) {
-            result = HashCodeUtil.hashCode(result, fk);
+            fksHash += fk.hashCode();
         }
+        result = HashCodeUtil.hashCode(result, fksHash);
 
         List<Index> indexes = getIndexes();
         for(Index index: indexes) {
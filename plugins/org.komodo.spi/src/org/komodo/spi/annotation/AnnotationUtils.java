@@ -23,10 +23,15 @@ package org.komodo.spi.annotation;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.komodo.spi.runtime.version.ITeiidVersion;
 import org.komodo.spi.runtime.version.TeiidVersion.Version;
@@ -36,6 +41,47 @@ import org.komodo.spi.runtime.version.TeiidVersion.Version;
  */
 public class AnnotationUtils {
 
+    /**
+     * The versions of the {@link Since} and {@link Removed} annotations
+     * of an element, read once from the element's annotations
+     */
+    private static class VersionRange {
+
+        private final ITeiidVersion since;
+
+        private final ITeiidVersion removed;
+
+        public VersionRange(AnnotatedElement element) {
+            Since sinceAnnotation = element.getAnnotation(Since.class);
+            Removed removedAnnotation = element.getAnnotation(Removed.class);
+            this.since = sinceAnnotation == null ? null : sinceAnnotation.value().get();
+            this.removed = removedAnnotation == null ? null : removedAnnotation.value().get();
+        }
+
+        public boolean isApplicable(ITeiidVersion currentVersion) {
+            if (currentVersion == null)
+                return true;
+
+            if (removed != null && isGreaterOrEqualThan(removed, currentVersion))
+                return false;
+
+            if (since != null && !isGreaterOrEqualThan(since, currentVersion))
+                return false;
+
+            return true;
+        }
+    }
+
+    /**
+     * Version ranges of the annotated classes, fields and methods
+     */
+    private static final ConcurrentMap<AnnotatedElement, VersionRange> versionRanges = new ConcurrentHashMap<AnnotatedElement, VersionRange>();
+
+    /**
+     * Applicable values of each enum class, per teiid version
+     */
+    private static final ConcurrentMap<ITeiidVersion, ConcurrentMap<Class<?>, Set<?>>> applicableEnumValues = new ConcurrentHashMap<ITeiidVersion, ConcurrentMap<Class<?>, Set<?>>>();
+
     private AnnotationUtils() {}
 
     /**
@@ -179,6 +225,18 @@ public class AnnotationUtils {
         return isGreaterOrEqualThan(since.value().get(), currentVersion);
     }
 
+    private static VersionRange getVersionRange(AnnotatedElement element) {
+        VersionRange range = versionRanges.get(element);
+        if (range == null) {
+            range = new VersionRange(element);
+            VersionRange existing = versionRanges.putIfAbsent(element, range);
+            if (existing != null)
+                range = existing;
+        }
+
+        return range;
+    }
+
     /**
      * Convenience function that draws on the other functions to give a single
      * answer of whether the given object is applicable for the given teiid version
@@ -188,21 +246,7 @@ public class AnnotationUtils {
      * @return true if the given object is applicable for the given teiid version
      */
     public static boolean isApplicable(Class<?> obj, ITeiidVersion currentVersion) {
-        if (hasAnnotation(obj, Removed.class)) {
-            Removed removed = getAnnotation(obj, Removed.class);
-            if (isGreaterThanOrEqualTo(removed, currentVersion)) {
-                return false;
-            }
-        }
-
-        if (hasAnnotation(obj, Since.class)) {
-            Since since = getAnnotation(obj, Since.class);
-            if (!isGreaterThanOrEqualTo(since, currentVersion)) {
-                return false;
-            }
-        }
-
-        return true;
+        return getVersionRange(obj).isApplicable(currentVersion);
     }
 
     /**
@@ -214,21 +258,7 @@ public class AnnotationUtils {
      * @return true if the given object is applicable for the given teiid version
      */
     public static boolean isApplicable(AccessibleObject obj, ITeiidVersion currentVersion) {
-        if (hasAnnotation(obj, Removed.class)) {
-            Removed removed = getAnnotation(obj, Removed.class);
-            if (isGreaterThanOrEqualTo(removed, currentVersion)) {
-                return false;
-            }
-        }
-
-        if (hasAnnotation(obj, Since.class)) {
-            Since since = getAnnotation(obj, Since.class);
-            if (!isGreaterThanOrEqualTo(since, currentVersion)) {
-                return false;
-            }
-        }
-
-        return true;
+        return getVersionRange(obj).isApplicable(currentVersion);
     }
 
     /**
@@ -240,29 +270,61 @@ public class AnnotationUtils {
      * @return true if the given object is applicable for the given teiid version
      */
     public static boolean isApplicable(Enum<?> obj, ITeiidVersion currentVersion) {
-        try {
-            if (hasAnnotation(obj, Removed.class)) {
-                Removed removed = getAnnotation(obj, Removed.class);
-                if (isGreaterThanOrEqualTo(removed, currentVersion)) {
-                    return false;
-                }
-            }
-        } catch (Exception ex) {
-            return false;
+        if (currentVersion == null)
+            return true;
+
+        return applicableValues(obj.getDeclaringClass(), currentVersion).contains(obj);
+    }
+
+    /**
+     * The applicable values of an enum class are determined once for each
+     * teiid version and held thereafter so this is the cheapest means of
+     * filtering the values of an enum by version.
+     *
+     * @param enumClass
+     * @param currentVersion
+     *
+     * @return unmodifiable set of the values of the given enum class applicable
+     *                to the given teiid version, in the order of their declaration
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <E extends Enum<E>> Set<E> getApplicableValues(Class<E> enumClass, ITeiidVersion currentVersion) {
+        if (currentVersion == null)
+            return Collections.unmodifiableSet(EnumSet.allOf(enumClass));
+
+        return (Set<E>) applicableValues(enumClass, currentVersion);
+    }
+
+    @SuppressWarnings( {"unchecked", "rawtypes"} )
+    private static Set<?> applicableValues(Class<?> enumClass, ITeiidVersion currentVersion) {
+        ConcurrentMap<Class<?>, Set<?>> versionValues = applicableEnumValues.get(currentVersion);
+        if (versionValues == null) {
+            versionValues = new ConcurrentHashMap<Class<?>, Set<?>>();
+            ConcurrentMap<Class<?>, Set<?>> existing = applicableEnumValues.putIfAbsent(currentVersion, versionValues);
+            if (existing != null)
+                versionValues = existing;
         }
 
-        try {
-            if (hasAnnotation(obj, Since.class)) {
-                Since since = getAnnotation(obj, Since.class);
-                if (!isGreaterThanOrEqualTo(since, currentVersion)) {
-                    return false;
-                }
+        Set<?> values = versionValues.get(enumClass);
+        if (values != null)
+            return values;
+
+        EnumSet applicable = EnumSet.noneOf((Class) enumClass);
+        for (Object constant : enumClass.getEnumConstants()) {
+            Enum<?> enumValue = (Enum<?>) constant;
+            try {
+                // Enum values are only read once per version so no need to cache their ranges
+                Field enumField = enumClass.getField(enumValue.name());
+                if (new VersionRange(enumField).isApplicable(currentVersion))
+                    applicable.add(enumValue);
+            } catch (Exception ex) {
+                // Not applicable
             }
-        } catch (Exception ex) {
-            return false;
         }
 
-        return true;
+        values = Collections.unmodifiableSet(applicable);
+        Set<?> existing = versionValues.putIfAbsent(enumClass, values);
+        return existing != null ? existing : values;
     }
 
     private static class UpdateVersionPair implements Comparable<UpdateVersionPair>{
@@ -28,7 +28,10 @@ import org.komodo.spi.query.sql.lang.IExpression;
 
 
 /**
+ * Parser of sql strings into language objects.
  *
+ * Implementations should be safe for use by multiple
+ * threads without external synchronization.
  */
 public interface IQueryParser {
 
@@ -21,6 +21,7 @@
  ************************************************************************************/
 package org.komodo.spi.runtime.version;
 
+import java.io.Serializable;
 import org.komodo.spi.Messages;
 
 
@@ -29,7 +30,9 @@ import org.komodo.spi.Messages;
  * 
  *
  */
-public class TeiidVersion implements ITeiidVersion {
+public class TeiidVersion implements ITeiidVersion, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * Version enumerator
@@ -100,13 +103,40 @@ public class TeiidVersion implements ITeiidVersion {
         }
     }
 
-    private String versionString = ZERO + DOT + ZERO + DOT + ZERO;
+    /*
+     * For comparison, versions are packed into an int with
+     * SEGMENT_BITS for each of the major, minor and micro segments
+     */
+    private static final int SEGMENT_BITS = 10;
+
+    private static final int SEGMENT_MAX = (1 << SEGMENT_BITS) - 1;
+
+    private static final int MIN_WILDCARD_MAJOR = segmentValue(SEVEN, 0);
+
+    private static final int MIN_WILDCARD_SEGMENT = segmentValue(ZERO, 0);
+
+    private static final String MAX_WILDCARD_SEGMENT = Integer.toString(SEGMENT_MAX);
+
+    private final String versionString;
 
     private final String majorVersion;
 
-    private String minorVersion = WILDCARD;
+    private final String minorVersion;
+
+    private final String microVersion;
+
+    private final boolean wildCards;
+
+    /*
+     * Packed values of the minimum and maximum versions
+     */
+    private final int minimumValue;
+
+    private final int maximumValue;
+
+    private ITeiidVersion minimumVersion;
 
-    private String microVersion = WILDCARD;
+    private ITeiidVersion maximumVersion;
 
     /**
      * Create a new instance with the given version segments
@@ -129,6 +159,9 @@ public class TeiidVersion implements ITeiidVersion {
         this.minorVersion = minor;
         this.microVersion = micro;
         this.versionString = major + DOT + minor + DOT + micro;
+        this.wildCards = major.equals(WILDCARD) || minor.equals(WILDCARD) || micro.equals(WILDCARD);
+        this.minimumValue = minimumValue(major, minor, micro);
+        this.maximumValue = maximumValue(major, minor, micro);
     }
     
     /**
@@ -137,30 +170,83 @@ public class TeiidVersion implements ITeiidVersion {
      * @param versionString the version string
      */
     public TeiidVersion(String versionString) {
-        this.versionString = versionString;
-
         String[] tokens = versionString.split("\\."); //$NON-NLS-1$
 
+        String minor = WILDCARD;
+        String micro = WILDCARD;
+
         if (tokens.length >= 3) {
-            majorVersion = tokens[0];
-            minorVersion = tokens[1];
+            minor = tokens[1];
             if(tokens[2]!=null) {
             	int dashIndex = tokens[2].indexOf('-');
             	if(dashIndex!=-1 && tokens[2].length()>0) {
-            		microVersion = tokens[2].substring(0,dashIndex);
+            		micro = tokens[2].substring(0,dashIndex);
             	} else {
-                    microVersion = tokens[2];
+                    micro = tokens[2];
             	}
             }
         }
         else if(tokens.length == 2) {
-            majorVersion = tokens[0];
-            minorVersion = tokens[1];
-        }
-        else {
-            majorVersion = tokens[0];
+            minor = tokens[1];
         }
+
+        this.majorVersion = tokens[0];
+        this.minorVersion = minor;
+        this.microVersion = micro;
         this.versionString = majorVersion + DOT + minorVersion + DOT + microVersion;
+        this.wildCards = majorVersion.equals(WILDCARD) || minorVersion.equals(WILDCARD) || microVersion.equals(WILDCARD);
+        this.minimumValue = minimumValue(majorVersion, minorVersion, microVersion);
+        this.maximumValue = maximumValue(majorVersion, minorVersion, microVersion);
+    }
+
+    /**
+     * @param segment
+     * @param wildcardValue value of a wildcard segment
+     * @return numeric value of the leading digits of the segment
+     */
+    private static int segmentValue(String segment, int wildcardValue) {
+        if (segment.equals(WILDCARD))
+            return wildcardValue;
+
+        int value = 0;
+        for (int i = 0; i < segment.length(); ++i) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9')
+                break;
+
+            value = value * 10 + (c - '0');
+            if (value >= SEGMENT_MAX)
+                return SEGMENT_MAX;
+        }
+
+        return value;
+    }
+
+    private static int pack(int major, int minor, int micro) {
+        return (((major << SEGMENT_BITS) | minor) << SEGMENT_BITS) | micro;
+    }
+
+    private static int minimumValue(String major, String minor, String micro) {
+        return pack(segmentValue(major, MIN_WILDCARD_MAJOR),
+                    segmentValue(minor, MIN_WILDCARD_SEGMENT),
+                    segmentValue(micro, MIN_WILDCARD_SEGMENT));
+    }
+
+    /*
+     * A wildcard segment may stand for any value, such as the 10 of 8.10.0,
+     * so takes the largest value a segment can hold
+     */
+    private static int maximumValue(String major, String minor, String micro) {
+        return pack(segmentValue(major, SEGMENT_MAX),
+                    segmentValue(minor, SEGMENT_MAX),
+                    segmentValue(micro, SEGMENT_MAX));
+    }
+
+    private static int minimumValue(ITeiidVersion version) {
+        if (version instanceof TeiidVersion)
+            return ((TeiidVersion) version).minimumValue;
+
+        return minimumValue(version.getMajor(), version.getMinor(), version.getMicro());
     }
 
     @Override
@@ -185,7 +271,7 @@ public class TeiidVersion implements ITeiidVersion {
     
     @Override
     public boolean hasWildCards() {
-        return majorVersion.equals(WILDCARD) || minorVersion.equals(WILDCARD) || microVersion.equals(WILDCARD);
+        return wildCards;
     }
 
     @Override
@@ -250,11 +336,15 @@ public class TeiidVersion implements ITeiidVersion {
         if (! this.hasWildCards())
             return this;
 
-        String major = getMajor().equals(WILDCARD) ? SEVEN : getMajor();
-        String minor = getMinor().equals(WILDCARD) ? ZERO : getMinor();
-        String micro = getMicro().equals(WILDCARD) ? ZERO : getMicro();
+        if (minimumVersion == null) {
+            String major = getMajor().equals(WILDCARD) ? SEVEN : getMajor();
+            String minor = getMinor().equals(WILDCARD) ? ZERO : getMinor();
+            String micro = getMicro().equals(WILDCARD) ? ZERO : getMicro();
 
-        return new TeiidVersion(major, minor, micro);
+            minimumVersion = new TeiidVersion(major, minor, micro);
+        }
+
+        return minimumVersion;
     }
 
     @Override
@@ -262,51 +352,30 @@ public class TeiidVersion implements ITeiidVersion {
         if (! this.hasWildCards())
             return this;
 
-        String major = getMajor().equals(WILDCARD) ? NINE : getMajor();
-        String minor = getMinor().equals(WILDCARD) ? NINE : getMinor();
-        String micro = getMicro().equals(WILDCARD) ? NINE : getMicro();
+        if (maximumVersion == null) {
+            // the same bounds as the packed maximum value
+            String major = getMajor().equals(WILDCARD) ? MAX_WILDCARD_SEGMENT : getMajor();
+            String minor = getMinor().equals(WILDCARD) ? MAX_WILDCARD_SEGMENT : getMinor();
+            String micro = getMicro().equals(WILDCARD) ? MAX_WILDCARD_SEGMENT : getMicro();
+
+            maximumVersion = new TeiidVersion(major, minor, micro);
+        }
 
-        return new TeiidVersion(major, minor, micro);
+        return maximumVersion;
     }
 
+    /*
+     * Segments are compared numerically so that, for example, 8.10 is greater than 8.9
+     */
+
     @Override
     public boolean isGreaterThan(ITeiidVersion otherVersion) {
-        ITeiidVersion myMaxVersion = getMaximumVersion();
-        ITeiidVersion otherMinVersion = otherVersion.getMinimumVersion();
-
-        int majCompResult = myMaxVersion.getMajor().compareTo(otherMinVersion.getMajor());
-        if (majCompResult > 0)
-            return true;
-        
-        int minCompResult = myMaxVersion.getMinor().compareTo(otherMinVersion.getMinor());
-        if (majCompResult == 0 && minCompResult > 0)
-            return true;
-
-        int micCompResult = myMaxVersion.getMicro().compareTo(otherMinVersion.getMicro());
-        if (majCompResult == 0 && minCompResult == 0 && micCompResult > 0)
-            return true;
-            
-        return false;
+        return maximumValue > minimumValue(otherVersion);
     }
 
     @Override
     public boolean isLessThan(ITeiidVersion otherVersion) {
-        ITeiidVersion myMaxVersion = getMaximumVersion();
-        ITeiidVersion otherMinVersion = otherVersion.getMinimumVersion();
-
-        int majCompResult = myMaxVersion.getMajor().compareTo(otherMinVersion.getMajor());
-        if (majCompResult < 0)
-            return true;
-
-        int minCompResult = myMaxVersion.getMinor().compareTo(otherMinVersion.getMinor());
-        if (majCompResult == 0 && minCompResult < 0)
-            return true;
-
-        int micCompResult = myMaxVersion.getMicro().compareTo(otherMinVersion.getMicro());
-        if (majCompResult == 0 && minCompResult == 0 && micCompResult < 0)
-            return true;
-            
-        return false;
+        return maximumValue < minimumValue(otherVersion);
     }
 
     @Override
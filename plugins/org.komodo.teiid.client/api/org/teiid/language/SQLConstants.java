@@ -22,14 +22,16 @@
 package org.teiid.language;
 
 import java.lang.reflect.Field;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.komodo.spi.annotation.AnnotationUtils;
 import org.komodo.spi.annotation.Since;
 import org.komodo.spi.runtime.version.ITeiidVersion;
 import org.komodo.spi.runtime.version.TeiidVersion.Version;
+import org.teiid.core.util.CaseInsensitiveWordSet;
 
 /**
  *
@@ -454,18 +456,33 @@ public abstract class SQLConstants {
         String IMPORT = "IMPORT"; //$NON-NLS-1$
     }
 
-    private static ITeiidVersion CACHED_TEIID_VERSION = null;
+    /**
+     * The reserved and non-reserved words of a teiid version
+     */
+    private static class VersionWords {
+
+        /**
+         * Set of CAPITALIZED reserved words for checking whether a string is a reserved word.
+         */
+        private final CaseInsensitiveWordSet reservedWords;
+
+        private final CaseInsensitiveWordSet nonReservedWords;
+
+        public VersionWords(ITeiidVersion teiidVersion) {
+            this.reservedWords = extractFieldNames(SQLConstants.Reserved.class, teiidVersion);
+            this.nonReservedWords = extractFieldNames(SQLConstants.NonReserved.class, teiidVersion);
+        }
+    }
 
     /**
-     * Set of CAPITALIZED reserved words for checking whether a string is a reserved word.
+     * Words of each teiid version, determined once for each version
      */
-    private static Set<String> RESERVED_WORDS = null;
-    private static Set<String> NON_RESERVED_WORDS = null;
+    private static final ConcurrentMap<ITeiidVersion, VersionWords> VERSION_WORDS = new ConcurrentHashMap<ITeiidVersion, VersionWords>();
 
     /**
      * @throws AssertionError
      */
-    private static Set<String> extractFieldNames(Class<?> clazz) throws AssertionError {
+    private static CaseInsensitiveWordSet extractFieldNames(Class<?> clazz, ITeiidVersion teiidVersion) throws AssertionError {
         HashSet<String> result = new HashSet<String>();
         Field[] fields = clazz.getDeclaredFields();
         for (Field field : fields) {
@@ -476,7 +493,7 @@ public abstract class SQLConstants {
             // then word should not be included in the word sets
             if (AnnotationUtils.hasAnnotation(field, Since.class)) {
                 Since since = AnnotationUtils.getAnnotation(field, Since.class);
-                if (! AnnotationUtils.isGreaterThanOrEqualTo(since, CACHED_TEIID_VERSION))
+                if (! AnnotationUtils.isGreaterThanOrEqualTo(since, teiidVersion))
                     continue;
             }
 
@@ -486,36 +503,39 @@ public abstract class SQLConstants {
                 }
             } catch (Exception e) {}
         }
-        return Collections.unmodifiableSet(result);
+        return new CaseInsensitiveWordSet(result);
     }
 
     /**
      * @param teiidVersion
      */
-    private static void initialiseConstants(ITeiidVersion teiidVersion) {
-        CACHED_TEIID_VERSION = teiidVersion;
-        RESERVED_WORDS = extractFieldNames(SQLConstants.Reserved.class);
-        NON_RESERVED_WORDS = extractFieldNames(SQLConstants.NonReserved.class);
+    private static VersionWords getVersionWords(ITeiidVersion teiidVersion) {
+        if (teiidVersion == null)
+            return new VersionWords(teiidVersion);
+
+        VersionWords words = VERSION_WORDS.get(teiidVersion);
+        if (words == null) {
+            words = new VersionWords(teiidVersion);
+            VersionWords existing = VERSION_WORDS.putIfAbsent(teiidVersion, words);
+            if (existing != null)
+                words = existing;
+        }
+
+        return words;
     }
 
     /**
      * @return nonReservedWords
      */
     public static Set<String> getNonReservedWords(ITeiidVersion teiidVersion) {
-        if (CACHED_TEIID_VERSION == null || ! CACHED_TEIID_VERSION.equals(teiidVersion) || NON_RESERVED_WORDS == null)
-            initialiseConstants(teiidVersion);
-
-        return NON_RESERVED_WORDS;
+        return getVersionWords(teiidVersion).nonReservedWords;
     }
 
     /**
      * @return reservedWords
      */
     public static Set<String> getReservedWords(ITeiidVersion teiidVersion) {
-        if (CACHED_TEIID_VERSION == null || ! CACHED_TEIID_VERSION.equals(teiidVersion) || RESERVED_WORDS == null)
-            initialiseConstants(teiidVersion);
-
-        return RESERVED_WORDS;
+        return getVersionWords(teiidVersion).reservedWords;
     }
     
     /** Can't construct */
@@ -531,10 +551,6 @@ public abstract class SQLConstants {
             return false;    
         }
 
-        String word = str.toUpperCase();
-        if (CACHED_TEIID_VERSION == null || ! CACHED_TEIID_VERSION.equals(teiidVersion) || RESERVED_WORDS == null)
-            initialiseConstants(teiidVersion);
-
-        return RESERVED_WORDS.contains(word);
+        return getVersionWords(teiidVersion).reservedWords.containsIgnoreCase(str);
     }
 }
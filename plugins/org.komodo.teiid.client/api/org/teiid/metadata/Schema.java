@@ -43,12 +43,15 @@ public class Schema extends AbstractMetadataRecord {
 	
 	private List<AbstractMetadataRecord> resolvingOrder = new ArrayList<AbstractMetadataRecord>();
 	
+	private transient volatile int modCount;
+	
 	public void addTable(Table table) {
 		table.setParent(this);
 		if (this.tables.put(table.getName(), table) != null) {
 			throw new RuntimeException(Messages.gs(Messages.TEIID.TEIID60013, table.getName())); 
 		}
 		resolvingOrder.add(table);
+		modCount++;
 	}
 	
 	public void addProcedure(Procedure procedure) {
@@ -57,6 +60,16 @@ public class Schema extends AbstractMetadataRecord {
 			throw new RuntimeException(Messages.gs(Messages.TEIID.TEIID60014, procedure.getName())); 
 		}
 		resolvingOrder.add(procedure);
+		modCount++;
+	}
+	
+	/**
+	 * Get the number of tables and procedures added to this schema,
+	 * used to detect that a view of them built earlier is out of date
+	 * @return
+	 */
+	public int getModCount() {
+		return modCount;
 	}
 	
 	public void addFunction(FunctionMethod function) {
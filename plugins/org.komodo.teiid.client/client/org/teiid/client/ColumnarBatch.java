@@ -0,0 +1,357 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.client;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A batch of results held by column rather than by row.
+ *
+ * Boolean and numeric columns are held in primitive arrays with a packed
+ * null bitmap so reading a batch does not box each value. All other columns
+ * are held as objects. The batch is presented as an unmodifiable list of
+ * rows, each a lightweight view onto the columns, so it can stand in
+ * wherever a row based batch is expected.
+ */
+public class ColumnarBatch extends AbstractList<List<Object>> implements RandomAccess {
+
+    /**
+     * Storage of the values of a column
+     */
+    public enum ColumnType {
+        OBJECT,
+        BOOLEAN,
+        BYTE,
+        SHORT,
+        INTEGER,
+        LONG,
+        FLOAT,
+        DOUBLE
+    }
+
+    /**
+     * A row of the batch. The values of primitive columns are boxed on request.
+     */
+    public class Row extends AbstractList<Object> implements RandomAccess {
+
+        private final int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        /**
+         * @return the batch of this row
+         */
+        public ColumnarBatch getBatch() {
+            return ColumnarBatch.this;
+        }
+
+        /**
+         * @return the index of this row within its batch
+         */
+        public int getRowIndex() {
+            return row;
+        }
+
+        @Override
+        public Object get(int col) {
+            return getObject(row, col);
+        }
+
+        @Override
+        public int size() {
+            return columnTypes.length;
+        }
+    }
+
+    private final int rowCount;
+
+    private final ColumnType[] columnTypes;
+
+    private final Object[] columns;
+
+    private final byte[][] nulls;
+
+    /**
+     * @param rowCount
+     * @param columnTypes storage of each column
+     */
+    public ColumnarBatch(int rowCount, ColumnType[] columnTypes) {
+        this.rowCount = rowCount;
+        this.columnTypes = columnTypes;
+        this.columns = new Object[columnTypes.length];
+        this.nulls = new byte[columnTypes.length][];
+
+        for (int col = 0; col < columnTypes.length; ++col) {
+            switch (columnTypes[col]) {
+                case BOOLEAN:
+                    columns[col] = new boolean[rowCount];
+                    break;
+                case BYTE:
+                    columns[col] = new byte[rowCount];
+                    break;
+                case SHORT:
+                    columns[col] = new short[rowCount];
+                    break;
+                case INTEGER:
+                    columns[col] = new int[rowCount];
+                    break;
+                case LONG:
+                    columns[col] = new long[rowCount];
+                    break;
+                case FLOAT:
+                    columns[col] = new float[rowCount];
+                    break;
+                case DOUBLE:
+                    columns[col] = new double[rowCount];
+                    break;
+                default:
+                    columns[col] = new Object[rowCount];
+                    // Nulls of object columns are held in the values
+                    continue;
+            }
+
+            nulls[col] = new byte[(rowCount + 7) / 8];
+        }
+    }
+
+    @Override
+    public List<Object> get(int row) {
+        if (row < 0 || row >= rowCount)
+            throw new IndexOutOfBoundsException(String.valueOf(row));
+
+        return new Row(row);
+    }
+
+    @Override
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * @return number of columns
+     */
+    public int getColumnCount() {
+        return columnTypes.length;
+    }
+
+    /**
+     * @param col
+     * @return storage of the values of the column
+     */
+    public ColumnType getColumnType(int col) {
+        return columnTypes[col];
+    }
+
+    /**
+     * @param row
+     * @param col
+     * @return true if the value is null
+     */
+    public boolean isNull(int row, int col) {
+        byte[] isNull = nulls[col];
+        if (isNull == null)
+            return ((Object[]) columns[col])[row] == null;
+
+        return (isNull[row / 8] & (0x80 >>> (row % 8))) != 0;
+    }
+
+    /**
+     * @param row
+     * @param col
+     */
+    public void setNull(int row, int col) {
+        byte[] isNull = nulls[col];
+        if (isNull == null)
+            ((Object[]) columns[col])[row] = null;
+        else
+            isNull[row / 8] |= 0x80 >>> (row % 8);
+    }
+
+    /**
+     * @param row
+     * @param col
+     * @return the value, boxed if held in a primitive column
+     */
+    public Object getObject(int row, int col) {
+        if (isNull(row, col))
+            return null;
+
+        switch (columnTypes[col]) {
+            case BOOLEAN:
+                return Boolean.valueOf(getBoolean(row, col));
+            case BYTE:
+                return Byte.valueOf(getByte(row, col));
+            case SHORT:
+                return Short.valueOf(getShort(row, col));
+            case INTEGER:
+                return Integer.valueOf(getInt(row, col));
+            case LONG:
+                return Long.valueOf(getLong(row, col));
+            case FLOAT:
+                return Float.valueOf(getFloat(row, col));
+            case DOUBLE:
+                return Double.valueOf(getDouble(row, col));
+            default:
+                return ((Object[]) columns[col])[row];
+        }
+    }
+
+    /**
+     * @param row
+     * @param col an {@link ColumnType#OBJECT} column
+     * @param value
+     */
+    public void setObject(int row, int col, Object value) {
+        ((Object[]) columns[col])[row] = value;
+    }
+
+    /**
+     * @param row
+     * @param col a {@link ColumnType#BOOLEAN} column
+     * @return the value or false if null
+     */
+    public boolean getBoolean(int row, int col) {
+        return ((boolean[]) columns[col])[row];
+    }
+
+    /**
+     * @param row
+     * @param col a {@link ColumnType#BOOLEAN} column
+     * @param value
+     */
+    public void setBoolean(int row, int col, boolean value) {
+        ((boolean[]) columns[col])[row] = value;
+    }
+
+    /**
+     * @param row
+     * @param col a {@link ColumnType#BYTE} column
+     * @return the value or 0 if null
+     */
+    public byte getByte(int row, int col) {
+        return ((byte[]) columns[col])[row];
+    }
+
+    /**
+     * @param row
+     * @param col a {@link ColumnType#BYTE} column
+     * @param value
+     */
+    public void setByte(int row, int col, byte value) {
+        ((byte[]) columns[col])[row] = value;
+    }
+
+    /**
+     * @param row
+     * @param col a {@link ColumnType#SHORT} column
+     * @return the value or 0 if null
+     */
+    public short getShort(int row, int col) {
+        return ((short[]) columns[col])[row];
+    }
+
+    /**
+     * @param row
+     * @param col a {@link ColumnType#SHORT} column
+     * @param value
+     */
+    public void setShort(int row, int col, short value) {
+        ((short[]) columns[col])[row] = value;
+    }
+
+    /**
+     * @param row
+     * @param col an {@link ColumnType#INTEGER} column
+     * @return the value or 0 if null
+     */
+    public int getInt(int row, int col) {
+        return ((int[]) columns[col])[row];
+    }
+
+    /**
+     * @param row
+     * @param col an {@link ColumnType#INTEGER} column
+     * @param value
+     */
+    public void setInt(int row, int col, int value) {
+        ((int[]) columns[col])[row] = value;
+    }
+
+    /**
+     * @param row
+     * @param col a {@link ColumnType#LONG} column
+     * @return the value or 0 if null
+     */
+    public long getLong(int row, int col) {
+        return ((long[]) columns[col])[row];
+    }
+
+    /**
+     * @param row
+     * @param col a {@link ColumnType#LONG} column
+     * @param value
+     */
+    public void setLong(int row, int col, long value) {
+        ((long[]) columns[col])[row] = value;
+    }
+
+    /**
+     * @param row
+     * @param col a {@link ColumnType#FLOAT} column
+     * @return the value or 0 if null
+     */
+    public float getFloat(int row, int col) {
+        return ((float[]) columns[col])[row];
+    }
+
+    /**
+     * @param row
+     * @param col a {@link ColumnType#FLOAT} column
+     * @param value
+     */
+    public void setFloat(int row, int col, float value) {
+        ((float[]) columns[col])[row] = value;
+    }
+
+    /**
+     * @param row
+     * @param col a {@link ColumnType#DOUBLE} column
+     * @return the value or 0 if null
+     */
+    public double getDouble(int row, int col) {
+        return ((double[]) columns[col])[row];
+    }
+
+    /**
+     * @param row
+     * @param col a {@link ColumnType#DOUBLE} column
+     * @param value
+     */
+    public void setDouble(int row, int col, double value) {
+        ((double[]) columns[col])[row] = value;
+    }
+}
@@ -43,7 +43,8 @@ import java.util.TimeZone;
 
 import org.komodo.spi.runtime.version.ITeiidVersion;
 import org.teiid.client.BatchSerializer;
-import org.teiid.client.ResizingArrayList;
+import org.teiid.client.ColumnarBatch;
+import org.teiid.client.ColumnarBatch.ColumnType;
 import org.teiid.core.types.ArrayImpl;
 import org.teiid.core.types.BinaryType;
 import org.teiid.core.types.BlobType;
@@ -374,7 +375,7 @@ public class Batch3Serializer extends BatchSerializer {
 
     	@Override
     	public void readColumn(ObjectInput in, int col,
-    			List<List<Object>> batch, byte[] isNull, List<Object> cache) throws IOException,
+    			ColumnarBatch batch, byte[] isNull, List<Object> cache) throws IOException,
     			ClassNotFoundException {
     	}
     }
@@ -520,15 +521,25 @@ public class Batch3Serializer extends BatchSerializer {
             }
         }
 
-        public void readColumn(ObjectInput in, int col, List<List<Object>> batch, byte[] isNull, List<Object> cache) throws IOException, ClassNotFoundException {
+        public ColumnType getColumnType() {
+            return ColumnType.OBJECT;
+        }
+
+        public void readColumn(ObjectInput in, int col, ColumnarBatch batch, byte[] isNull, List<Object> cache) throws IOException, ClassNotFoundException {
             readIsNullData(in, isNull);
             for (int i = 0; i < batch.size(); i++) {
-                if (!isNullObject(isNull, i)) {
-                    batch.get(i).set(col, readObject(in, cache));
+                if (isNullObject(isNull, i)) {
+                    batch.setNull(i, col);
+                } else {
+                    readValue(in, batch, i, col, cache);
                 }
             }
         }
 
+        protected void readValue(ObjectInput in, ColumnarBatch batch, int row, int col, List<Object> cache) throws IOException, ClassNotFoundException {
+            batch.setObject(row, col, readObject(in, cache));
+        }
+
         protected void writeObject(ObjectOutput out, Object obj, Map<Object, Integer> cache) throws IOException {
         	out.writeObject(obj);
         }
@@ -550,6 +561,14 @@ public class Batch3Serializer extends BatchSerializer {
 		protected Object readObject(ObjectInput in, List<Object> cache) throws IOException {
             return Integer.valueOf(in.readInt());
         }
+        @Override
+        public ColumnType getColumnType() {
+            return ColumnType.INTEGER;
+        }
+        @Override
+        protected void readValue(ObjectInput in, ColumnarBatch batch, int row, int col, List<Object> cache) throws IOException {
+            batch.setInt(row, col, in.readInt());
+        }
     }
 
     private class LongColumnSerializer extends ColumnSerializer {
@@ -561,6 +580,14 @@ public class Batch3Serializer extends BatchSerializer {
 		protected Object readObject(ObjectInput in, List<Object> cache) throws IOException {
             return Long.valueOf(in.readLong());
         }
+        @Override
+        public ColumnType getColumnType() {
+            return ColumnType.LONG;
+        }
+        @Override
+        protected void readValue(ObjectInput in, ColumnarBatch batch, int row, int col, List<Object> cache) throws IOException {
+            batch.setLong(row, col, in.readLong());
+        }
     }
 
     private class FloatColumnSerializer extends ColumnSerializer {
@@ -572,6 +599,14 @@ public class Batch3Serializer extends BatchSerializer {
 		protected Object readObject(ObjectInput in, List<Object> cache) throws IOException {
             return new Float(in.readFloat());
         }
+        @Override
+        public ColumnType getColumnType() {
+            return ColumnType.FLOAT;
+        }
+        @Override
+        protected void readValue(ObjectInput in, ColumnarBatch batch, int row, int col, List<Object> cache) throws IOException {
+            batch.setFloat(row, col, in.readFloat());
+        }
     }
 
     private class DoubleColumnSerializer extends ColumnSerializer {
@@ -583,6 +618,14 @@ public class Batch3Serializer extends BatchSerializer {
 		protected Object readObject(ObjectInput in, List<Object> cache) throws IOException {
             return new Double(in.readDouble());
         }
+        @Override
+        public ColumnType getColumnType() {
+            return ColumnType.DOUBLE;
+        }
+        @Override
+        protected void readValue(ObjectInput in, ColumnarBatch batch, int row, int col, List<Object> cache) throws IOException {
+            batch.setDouble(row, col, in.readDouble());
+        }
     }
 
     private class ShortColumnSerializer extends ColumnSerializer {
@@ -594,6 +637,14 @@ public class Batch3Serializer extends BatchSerializer {
 		protected Object readObject(ObjectInput in, List<Object> cache) throws IOException {
             return Short.valueOf(in.readShort());
         }
+        @Override
+        public ColumnType getColumnType() {
+            return ColumnType.SHORT;
+        }
+        @Override
+        protected void readValue(ObjectInput in, ColumnarBatch batch, int row, int col, List<Object> cache) throws IOException {
+            batch.setShort(row, col, in.readShort());
+        }
     }
 
     private class BooleanColumnSerializer extends ColumnSerializer {
@@ -639,9 +690,14 @@ public class Batch3Serializer extends BatchSerializer {
             }
         }
     	
+    	@Override
+    	public ColumnType getColumnType() {
+    		return ColumnType.BOOLEAN;
+    	}
+
     	@Override
     	public void readColumn(ObjectInput in, int col,
-    			List<List<Object>> batch, byte[] isNull, List<Object> cache) throws IOException,
+    			ColumnarBatch batch, byte[] isNull, List<Object> cache) throws IOException,
         		ClassNotFoundException {
             int currentByte = 0, mask = 0; // Initialize the mask so that it is reset in the loop
             boolean isNullVal;
@@ -653,12 +709,14 @@ public class Batch3Serializer extends BatchSerializer {
                 }
                 isNullVal = (currentByte & mask) != 0;
                 mask >>= 1; // Shift the mask to the next bit
-                if (!isNullVal) {
+                if (isNullVal) {
+                    batch.setNull(row, col);
+                } else {
                     if (mask == 0) {
                         currentByte = in.read();
                         mask = 0x80;
                     }
-                    batch.get(row).set(col, ((currentByte & mask) == 0) ? Boolean.FALSE : Boolean.TRUE);
+                    batch.setBoolean(row, col, (currentByte & mask) != 0);
                     mask >>= 1;
                 }
             }
@@ -674,6 +732,14 @@ public class Batch3Serializer extends BatchSerializer {
 		protected Object readObject(ObjectInput in, List<Object> cache) throws IOException {
             return Byte.valueOf(in.readByte());
         }
+        @Override
+        public ColumnType getColumnType() {
+            return ColumnType.BYTE;
+        }
+        @Override
+        protected void readValue(ObjectInput in, ColumnarBatch batch, int row, int col, List<Object> cache) throws IOException {
+            batch.setByte(row, col, in.readByte());
+        }
     }
 
     private class CharColumnSerializer extends ColumnSerializer {
@@ -869,6 +935,10 @@ public class Batch3Serializer extends BatchSerializer {
         }
     }
 
+    /**
+     * Batches are read into a {@link ColumnarBatch} so that boolean
+     * and numeric values are held without boxing.
+     */
     @Override
     public List<List<Object>> readBatch(ObjectInput in, String[] types) throws IOException, ClassNotFoundException {
     	int rows = 0;
@@ -896,16 +966,19 @@ public class Batch3Serializer extends BatchSerializer {
         	version = in.readByte();
         }
         int columns = in.readInt();
-        List<List<Object>> batch = new ResizingArrayList<List<Object>>(rows);
+        ColumnSerializer[] columnSerializers = new ColumnSerializer[columns];
+        ColumnType[] columnTypes = new ColumnType[columns];
+        for (int col = 0; col < columns; col++) {
+            columnSerializers[col] = getSerializer(types[col], version);
+            columnTypes[col] = columnSerializers[col].getColumnType();
+        }
+        ColumnarBatch batch = new ColumnarBatch(rows, columnTypes);
         int numBytes = rows/8;
         int extraRows = rows % 8;
-        for (int currentRow = 0; currentRow < rows; currentRow++) {
-            batch.add(currentRow, Arrays.asList(new Object[columns]));
-        }
         byte[] isNullBuffer = new byte[(extraRows > 0) ? numBytes + 1: numBytes];
         List<Object> cache = null;
         for (int col = 0; col < columns; col++) {
-            ColumnSerializer serializer = getSerializer(types[col], version);
+            ColumnSerializer serializer = columnSerializers[col];
             if (cache == null && serializer.usesCache(version)) {
         		cache = new ArrayList<Object>();
         	}
@@ -263,6 +263,9 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
     // driver's connection object used in constructin this object.
     private ConnectionImpl driverConnection;
 
+    // cache of the results of the metadata queries, null until first used
+    private MetadataResultCache resultCache;
+
     /**
      * <p>Constructor which initializes with the connection object on which metadata
      * is sought
@@ -530,6 +533,12 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             columnNamePattern = PERCENT; 
         }
 
+        List<Object> key = cacheKey("getColumns", catalog, schema, tableNamePattern, columnNamePattern); //$NON-NLS-1$
+        ResultSet cachedResults = getCachedResultSet(key);
+        if (cachedResults != null) {
+            return cachedResults;
+        }
+
         // list which represent records containing column info
         List records = new ArrayList ();
         ResultSetMetaData rmetadata = null;
@@ -586,7 +595,7 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             logger.fine(logMsg);
 
             // construct results object from column values and their metadata
-            return dummyStatement().createResultSet(records, rmetadata);
+            return createResultSet(key, records, rmetadata);
         } catch(Exception e) {
             // logging
             String logMsg = Messages.getString(Messages.JDBC.MMDatabaseMetadata_getCols_error, columnNamePattern, tableNamePattern, e.getMessage()); 
@@ -640,6 +649,12 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             foreignTable = PERCENT; 
         }
 
+        List<Object> key = cacheKey("getCrossReference", primaryCatalog, primarySchema, primaryTable, foreignCatalog, foreignSchema, foreignTable); //$NON-NLS-1$
+        ResultSet cachedResults = getCachedResultSet(key);
+        if (cachedResults != null) {
+            return cachedResults;
+        }
+
         ResultSet results = null;
         PreparedStatement prepareQuery = null;
         try {
@@ -654,7 +669,7 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             // make a query against runtimemetadata and get results
             results = prepareQuery.executeQuery();
             
-            ResultSet resultSet = getReferenceKeys(results);
+            ResultSet resultSet = getReferenceKeys(key, results);
 
             // logging
             String logMsg = Messages.getString(Messages.JDBC.MMDatabaseMetadata_getCrossRef_success, primaryTable, foreignTable); 
@@ -784,6 +799,12 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             table = PERCENT; 
         }
 
+        List<Object> key = cacheKey("getExportedKeys", catalog, schema, table); //$NON-NLS-1$
+        ResultSet cachedResults = getCachedResultSet(key);
+        if (cachedResults != null) {
+            return cachedResults;
+        }
+
         ResultSet results = null;
         PreparedStatement prepareQuery = null;
         try {
@@ -794,7 +815,7 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
 
             // make a query against runtimemetadata and get results
             results = prepareQuery.executeQuery();
-            ResultSet resultSet = getReferenceKeys(results);
+            ResultSet resultSet = getReferenceKeys(key, results);
 
             logger.fine(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getExpKey_success, table));
 
@@ -846,6 +867,12 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             table = PERCENT; 
         }
 
+        List<Object> key = cacheKey("getImportedKeys", catalog, schema, table); //$NON-NLS-1$
+        ResultSet cachedResults = getCachedResultSet(key);
+        if (cachedResults != null) {
+            return cachedResults;
+        }
+
         ResultSet results = null;
         PreparedStatement prepareQuery = null;
         try {
@@ -858,7 +885,7 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             // make a query against runtimemetadata and get results
             results = prepareQuery.executeQuery();
             
-            ResultSet resultSet = getReferenceKeys(results);
+            ResultSet resultSet = getReferenceKeys(key, results);
 
             logger.fine(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getImpKey_success, table)); 
 
@@ -886,6 +913,13 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
         if (table == null) {
             table = PERCENT; 
         }
+
+        List<Object> key = cacheKey("getIndexInfo", catalog, schema, table, unique); //$NON-NLS-1$
+        ResultSet cachedResults = getCachedResultSet(key);
+        if (cachedResults != null) {
+            return cachedResults;
+        }
+
         // list which represent records containing primary key info
         List records = new ArrayList ();
         ResultSetMetaData rmetadata = null;
@@ -923,7 +957,7 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             logger.fine(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getIndex_success, table)); 
 
             // construct results object from column values and their metadata
-            return dummyStatement().createResultSet(records, rmetadata);
+            return createResultSet(key, records, rmetadata);
         } catch (Exception e) {
             throw new SQLException(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getIndex_error, table, e.getMessage()), e); 
         } finally {
@@ -1134,6 +1168,12 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             table = PERCENT; 
         }
 
+        List<Object> key = cacheKey("getPrimaryKeys", catalog, schema, table); //$NON-NLS-1$
+        ResultSet cachedResults = getCachedResultSet(key);
+        if (cachedResults != null) {
+            return cachedResults;
+        }
+
         // list which represent records containing primary key info
         List records = new ArrayList ();
         ResultSetMetaData rmetadata = null;
@@ -1170,7 +1210,7 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             logger.fine(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getPrimaryKey_success)); 
 
             // construct results object from column values and their metadata
-            return dummyStatement().createResultSet(records, rmetadata);
+            return createResultSet(key, records, rmetadata);
         } catch (Exception e) {
             throw new SQLException(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getPrimaryKey_error, table, e.getMessage()), e); 
         } finally {
@@ -1198,6 +1238,12 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             columnNamePattern = PERCENT; 
         }
 
+        List<Object> key = cacheKey("getProcedureColumns", catalog, schemaPattern, procedureNamePattern, columnNamePattern); //$NON-NLS-1$
+        ResultSet cachedResults = getCachedResultSet(key);
+        if (cachedResults != null) {
+            return cachedResults;
+        }
+
         // list which represent records containing procedure column info
         List records = new ArrayList ();
 
@@ -1245,7 +1291,7 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             logger.fine(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getProcCol_success, columnNamePattern, procedureNamePattern)); 
 
             // construct results object from column values and their metadata
-            return dummyStatement().createResultSet(records, rmetadata);
+            return createResultSet(key, records, rmetadata);
         } catch (Exception e) {
            throw new SQLException(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getProcCol_error, columnNamePattern, e.getMessage()), e); 
         } finally {
@@ -1270,6 +1316,12 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             procedureNamePattern = PERCENT; 
         }
 
+        List<Object> key = cacheKey("getProcedures", catalog, schemaPattern, procedureNamePattern); //$NON-NLS-1$
+        ResultSet cachedResults = getCachedResultSet(key);
+        if (cachedResults != null) {
+            return cachedResults;
+        }
+
         // list which represent records containing procedure info
         List records = new ArrayList ();
         ResultSetMetaData rmetadata = null;
@@ -1307,7 +1359,7 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             logger.fine(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getProc_success, procedureNamePattern)); 
 
             // construct results object from column values and their metadata
-            return dummyStatement().createResultSet(records, rmetadata);
+            return createResultSet(key, records, rmetadata);
         } catch (Exception e) {
             throw new SQLException(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getProc_error, procedureNamePattern, e.getMessage()), e); 
         } finally {
@@ -1497,6 +1549,12 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             tableNamePattern = PERCENT; 
         }
 
+        List<Object> key = cacheKey("getTables", catalog, schemaPattern, tableNamePattern, types); //$NON-NLS-1$
+        ResultSet cachedResults = getCachedResultSet(key);
+        if (cachedResults != null) {
+            return cachedResults;
+        }
+
         // list which represent records containing tables info
         List records = new ArrayList ();
 
@@ -1568,7 +1626,7 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             logger.fine(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getTable_success, tableNamePattern)); 
 
             // construct results object from column values and their metadata
-            return dummyStatement().createResultSet(records, rmetadata);
+            return createResultSet(key, records, rmetadata);
         } catch (Exception e) {
             throw new SQLException(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getTable_error, tableNamePattern, e.getMessage()), e); 
         } finally {
@@ -1725,6 +1783,53 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
     private StatementImpl dummyStatement() {
     	return new StatementImpl(this.driverConnection, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
     }
+
+    /**
+     * @return the cache of metadata results of the connection or null if it is disabled
+     */
+    public MetadataResultCache getResultCache() throws SQLException {
+        if (resultCache == null) {
+            int ttl = PropertiesUtils.getIntProperty(driverConnection.getConnectionProps(), MetadataResultCache.METADATA_CACHE_TTL, MetadataResultCache.DEFAULT_TTL);
+            if (ttl <= 0) {
+                return null;
+            }
+            resultCache = new MetadataResultCache(driverConnection.getVDBName(), driverConnection.getVDBVersion(), ttl);
+        }
+        return resultCache;
+    }
+
+    private List<Object> cacheKey(String method, Object... args) throws SQLException {
+        if (getResultCache() == null) {
+            return null;
+        }
+        return MetadataResultCache.createKey(method, args);
+    }
+
+    /**
+     * @return a result set of the cached results of a call or null if there are none
+     */
+    private ResultSet getCachedResultSet(List<Object> key) throws SQLException {
+        if (key == null) {
+            return null;
+        }
+        MetadataResultCache.Entry entry = resultCache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        return dummyStatement().createResultSet(entry.getRecords(), entry.getMetadata());
+    }
+
+    /**
+     * Create the result set of a call, caching its results if the cache is enabled
+     */
+    private ResultSet createResultSet(List<Object> key, List records, ResultSetMetaData rmetadata) throws SQLException {
+        // creating the result set loads the metadata so it can be shared
+        ResultSet resultSet = dummyStatement().createResultSet(records, rmetadata);
+        if (key != null) {
+            resultCache.put(key, records, rmetadata);
+        }
+        return resultSet;
+    }
     
     @Override
     public String getURL() throws SQLException {
@@ -2349,7 +2454,7 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
      * @return ResultSet object giving the reference key info.
      * @throws SQLException if there is an accesing server results
      */
-    private ResultSet getReferenceKeys(ResultSet results) throws SQLException {
+    private ResultSet getReferenceKeys(List<Object> key, ResultSet results) throws SQLException {
 
         // list which represent records containing reference key info
         List records = new ArrayList ();
@@ -2384,7 +2489,7 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
         logger.fine(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getRefKey_success)); 
 
         // construct results object from column values and their metadata
-        return dummyStatement().createResultSet(records, rmetadata);
+        return createResultSet(key, records, rmetadata);
     }
 
 	@Override
@@ -2446,6 +2551,13 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
         if (schemaPattern == null) {
             schemaPattern = PERCENT;
         }
+
+        List<Object> key = cacheKey("getSchemas", catalog, schemaPattern); //$NON-NLS-1$
+        ResultSet cachedResults = getCachedResultSet(key);
+        if (cachedResults != null) {
+            return cachedResults;
+        }
+
         // list which represent records containing schema info
         List records = new ArrayList ();
 
@@ -2477,7 +2589,7 @@ public class DatabaseMetaDataImpl extends WrapperImpl implements DatabaseMetaDat
             logger.fine(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getschema_success)); 
 
             // construct results object from column values and their metadata
-            return dummyStatement().createResultSet(records, rmetadata);
+            return createResultSet(key, records, rmetadata);
         } catch(Exception e) {
             throw new SQLException(Messages.getString(Messages.JDBC.MMDatabaseMetadata_getschema_error, e.getMessage()), e); 
         } finally {
@@ -67,6 +67,9 @@ public class JDBCURL {
 	            ExecutionProperties.PROP_XML_FORMAT,
 	            ExecutionProperties.PROP_XML_VALIDATION,
 	            USE_CALLING_THREAD,
+	            PreparedStatementImpl.BATCH_CHUNK_SIZE,
+	            PreparedStatementImpl.BATCH_PIPELINE_DEPTH,
+	            ResultSetImpl.READ_AHEAD_MEMORY,
 	            ExecutionProperties.DISABLE_LOCAL_TRANSACTIONS,
 	            ExecutionProperties.JDBC4COLUMNNAMEANDLABELSEMANTICS}) {
 			result.put(key, key);
@@ -92,6 +95,7 @@ public class JDBCURL {
     	        TeiidURL.CONNECTION.KERBEROS_SERVICE_PRINCIPLE_NAME,
     	        TeiidURL.CONNECTION.ENCRYPT_REQUESTS,
     	        DatabaseMetaDataImpl.REPORT_AS_VIEWS,
+    	        MetadataResultCache.METADATA_CACHE_TTL,
                 ResultSetImpl.DISABLE_FETCH_SIZE));
     	props.addAll(EXECUTION_PROPERTIES.keySet());
     	Map<String, String> result = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
@@ -0,0 +1,215 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.jdbc;
+
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.teiid.core.util.ConcurrentLRUCache;
+import org.teiid.core.util.PropertiesUtils;
+
+/**
+ * Cache of the results of the {@link DatabaseMetaDataImpl} methods that query
+ * the system schema of the VDB of a connection.
+ *
+ * Results expire once older than the time to live of the cache. Since the
+ * metadata of a VDB only changes when it is deployed again, the caches of a VDB
+ * are also cleared by {@link #invalidate(String, int)} when it is redeployed.
+ *
+ * The system schema only reports what the user of a connection may see, so
+ * each connection has its own cache rather than sharing one per VDB.
+ */
+public class MetadataResultCache {
+
+	/**
+	 * Connection property with the number of milliseconds that metadata results
+	 * are cached for. 0, the default, disables the cache.
+	 */
+	public static final String METADATA_CACHE_TTL = "metadataCacheTtl"; //$NON-NLS-1$
+
+	static final int DEFAULT_TTL = PropertiesUtils.getIntProperty(System.getProperties(), "org.teiid." + METADATA_CACHE_TTL, 0); //$NON-NLS-1$
+
+	/**
+	 * Default number of results held by a cache
+	 */
+	public static final int DEFAULT_MAX_SIZE = PropertiesUtils.getIntProperty(System.getProperties(), "org.teiid.metadataCacheSize", 256); //$NON-NLS-1$
+
+	// the caches of all the open connections
+	private static final Map<MetadataResultCache, Boolean> CACHES = new WeakHashMap<MetadataResultCache, Boolean>();
+
+	/**
+	 * The results of a single call
+	 */
+	static class Entry {
+		private final List<?> records;
+		private final ResultSetMetaData metadata;
+		private final long expires;
+
+		Entry(List<?> records, ResultSetMetaData metadata, long expires) {
+			this.records = records;
+			this.metadata = metadata;
+			this.expires = expires;
+		}
+
+		List<?> getRecords() {
+			return records;
+		}
+
+		ResultSetMetaData getMetadata() {
+			return metadata;
+		}
+	}
+
+	private final String vdbName;
+	private final int vdbVersion;
+	private final long ttl;
+	private final ConcurrentLRUCache<List<Object>, Entry> entries;
+
+	/**
+	 * @param vdbName
+	 * @param vdbVersion
+	 * @param ttl number of milliseconds that results are cached for
+	 */
+	public MetadataResultCache(String vdbName, int vdbVersion, long ttl) {
+		this(vdbName, vdbVersion, ttl, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * @param vdbName
+	 * @param vdbVersion
+	 * @param ttl number of milliseconds that results are cached for
+	 * @param maxSize maximum number of results held by the cache
+	 */
+	public MetadataResultCache(String vdbName, int vdbVersion, long ttl, int maxSize) {
+		this.vdbName = vdbName;
+		this.vdbVersion = vdbVersion;
+		this.ttl = ttl;
+		this.entries = new ConcurrentLRUCache<List<Object>, Entry>(maxSize, 4);
+		synchronized (CACHES) {
+			CACHES.put(this, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Clear the caches of the connections to a VDB
+	 *
+	 * @param vdbName
+	 * @param vdbVersion the version of the VDB or -1 for all of its versions
+	 */
+	public static void invalidate(String vdbName, int vdbVersion) {
+		List<MetadataResultCache> caches;
+		synchronized (CACHES) {
+			caches = new ArrayList<MetadataResultCache>(CACHES.keySet());
+		}
+		for (MetadataResultCache cache : caches) {
+			if (cache.vdbName.equalsIgnoreCase(vdbName) && (vdbVersion < 0 || cache.vdbVersion == vdbVersion)) {
+				cache.clear();
+			}
+		}
+	}
+
+	/**
+	 * Create the key of a call. The patterns and names are matched in upper case
+	 * by the metadata queries, so they are upper cased to let calls differing only
+	 * by case share their results.
+	 *
+	 * @param method name of the {@link DatabaseMetaDataImpl} method
+	 * @param args arguments of the call
+	 * @return the key of the call
+	 */
+	static List<Object> createKey(String method, Object... args) {
+		List<Object> key = new ArrayList<Object>(args.length + 1);
+		key.add(method);
+		for (Object arg : args) {
+			if (arg instanceof String) {
+				key.add(((String)arg).toUpperCase());
+			} else if (arg instanceof String[]) {
+				List<Object> values = new ArrayList<Object>();
+				for (String value : (String[])arg) {
+					values.add(value != null ? value.toUpperCase() : null);
+				}
+				key.add(values);
+			} else {
+				key.add(arg);
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * @param key
+	 * @return the cached results of the call or null if there are none or they have expired
+	 */
+	Entry get(List<Object> key) {
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expires < System.currentTimeMillis()) {
+			entries.remove(key);
+			return null;
+		}
+		return entry;
+	}
+
+	/**
+	 * Cache the results of a call
+	 *
+	 * @param key
+	 * @param records
+	 * @param metadata
+	 */
+	void put(List<Object> key, List<?> records, ResultSetMetaData metadata) {
+		long expires = System.currentTimeMillis() + ttl;
+		if (expires < 0) {
+			expires = Long.MAX_VALUE;
+		}
+		entries.put(key, new Entry(Collections.unmodifiableList(new ArrayList<Object>(records)), metadata, expires));
+	}
+
+	/**
+	 * Remove all of the cached results
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * @return snapshot of the statistics of this cache
+	 */
+	public ConcurrentLRUCache.Statistics getStatistics() {
+		return entries.getStatistics();
+	}
+
+	public String getVdbName() {
+		return vdbName;
+	}
+
+	public int getVdbVersion() {
+		return vdbVersion;
+	}
+
+}
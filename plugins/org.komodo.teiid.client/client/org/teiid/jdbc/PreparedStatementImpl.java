@@ -29,6 +29,7 @@ import java.math.BigDecimal;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.sql.Array;
+import java.sql.BatchUpdateException;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.NClob;
@@ -40,12 +41,17 @@ import java.sql.SQLException;
 import java.sql.SQLXML;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Matcher;
 
 import javax.sql.rowset.serial.SerialArray;
@@ -54,6 +60,7 @@ import org.komodo.spi.runtime.version.TeiidVersion.Version;
 import org.teiid.client.RequestMessage;
 import org.teiid.client.RequestMessage.ResultsMode;
 import org.teiid.client.RequestMessage.StatementType;
+import org.teiid.client.ResultsMessage;
 import org.teiid.client.metadata.MetadataResult;
 import org.teiid.client.util.ResultsFuture;
 import org.teiid.core.types.ArrayImpl;
@@ -63,6 +70,7 @@ import org.teiid.core.types.DataTypeManagerService.DefaultDataTypes;
 import org.teiid.core.types.InputStreamFactory;
 import org.teiid.core.types.JDBCSQLTypeInfo;
 import org.teiid.core.types.Streamable;
+import org.teiid.core.util.PropertiesUtils;
 import org.teiid.core.util.ReaderInputStream;
 import org.teiid.core.util.TimestampWithTimezone;
 import org.teiid.runtime.client.Messages;
@@ -80,6 +88,41 @@ import org.teiid.runtime.client.Messages;
  */
 
 public class PreparedStatementImpl extends StatementImpl implements TeiidPreparedStatement {
+
+	/**
+	 * Execution property for the number of parameter rows sent in a single request
+	 * by {@link #executeBatch()}. Once that many rows have been added they are sent
+	 * without waiting for executeBatch, so a batch of any size is held in memory
+	 * a chunk at a time. 0, the default, sends the whole batch as one request.
+	 */
+	public static final String BATCH_CHUNK_SIZE = "batchChunkSize"; //$NON-NLS-1$
+
+	/**
+	 * Execution property for the number of batch chunks that may be awaiting their
+	 * results at once. Chunks are only pipelined under auto commit, within a
+	 * transaction a chunk is sent once the previous chunk has completed.
+	 */
+	public static final String BATCH_PIPELINE_DEPTH = "batchPipelineDepth"; //$NON-NLS-1$
+
+	private static final int DEFAULT_BATCH_CHUNK_SIZE = PropertiesUtils.getIntProperty(System.getProperties(), "org.teiid." + BATCH_CHUNK_SIZE, 0); //$NON-NLS-1$
+
+	private static final int DEFAULT_BATCH_PIPELINE_DEPTH = PropertiesUtils.getIntProperty(System.getProperties(), "org.teiid." + BATCH_PIPELINE_DEPTH, 2); //$NON-NLS-1$
+
+	/**
+	 * A chunk of the parameter rows of a batch that has been sent to the server
+	 */
+	private static class BatchChunk {
+		private final long requestID;
+		private final int rowCount;
+		private final ResultsFuture<ResultsMessage> results;
+
+		public BatchChunk(long requestID, int rowCount, ResultsFuture<ResultsMessage> results) {
+			this.requestID = requestID;
+			this.rowCount = rowCount;
+			this.results = results;
+		}
+	}
+
 	// sql, which this prepared statement is operating on
     protected String prepareSql;
 
@@ -90,6 +133,14 @@ public class PreparedStatementImpl extends StatementImpl implements TeiidPrepare
     //a list of map that holds parameter index to values for prepared statements
     protected List<List<Object>> batchParameterList;
 
+    // chunks of the current batch that have been sent, oldest first
+    private LinkedList<BatchChunk> pendingChunks = new LinkedList<BatchChunk>();
+    // update counts of the completed chunks, null if no chunk has been sent
+    private int[] chunkUpdateCounts;
+    private int chunkUpdateCountSize;
+    // the first failure of a chunk
+    private SQLException chunkFailure;
+
     // metadata
 	private MetadataResult metadataResults;
     private ResultSetMetaData metadata;
@@ -137,10 +188,16 @@ public class PreparedStatementImpl extends StatementImpl implements TeiidPrepare
 		}
     	batchParameterList.add(getParameterValues());
 		clearParameters();
+		int chunkSize = getIntExecutionProperty(BATCH_CHUNK_SIZE, DEFAULT_BATCH_CHUNK_SIZE);
+		if (chunkSize > 0 && batchParameterList.size() >= chunkSize) {
+			submitBatchChunk();
+		}
     }
 
     /**
-     * Makes the set of commands in the current batch empty.
+     * Makes the set of commands in the current batch empty. Chunks of the
+     * batch that have already been sent and are still awaiting their results
+     * are cancelled.
      *
      * @throws SQLException if a database access error occurs or the
      * driver does not support batch statements
@@ -150,6 +207,17 @@ public class PreparedStatementImpl extends StatementImpl implements TeiidPrepare
     	if (batchParameterList != null ) {
     		batchParameterList.clear();
     	}
+    	cancelBatchChunks();
+    }
+
+    /**
+     * Cancels any chunks of the current batch still awaiting their results
+     * before closing the statement.
+     */
+    @Override
+    public void close() throws SQLException {
+    	cancelBatchChunks();
+    	super.close();
     }
 
     /**
@@ -257,6 +325,9 @@ public class PreparedStatementImpl extends StatementImpl implements TeiidPrepare
     
     @Override
     public int[] executeBatch() throws SQLException {
+    	if (chunkUpdateCounts != null) {
+    		return executeChunkedBatch();
+    	}
     	if (batchParameterList == null || batchParameterList.isEmpty()) {
    	     	return new int[0];
     	}
@@ -268,6 +339,130 @@ public class PreparedStatementImpl extends StatementImpl implements TeiidPrepare
 	   	return this.updateCounts;
     }
 
+    /**
+     * Send the remaining rows of a batch that has been sent in chunks and
+     * wait for all of the chunks to complete.
+     *
+     * Processing continues past a failed chunk, the rows of which are reported
+     * as {@link #EXECUTE_FAILED} by the {@link BatchUpdateException} thrown once
+     * all of the chunks have completed.
+     */
+    private int[] executeChunkedBatch() throws SQLException {
+    	try {
+	    	if (batchParameterList != null && !batchParameterList.isEmpty()) {
+	    		submitBatchChunk();
+	    	}
+	    	while (!pendingChunks.isEmpty()) {
+	    		completeBatchChunk();
+	    	}
+	    	this.updateCounts = Arrays.copyOf(chunkUpdateCounts, chunkUpdateCountSize);
+	    	if (chunkFailure != null) {
+	    		throw new BatchUpdateException(chunkFailure.getMessage(), chunkFailure.getSQLState(), chunkFailure.getErrorCode(), this.updateCounts, chunkFailure);
+	    	}
+	    	return this.updateCounts;
+    	} finally {
+    		cancelBatchChunks();
+    		if (batchParameterList != null) {
+    			batchParameterList.clear();
+    		}
+    	}
+    }
+
+    /**
+     * Send the rows added to the batch so far as a single request, first
+     * waiting for the oldest chunks if the pipeline is full.
+     */
+    private void submitBatchChunk() throws SQLException {
+    	if (chunkUpdateCounts == null) {
+    		resetExecutionState();
+    		chunkUpdateCounts = new int[batchParameterList.size()];
+    	}
+    	int depth = 1;
+    	if (getConnection().getAutoCommit()) {
+    		depth = Math.max(1, getIntExecutionProperty(BATCH_PIPELINE_DEPTH, DEFAULT_BATCH_PIPELINE_DEPTH));
+    	}
+    	while (pendingChunks.size() >= depth) {
+    		completeBatchChunk();
+    	}
+    	RequestMessage reqMessage = createRequestMessage(new String[] {this.prepareSql}, true, ResultsMode.UPDATECOUNT);
+    	int rowCount = batchParameterList.size();
+    	batchParameterList.clear();
+    	ResultsFuture<ResultsMessage> results = execute(reqMessage, false);
+    	pendingChunks.add(new BatchChunk(getCurrentRequestID(), rowCount, results));
+    }
+
+    /**
+     * Wait for the oldest chunk sent and add its update counts to those of the batch
+     */
+    private void completeBatchChunk() throws SQLException {
+    	BatchChunk chunk = pendingChunks.removeFirst();
+    	int[] counts = null;
+    	try {
+    		ResultsMessage resultsMsg = chunk.results.get(queryTimeoutMS==0?Integer.MAX_VALUE:queryTimeoutMS, TimeUnit.MILLISECONDS);
+    		counts = receiveBatchedUpdateCounts(chunk.requestID, resultsMsg);
+    	} catch (SQLException e) {
+    		failBatchChunk(e);
+    	} catch (ExecutionException e) {
+    		if (e.getCause() instanceof SQLException) {
+    			failBatchChunk((SQLException)e.getCause());
+    		} else {
+    			failBatchChunk(new SQLException(e.getCause() != null ? e.getCause() : e));
+    		}
+    	} catch (InterruptedException e) {
+    		timeoutOccurred();
+    		throw new SQLException(Messages.getString(Messages.JDBC.MMStatement_Timeout_before_complete));
+    	} catch (TimeoutException e) {
+    		timeoutOccurred();
+    		throw new SQLException(Messages.getString(Messages.JDBC.MMStatement_Timeout_before_complete));
+    	}
+    	if (counts == null) {
+    		counts = new int[chunk.rowCount];
+    		Arrays.fill(counts, EXECUTE_FAILED);
+    	}
+    	if (chunkUpdateCountSize + counts.length > chunkUpdateCounts.length) {
+    		chunkUpdateCounts = Arrays.copyOf(chunkUpdateCounts, Math.max(chunkUpdateCounts.length * 2, chunkUpdateCountSize + counts.length));
+    	}
+    	System.arraycopy(counts, 0, chunkUpdateCounts, chunkUpdateCountSize, counts.length);
+    	chunkUpdateCountSize += counts.length;
+    }
+
+    private void failBatchChunk(SQLException e) {
+    	if (chunkFailure == null) {
+    		chunkFailure = e;
+    	} else {
+    		chunkFailure.setNextException(e);
+    	}
+    }
+
+    /**
+     * Cancel any chunks still awaiting their results and forget the state of the chunked batch
+     */
+    private void cancelBatchChunks() {
+    	for (BatchChunk chunk : pendingChunks) {
+    		try {
+    			getDQP().cancelRequest(chunk.requestID);
+    		} catch (Exception e) {
+    			// the request may already have completed
+    		}
+    	}
+    	pendingChunks.clear();
+    	chunkUpdateCounts = null;
+    	chunkUpdateCountSize = 0;
+    	chunkFailure = null;
+    }
+
+    private int getIntExecutionProperty(String name, int defaultValue) {
+    	String value = getExecutionProperty(name);
+    	if (value != null) {
+    		try {
+    			return Integer.parseInt(value);
+    		} catch (NumberFormatException e) {
+    			// silently failover to default
+    		}
+    	}
+    	return defaultValue;
+    }
+
 	@Override
     public ResultSet executeQuery() throws SQLException {
         executeSql(new String[] {this.prepareSql}, false, ResultsMode.RESULTSET, true, null, autoGeneratedKeys);
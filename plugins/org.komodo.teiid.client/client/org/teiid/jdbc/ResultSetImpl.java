@@ -57,6 +57,8 @@ import org.komodo.spi.runtime.version.TeiidVersion.Version;
 import org.teiid.client.RequestMessage;
 import org.teiid.client.ResultsMessage;
 import org.teiid.client.lob.LobChunkInputStream;
+import org.teiid.client.ColumnarBatch;
+import org.teiid.client.ColumnarBatch.ColumnType;
 import org.teiid.client.lob.StreamingLobChunckProducer;
 import org.teiid.client.plan.PlanNode;
 import org.teiid.client.util.ResultsFuture;
@@ -86,6 +88,9 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 	// the object which was last read from Results
 	private Object currentValue;
 
+	// stands in for the last value read from a primitive column when not null
+	private static final Object NON_NULL_PRIMITIVE = new Object();
+
 	// This object represents metadata for this result set.
 	private ResultSetMetaData rmetadata;
 	// Statement that causes this results
@@ -119,6 +124,24 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 
 	private int skipTo;
 
+	/**
+	 * Execution property with the number of bytes of rows that may be read ahead of
+	 * a forward only result set. When set, the size of the requests sent ahead of the
+	 * rows being read doubles each time the rows were read before the next batch
+	 * arrived, up to the number of rows estimated to fit in this many bytes.
+	 * 0, the default, always requests the fetch size.
+	 */
+	public static final String READ_AHEAD_MEMORY = "readAheadMemory"; //$NON-NLS-1$
+
+	private static int READ_AHEAD_MEMORY_DEFAULT = PropertiesUtils.getIntProperty(System.getProperties(), "org.teiid." + READ_AHEAD_MEMORY, 0); //$NON-NLS-1$
+
+	// number of rows sampled from each batch to estimate the row size
+	private static final int ROW_SIZE_SAMPLES = 8;
+
+	private int readAheadMemory;
+	private int readAheadFetchSize;
+	private int estimatedRowSize;
+
 	private static boolean DISABLE_FETCH_SIZE_DEFAULT = PropertiesUtils.getBooleanProperty(System.getProperties(), "org.teiid." + DISABLE_FETCH_SIZE, false); //$NON-NLS-1$
 	
 	private Boolean disableFetchSize;
@@ -162,6 +185,17 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 			logger.finer("Creating ResultSet requestID: " + requestID + " beginRow: " + resultsMsg.getFirstRow() + " resultsColumns: " + resultColumns + " parameters: " + parameters); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 		}
 		this.usePrefetch = cursorType == ResultSet.TYPE_FORWARD_ONLY && !statement.useCallingThread();
+		if (this.usePrefetch) {
+			this.readAheadMemory = READ_AHEAD_MEMORY_DEFAULT;
+			String readAheadMemoryStr = statement.getExecutionProperty(READ_AHEAD_MEMORY);
+			if (readAheadMemoryStr != null) {
+				try {
+					this.readAheadMemory = Integer.parseInt(readAheadMemoryStr);
+				} catch (NumberFormatException e) {
+					// silently failover to default
+				}
+			}
+		}
 		this.maxRows = statement.getMaxRows();
 		this.batchResults = new BatchResults(this, getCurrentBatch(resultsMsg), this.cursorType == ResultSet.TYPE_FORWARD_ONLY ? 1 : BatchResults.DEFAULT_SAVED_BATCHES);
 	}
@@ -372,6 +406,48 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 		return isf;
 	}
 
+    /**
+     * Get the current row if its values are held by a {@link ColumnarBatch}
+     * and the column has the given storage, in which case the value can be
+     * read without boxing.
+     *
+     * @param column Column index
+     * @param type storage of the column
+     * @return the current row or null if the value should be read as an object
+     * @throws SQLException
+     */
+    private ColumnarBatch.Row getColumnarRow(int column, ColumnType type) throws SQLException {
+        checkClosed();
+        if (column < 1 || column > resultColumns || isAfterLast()) {
+            return null;
+        }
+
+        List<?> cursorRow = batchResults.getCurrentRow();
+        if (!(cursorRow instanceof ColumnarBatch.Row)) {
+            return null;
+        }
+
+        ColumnarBatch.Row row = (ColumnarBatch.Row)cursorRow;
+        if (row.getBatch().getColumnType(column - 1) != type) {
+            return null;
+        }
+
+        return row;
+    }
+
+    /**
+     * Record whether the primitive value is null so that {@link #wasNull()} is accurate
+     *
+     * @param row
+     * @param column Column index
+     * @return true if the value is null
+     */
+    private boolean readColumnarNull(ColumnarBatch.Row row, int column) {
+        boolean isNull = row.getBatch().isNull(row.getRowIndex(), column - 1);
+        currentValue = isNull ? null : NON_NULL_PRIMITIVE;
+        return isNull;
+    }
+
     /**
      * Get all values in current record in column order
      * @return List of Object values in current row
@@ -408,8 +484,13 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
     			//TODO: this is not efficient if the user is skipping around the results
     			//but the server logic at this point basically requires us
     			//to read what we have requested before requesting more (no queuing)
+    			boolean waited = !prefetch.isDone();
     			ResultsMessage result = getResults(prefetch);
     			prefetch = null;
+    			if (waited) {
+    				// the rows are being read faster than they arrive
+    				growReadAhead();
+    			}
     			Batch nextBatch = processBatch(result);
 				return nextBatch;
         	}
@@ -450,7 +531,7 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 			logger.finer("requestBatch requestID: " + requestID + " beginRow: " + beginRow ); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 		try {
-			results = statement.getDQP().processCursorRequest(requestID, beginRow, fetchSize);
+			results = statement.getDQP().processCursorRequest(requestID, beginRow, getRequestFetchSize());
 		} catch (TeiidClientException e) {
 			throw new SQLException(e);
 		}
@@ -527,8 +608,72 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 		}
 		Batch result = new Batch(tuples, firstRow, endRow);
 		result.setLastRow(lastRow);
+		if (readAheadMemory > 0) {
+			sampleRowSize(tuples);
+		}
 		return result;
 	}
+
+	/**
+	 * @return the number of rows to request, at least the fetch size
+	 */
+	private int getRequestFetchSize() {
+		if (readAheadFetchSize <= fetchSize || estimatedRowSize <= 0) {
+			return fetchSize;
+		}
+		return Math.max(fetchSize, Math.min(readAheadFetchSize, readAheadMemory / estimatedRowSize));
+	}
+
+	private void growReadAhead() {
+		if (readAheadMemory <= 0 || estimatedRowSize <= 0) {
+			return;
+		}
+		int maxFetchSize = readAheadMemory / estimatedRowSize;
+		readAheadFetchSize = (int)Math.min(maxFetchSize, 2L * getRequestFetchSize());
+	}
+
+	/**
+	 * Update the estimated size in memory of a row from a sample of the given rows
+	 */
+	private void sampleRowSize(List<?>[] tuples) {
+		if (tuples.length == 0) {
+			return;
+		}
+		int samples = Math.min(ROW_SIZE_SAMPLES, tuples.length);
+		long total = 0;
+		for (int i = 0; i < samples; i++) {
+			total += estimateRowSize(tuples[(int)((long)i * tuples.length / samples)]);
+		}
+		int rowSize = (int)(total / samples);
+		if (estimatedRowSize == 0) {
+			estimatedRowSize = rowSize;
+		} else {
+			// favour the recent batches without letting a single batch dominate
+			estimatedRowSize = (3 * estimatedRowSize + rowSize) / 4;
+		}
+	}
+
+	static int estimateRowSize(List<?> row) {
+		int size = 16 + 4 * row.size();
+		for (int i = 0; i < row.size(); i++) {
+			Object value = row.get(i);
+			if (value == null) {
+				continue;
+			}
+			if (value instanceof String) {
+				size += 40 + 2 * ((String)value).length();
+			} else if (value instanceof byte[]) {
+				size += 16 + ((byte[])value).length;
+			} else if (value instanceof BinaryType) {
+				size += 32 + ((BinaryType)value).getLength();
+			} else if (value instanceof BigDecimal) {
+				size += 64;
+			} else {
+				size += 24;
+			}
+		}
+		return size;
+	}
     
 	protected int getFinalRowNumber() {
     	return Math.max(-1, batchResults.getFinalRowNumber() - getOffset());
@@ -637,6 +782,13 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 
 	@Override
     public boolean getBoolean(int columnIndex) throws SQLException {
+		ColumnarBatch.Row row = getColumnarRow(columnIndex, ColumnType.BOOLEAN);
+		if (row != null) {
+			if (readColumnarNull(row, columnIndex)) {
+				return false;
+			}
+			return row.getBatch().getBoolean(row.getRowIndex(), columnIndex - 1);
+		}
 		return DataTypeTransformer.getBoolean(getTeiidVersion(), getObject(columnIndex));
 	}
 
@@ -648,6 +800,13 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 
 	@Override
     public byte getByte(int columnIndex) throws SQLException {
+		ColumnarBatch.Row row = getColumnarRow(columnIndex, ColumnType.BYTE);
+		if (row != null) {
+			if (readColumnarNull(row, columnIndex)) {
+				return 0;
+			}
+			return row.getBatch().getByte(row.getRowIndex(), columnIndex - 1);
+		}
 		return DataTypeTransformer.getByte(getTeiidVersion(), getObject(columnIndex));
 	}
 
@@ -751,6 +910,13 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 
 	@Override
     public double getDouble(int columnIndex) throws SQLException {
+		ColumnarBatch.Row row = getColumnarRow(columnIndex, ColumnType.DOUBLE);
+		if (row != null) {
+			if (readColumnarNull(row, columnIndex)) {
+				return 0;
+			}
+			return row.getBatch().getDouble(row.getRowIndex(), columnIndex - 1);
+		}
 		return DataTypeTransformer.getDouble(getTeiidVersion(), getObject(columnIndex));
 	}
 
@@ -785,6 +951,13 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 	 */
 	@Override
     public float getFloat(int columnIndex) throws SQLException {
+		ColumnarBatch.Row row = getColumnarRow(columnIndex, ColumnType.FLOAT);
+		if (row != null) {
+			if (readColumnarNull(row, columnIndex)) {
+				return 0;
+			}
+			return row.getBatch().getFloat(row.getRowIndex(), columnIndex - 1);
+		}
 		return DataTypeTransformer.getFloat(getTeiidVersion(), getObject(columnIndex));
 	}
 
@@ -813,6 +986,13 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 	 */
 	@Override
     public int getInt(int columnIndex) throws SQLException {
+		ColumnarBatch.Row row = getColumnarRow(columnIndex, ColumnType.INTEGER);
+		if (row != null) {
+			if (readColumnarNull(row, columnIndex)) {
+				return 0;
+			}
+			return row.getBatch().getInt(row.getRowIndex(), columnIndex - 1);
+		}
 		return DataTypeTransformer.getInteger(getTeiidVersion(), getObject(columnIndex));
 	}
 
@@ -841,6 +1021,13 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 	 */
 	@Override
     public long getLong(int columnIndex) throws SQLException {
+		ColumnarBatch.Row row = getColumnarRow(columnIndex, ColumnType.LONG);
+		if (row != null) {
+			if (readColumnarNull(row, columnIndex)) {
+				return 0;
+			}
+			return row.getBatch().getLong(row.getRowIndex(), columnIndex - 1);
+		}
 		return DataTypeTransformer.getLong(getTeiidVersion(), getObject(columnIndex));
 	}
 
@@ -883,6 +1070,13 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 	 */
 	@Override
     public short getShort(int columnIndex) throws SQLException {
+		ColumnarBatch.Row row = getColumnarRow(columnIndex, ColumnType.SHORT);
+		if (row != null) {
+			if (readColumnarNull(row, columnIndex)) {
+				return 0;
+			}
+			return row.getBatch().getShort(row.getRowIndex(), columnIndex - 1);
+		}
 		return DataTypeTransformer.getShort(getTeiidVersion(), getObject(columnIndex));
 	}
 
@@ -1508,6 +1702,7 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
             throw new SQLException(Messages.getString(Messages.JDBC.MMStatement_Invalid_fetch_size));
         }
         // sets the fetch size on this statement
+        this.readAheadFetchSize = 0;
         if (rows == 0) {
             this.fetchSize = RequestMessage.DEFAULT_FETCH_SIZE;
         } else {
@@ -655,7 +655,7 @@ public class StatementImpl extends WrapperImpl implements TeiidStatement {
 		return booleanFuture(true);
 	}
 
-	private ResultsFuture<ResultsMessage> execute(final RequestMessage reqMsg, boolean synch) throws SQLException,
+	ResultsFuture<ResultsMessage> execute(final RequestMessage reqMsg, boolean synch) throws SQLException,
 			SQLException {
 		this.getConnection().beginLocalTxnIfNeeded();
         this.currentRequestID = this.driverConnection.nextRequestID();
@@ -762,6 +762,38 @@ public class StatementImpl extends WrapperImpl implements TeiidStatement {
         logger.fine(Messages.getString(Messages.JDBC.MMStatement_Success_query, reqMessage.getCommandString())); 
 	}
 
+	/**
+	 * Process the results of a batched update that was sent as one of
+	 * several requests, leaving the execution state of the statement alone.
+	 * @return the update counts of the request
+	 */
+	synchronized int[] receiveBatchedUpdateCounts(long requestID, ResultsMessage resultsMsg) throws SQLException {
+        resultsMsg.setTeiidVersion(getTeiidVersion());
+
+        setAnalysisInfo(resultsMsg);
+
+        if (resultsMsg.getException() != null) {
+            throw new SQLException(resultsMsg.getException());
+        }
+
+        List resultsWarning = resultsMsg.getWarnings();
+        if (resultsWarning != null) {
+            accumulateWarnings(resultsWarning);
+        }
+
+        List<? extends List<?>> results = resultsMsg.getResultsList();
+        int[] counts = new int[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+        	counts[i] = (Integer)results.get(i).get(0);
+        }
+        try {
+			getDQP().closeRequest(requestID);
+		} catch (Exception e) {
+			throw new SQLException(e);
+		}
+        return counts;
+	}
+
 	protected RequestMessage createRequestMessage(String[] commands,
 			boolean isBatchedCommand, ResultsMode resultsMode) {
         RequestMessage reqMessage = new RequestMessage();
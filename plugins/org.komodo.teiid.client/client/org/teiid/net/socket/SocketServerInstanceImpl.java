@@ -38,6 +38,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -53,6 +54,7 @@ import org.teiid.core.crypto.CryptoException;
 import org.teiid.core.crypto.Cryptor;
 import org.teiid.core.crypto.DhKeyGenerator;
 import org.teiid.core.crypto.NullCryptor;
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.net.CommunicationException;
 import org.teiid.net.HostInfo;
 import org.teiid.runtime.client.Messages;
@@ -62,6 +64,20 @@ import org.teiid.runtime.client.Messages;
  * Client view of a socket server connection that exposes remote services
  * On construction this class will create a channel and exchange a handshake.
  * That handshake will establish a {@link Cryptor} to be used for secure traffic.
+ * 
+ * Responses are read by a single reader per connection that dispatches each
+ * message to the listener registered under its message key. The reader only
+ * runs while there are outstanding requests, and stops at the next read timeout
+ * once no caller is waiting for a response, so neither idle connections nor
+ * requests whose callers gave up on them hold a thread. A caller that waits
+ * again restarts the reader.
+ * 
+ * The reader runs on a thread of a pool shared by all connections, so the
+ * {@link ResultsReceiver} of a request, and the completion listeners of a
+ * {@link ResultsFuture} completed by it, are called on that thread rather
+ * than the thread that sent the request. They should not block on anything
+ * but further responses from the same connection, which the reader then
+ * reads itself, see {@link #read(long, TimeUnit, ResultsFuture)}.
  */
 public class SocketServerInstanceImpl implements SocketServerInstance {
 	
@@ -69,6 +85,10 @@ public class SocketServerInstanceImpl implements SocketServerInstance {
     private static Logger log = Logger.getLogger("org.teiid.client.sockets"); //$NON-NLS-1$
 
 	private static AtomicInteger MESSAGE_ID = new AtomicInteger();
+	/*
+	 * Shared by the readers of all connections. Response callbacks run on these threads.
+	 */
+	private static final ExecutorService READERS = ExecutorUtils.newCachedThreadPool("Teiid Socket Reader "); //$NON-NLS-1$
     private Map<Serializable, ResultsReceiver<Object>> asynchronousListeners = new ConcurrentHashMap<Serializable, ResultsReceiver<Object>>();
 
     private long synchTimeout;
@@ -80,6 +100,38 @@ public class SocketServerInstanceImpl implements SocketServerInstance {
     private HashMap<Class<?>, Object> serviceMap = new HashMap<Class<?>, Object>();
     
     private boolean hasReader;
+    private int waiting;
+    private volatile Thread readerThread;
+    
+    private final Runnable reader = new Runnable() {
+		@Override
+		public void run() {
+			readerThread = Thread.currentThread();
+			try {
+				while (true) {
+					synchronized (SocketServerInstanceImpl.this) {
+						if (asynchronousListeners.isEmpty()) {
+							hasReader = false;
+							return;
+						}
+					}
+					if (!readMessage()) {
+						synchronized (SocketServerInstanceImpl.this) {
+							if (waiting == 0) {
+								//the remaining listeners are not waited on, they may never get a response
+								hasReader = false;
+								return;
+							}
+						}
+					}
+				}
+			} finally {
+				if (readerThread == Thread.currentThread()) {
+					readerThread = null;
+				}
+			}
+		}
+	};
     
     public SocketServerInstanceImpl(HostInfo info, long synchTimeout) {
     	if (!info.isResolved()) {
@@ -191,6 +243,9 @@ public class SocketServerInstanceImpl implements SocketServerInstance {
 	        Future<?> writeFuture = socketChannel.write(message);
 	        writeFuture.get(); //client writes are blocking to ensure proper failure handling
 	        success = true;
+	        if (listener != null) {
+	        	startReader();
+	        }
 	    } catch (ExecutionException e) {
         	 throw new SingleInstanceCommunicationException(e, e.getMessage());
 	    } finally {
@@ -282,41 +337,60 @@ public class SocketServerInstanceImpl implements SocketServerInstance {
         return this.cryptor;
     }
     
+    private void startReader() {
+    	synchronized (this) {
+    		if (hasReader) {
+    			return;
+    		}
+    		hasReader = true;
+    	}
+    	READERS.execute(reader);
+    }
+
+    /**
+     * @return false if the read timed out
+     */
+    private boolean readMessage() {
+    	try {
+    		receivedMessage(socketChannel.read());
+    	} catch (SocketTimeoutException e) {
+    		return false;
+    	} catch (Exception e) {
+    		exceptionOccurred(e);
+    	}
+    	return true;
+    }
+    
     public void read(long timeout, TimeUnit unit, ResultsFuture<?> future) throws TimeoutException, InterruptedException {
     	long timeoutMillis = (int)Math.min(unit.toMillis(timeout), Integer.MAX_VALUE);
 		long start = System.currentTimeMillis();
-		while (!future.isDone()) {
-			boolean reading = false;
-			synchronized (this) {
-				if (!hasReader) {
-					hasReader = true;
-					reading = true;
-				} else if (!future.isDone()) {
-					this.wait(Math.max(1, timeoutMillis));
+		if (Thread.currentThread() == readerThread) {
+			//called while dispatching a message, so the reader has to read the response itself
+			while (!future.isDone()) {
+				readMessage();
+				if (!future.isDone() && System.currentTimeMillis() - start >= timeoutMillis) {
+					throw new TimeoutException("Read timeout after " + timeout + " milliseconds."); //$NON-NLS-1$ //$NON-NLS-2$
 				}
-			} 
-			if (reading) {
-				try {
-					if (!future.isDone()) {
-						receivedMessage(socketChannel.read());
-					}
-				} catch (SocketTimeoutException e) {
-				} catch (Exception e) {
-					exceptionOccurred(e);
-				} finally {
-					synchronized (this) {
-						hasReader = false;
-						this.notifyAll();
+			}
+			return;
+		}
+		synchronized (this) {
+			waiting++;
+		}
+		try {
+			startReader();
+			synchronized (future) {
+				while (!future.isDone()) {
+					long remaining = start + timeoutMillis - System.currentTimeMillis();
+					if (remaining <= 0) {
+						throw new TimeoutException("Read timeout after " + timeout + " milliseconds."); //$NON-NLS-1$ //$NON-NLS-2$
 					}
+					future.wait(remaining);
 				}
 			}
-			if (!future.isDone()) {
-				long now = System.currentTimeMillis();
-				timeoutMillis -= now - start;
-				start = now;
-				if (timeoutMillis <= 0) {
-					throw new TimeoutException("Read timeout after " + timeout + " milliseconds."); //$NON-NLS-1$ //$NON-NLS-2$
-				}
+		} finally {
+			synchronized (this) {
+				waiting--;
 			}
 		}
     }
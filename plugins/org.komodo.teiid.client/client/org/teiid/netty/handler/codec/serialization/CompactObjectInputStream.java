@@ -28,6 +28,8 @@ import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectStreamClass;
 import java.io.StreamCorruptedException;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author The Netty Project (netty-dev@lists.jboss.org)
@@ -38,15 +40,35 @@ import java.io.StreamCorruptedException;
  */
 public class CompactObjectInputStream extends ObjectInputStream {
 
+    /**
+     * Classes and descriptors resolved by name, which may be shared by
+     * the streams reading the successive messages of a single channel.
+     * Without an explicit class loader, classes may be resolved through
+     * the loader of the caller, so such a cache should not outlive the stream.
+     */
+    static class ClassCache {
+
+        private final Map<String, Class<?>> classes = new HashMap<String, Class<?>>();
+
+        private final Map<String, ObjectStreamClass> descriptors = new HashMap<String, ObjectStreamClass>();
+    }
+
     private final ClassLoader classLoader;
 
+    private final ClassCache classCache;
+
     CompactObjectInputStream(InputStream in) throws IOException {
         this(in, null);
     }
 
     public CompactObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+        this(in, classLoader, new ClassCache());
+    }
+
+    CompactObjectInputStream(InputStream in, ClassLoader classLoader, ClassCache classCache) throws IOException {
         super(in);
         this.classLoader = classLoader;
+        this.classCache = classCache;
     }
 
     @Override
@@ -71,6 +93,10 @@ public class CompactObjectInputStream extends ObjectInputStream {
             return super.readClassDescriptor();
         case CompactObjectOutputStream.TYPE_NON_PRIMITIVE:
             String className = readUTF();
+            ObjectStreamClass desc = classCache.descriptors.get(className);
+            if (desc != null) {
+                return desc;
+            }
             Class<?> clazz;
             if (classLoader == null) {
                 clazz = Class.forName(
@@ -79,7 +105,9 @@ public class CompactObjectInputStream extends ObjectInputStream {
             } else {
                 clazz = Class.forName(className, true, classLoader);
             }
-            return ObjectStreamClass.lookupAny(clazz);
+            desc = ObjectStreamClass.lookupAny(clazz);
+            classCache.descriptors.put(className, desc);
+            return desc;
         default:
         	clazz = CompactObjectOutputStream.KNOWN_CODES.get(type);
         	if (clazz != null) {
@@ -93,10 +121,16 @@ public class CompactObjectInputStream extends ObjectInputStream {
     @Override
     protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
         String name = desc.getName();
+        Class<?> clazz = classCache.classes.get(name);
+        if (clazz != null) {
+            return clazz;
+        }
         try {
-            return Class.forName(name, false, classLoader);
+            clazz = Class.forName(name, false, classLoader);
         } catch (ClassNotFoundException ex) {
-            return super.resolveClass(desc);
+            clazz = super.resolveClass(desc);
         }
+        classCache.classes.put(name, clazz);
+        return clazz;
     }
 }
@@ -253,6 +253,11 @@ public class CompactObjectOutputStream extends ObjectOutputStream {
     		this.isf = streamFactory;
     	}
     	
+    	public void setOwnedStreamFactory(InputStreamFactory streamFactory) {
+    		// the factory is always freed on close
+    		setStreamFactory(streamFactory);
+    	}
+    	
 		@Override
 		public int read() throws IOException {
 			if (is == null) {
@@ -287,6 +292,11 @@ public class CompactObjectOutputStream extends ObjectOutputStream {
     	public void setStreamFactory(InputStreamFactory streamFactory) {
     		this.isf = streamFactory;
     	}
+    	
+    	public void setOwnedStreamFactory(InputStreamFactory streamFactory) {
+    		// the factory is always freed on close
+    		setStreamFactory(streamFactory);
+    	}
 
 		@Override
 		public void close() throws IOException {
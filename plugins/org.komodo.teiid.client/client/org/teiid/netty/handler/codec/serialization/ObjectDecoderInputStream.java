@@ -22,12 +22,8 @@
  */
 package org.teiid.netty.handler.codec.serialization;
 
-import java.io.BufferedInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInput;
@@ -35,8 +31,11 @@ import java.io.ObjectInputStream;
 import java.io.OutputStream;
 import java.io.StreamCorruptedException;
 import java.util.List;
-import org.teiid.core.types.InputStreamFactory;
+import org.teiid.common.buffer.FileStoreInputStreamFactory;
+import org.teiid.common.buffer.StorageManager;
+import org.teiid.common.buffer.impl.FileStorageManager;
 import org.teiid.core.types.InputStreamFactory.StreamFactoryReference;
+import org.teiid.core.types.Streamable;
 import org.teiid.core.util.AccessibleBufferedInputStream;
 import org.teiid.core.util.ExternalizeUtil;
 import org.teiid.core.util.ObjectConverterUtil;
@@ -58,6 +57,9 @@ public class ObjectDecoderInputStream extends ObjectInputStream {
     private final DataInput dis;
     private final ClassLoader classLoader;
     private final int maxObjectSize;
+    // only kept for the life of the channel when classes are resolved through an explicit loader
+    private final CompactObjectInputStream.ClassCache classCache;
+    private StorageManager storageManager = FileStorageManager.getInstance();
 
     private int remaining;
     private boolean foundLength;
@@ -89,6 +91,8 @@ public class ObjectDecoderInputStream extends ObjectInputStream {
     private int streamIndex;
     private OutputStream stream;
     private List<StreamFactoryReference> streams;
+    // buffer for reading the rest of a chunk once the input buffer is drained
+    private byte[] chunk;
 
     public ObjectDecoderInputStream(AccessibleBufferedInputStream in, ClassLoader classLoader, int maxObjectSize) throws SecurityException, IOException {
     	super();
@@ -96,6 +100,7 @@ public class ObjectDecoderInputStream extends ObjectInputStream {
     	this.dis = new DataInputStream(in);
         this.classLoader = classLoader;
         this.maxObjectSize = maxObjectSize;
+        this.classCache = classLoader != null ? new CompactObjectInputStream.ClassCache() : null;
     }
     
     @Override
@@ -114,7 +119,8 @@ public class ObjectDecoderInputStream extends ObjectInputStream {
 	    		}
 	        }
 	        foundLength = false;
-	        CompactObjectInputStream cois = new CompactObjectInputStream(subStream, classLoader);
+	        CompactObjectInputStream cois = new CompactObjectInputStream(subStream, classLoader,
+	        		classCache != null ? classCache : new CompactObjectInputStream.ClassCache());
 	        result = cois.readObject();
 	        streams = ExternalizeUtil.readList(cois, StreamFactoryReference.class);
 	        streamIndex = 0;
@@ -122,30 +128,17 @@ public class ObjectDecoderInputStream extends ObjectInputStream {
     	while (streamIndex < streams.size()) {
     		if (!foundLength) {
     			clearRemaining();
-	        	remaining = dis.readShort();
+	        	// chunks are written with an unsigned length of up to 2^16 - 2 bytes
+	        	remaining = dis.readUnsignedShort();
 	        	foundLength = true;
-		        if (remaining < 0) {
-		        	throw new StreamCorruptedException("Invalid stream chunk length"); //$NON-NLS-1$
-		        }
     		}
 	        if (stream == null) {
-	        	final File f = File.createTempFile("teiid", null); //$NON-NLS-1$
+	        	// small streams stay in memory, larger ones are spilled by the storage manager.
+	        	// the storage is released when the lob is freed or no longer referenced.
+	        	FileStoreInputStreamFactory factory = new FileStoreInputStreamFactory(storageManager.createFileStore("inline"), Streamable.ENCODING); //$NON-NLS-1$
 		        StreamFactoryReference sfr = streams.get(streamIndex);
-		        sfr.setStreamFactory(new InputStreamFactory() {
-					
-					@Override
-					public InputStream getInputStream() throws IOException {
-						return new BufferedInputStream(new FileInputStream(f)) {
-							@Override
-							protected void finalize() throws Throwable {
-								super.finalize();
-								f.delete();
-							}
-						};
-					}
-					
-				});
-		        this.stream = new FileOutputStream(f);
+		        sfr.setOwnedStreamFactory(factory);
+		        this.stream = factory.getOuputStream();
 	        }
         	foundLength = false;
 	        if (remaining != 0) {
@@ -156,7 +149,11 @@ public class ObjectDecoderInputStream extends ObjectInputStream {
 					remaining -= available;
 	        	}
 				if (remaining > 0) {
-					ObjectConverterUtil.write(this.stream, in, in.getBuffer(), remaining, false);
+					if (chunk == null) {
+						chunk = new byte[in.getBuffer().length];
+					}
+					// the sub stream reads no more than the remaining chunk and counts down as it goes
+					ObjectConverterUtil.write(this.stream, subStream, chunk, -1, false);
 				}
 				continue;
 	        }
@@ -171,6 +168,21 @@ public class ObjectDecoderInputStream extends ObjectInputStream {
         return toReturn;
     }
     
+    /**
+     * @return the manager of the storage of inline streams
+     */
+    public StorageManager getStorageManager() {
+        return storageManager;
+    }
+
+    /**
+     * @param storageManager the manager of the storage of inline streams,
+     *          which is {@link FileStorageManager#getInstance()} by default
+     */
+    public void setStorageManager(StorageManager storageManager) {
+        this.storageManager = storageManager;
+    }
+
     void clearRemaining() throws IOException {
     	while (remaining > 0) {
     		remaining -= in.skip(remaining);
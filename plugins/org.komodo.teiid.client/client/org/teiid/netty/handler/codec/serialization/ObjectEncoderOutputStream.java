@@ -45,6 +45,8 @@ public class ObjectEncoderOutputStream extends ObjectOutputStream {
 
     private final DataOutputStream out;
 	private MultiArrayOutputStream baos;
+	// buffer for the chunks of inline streams, kept for the next message
+	private byte[] chunk;
     
     public ObjectEncoderOutputStream(DataOutputStream out, int initialBufferSize) throws SecurityException, IOException {
     	super();
@@ -71,7 +73,9 @@ public class ObjectEncoderOutputStream extends ObjectOutputStream {
         
     	if (!oout.getStreams().isEmpty()) {
     		baos.reset(0);
-    		byte[] chunk = new byte[(1 << 16)];
+    		if (chunk == null) {
+    			chunk = new byte[(1 << 16)];
+    		}
 	        for (InputStream is : oout.getStreams()) {
 	        	while (true) {
 		        	int bytes = is.read(chunk, 2, chunk.length - 2);
@@ -0,0 +1,323 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.common.buffer.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.komodo.utils.KLog;
+import org.teiid.common.buffer.FileStore;
+import org.teiid.common.buffer.StorageManager;
+import org.teiid.core.util.PropertiesUtils;
+
+/**
+ * A {@link StorageManager} whose {@link FileStore}s are held in memory
+ * until they grow beyond a per store limit or the memory shared by all
+ * of the stores is exhausted. They are then spilled to a file in the
+ * storage directory and read and written with positional file channel I/O.
+ */
+public class FileStorageManager implements StorageManager {
+
+	/**
+	 * Default maximum number of bytes held in memory by all the stores of a manager
+	 */
+	public static final int DEFAULT_MAX_MEMORY = PropertiesUtils.getIntProperty(System.getProperties(), "org.teiid.storageMaxMemory", 1 << 25); //$NON-NLS-1$
+
+	/**
+	 * Default maximum number of bytes held in memory by a single store
+	 */
+	public static final int DEFAULT_MAX_STORE_MEMORY = PropertiesUtils.getIntProperty(System.getProperties(), "org.teiid.storageMaxStoreMemory", 1 << 20); //$NON-NLS-1$
+
+	/**
+	 * Default directory of the files of spilled stores
+	 */
+	public static final String DEFAULT_DIRECTORY = System.getProperty("org.teiid.storageDirectory", System.getProperty("java.io.tmpdir")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final int INITIAL_STORE_MEMORY = 1 << 10;
+
+	private static volatile FileStorageManager instance;
+
+	private final class SpillingFileStore extends FileStore {
+
+		private final String name;
+		private byte[] memory = new byte[0];
+		private long length;
+		private File file;
+		private RandomAccessFile randomAccessFile;
+		private FileChannel channel;
+
+		public SpillingFileStore(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Grow the memory to hold at least the required length, if allowed
+		 * @return false if the store should be spilled instead
+		 */
+		private boolean ensureMemory(long requiredLength) {
+			if (requiredLength <= memory.length) {
+				return true;
+			}
+			int maxLength = maxStoreMemory;
+			if (requiredLength > maxLength) {
+				return false;
+			}
+			int newLength = Math.max(memory.length, INITIAL_STORE_MEMORY);
+			while (newLength < requiredLength) {
+				newLength <<= 1;
+			}
+			newLength = Math.min(newLength, maxLength);
+			if (!reserveMemory(newLength - memory.length)) {
+				return false;
+			}
+			memory = Arrays.copyOf(memory, newLength);
+			return true;
+		}
+
+		private void spill() throws IOException {
+			File dir = directory;
+			if (!dir.exists()) {
+				dir.mkdirs();
+			}
+			file = File.createTempFile("teiid_" + name, ".tmp", dir); //$NON-NLS-1$ //$NON-NLS-2$
+			RandomAccessFile raf = null;
+			try {
+				raf = new RandomAccessFile(file, "rw"); //$NON-NLS-1$
+				ByteBuffer bb = ByteBuffer.wrap(memory, 0, (int)length);
+				while (bb.hasRemaining()) {
+					raf.getChannel().write(bb, bb.position());
+				}
+			} catch (IOException e) {
+				if (raf != null) {
+					raf.close();
+				}
+				file.delete();
+				file = null;
+				throw e;
+			}
+			randomAccessFile = raf;
+			channel = raf.getChannel();
+			usedMemory.addAndGet(-memory.length);
+			memory = null;
+			spilled.incrementAndGet();
+		}
+
+		@Override
+		protected synchronized int readWrite(long fileOffset, byte[] b, int offSet,
+				int length, boolean write) throws IOException {
+			if (!write) {
+				if (fileOffset >= this.length) {
+					return -1;
+				}
+				length = (int)Math.min(length, this.length - fileOffset);
+				if (channel == null) {
+					System.arraycopy(memory, (int)fileOffset, b, offSet, length);
+					return length;
+				}
+				return channel.read(ByteBuffer.wrap(b, offSet, length), fileOffset);
+			}
+			long requiredLength = fileOffset + length;
+			if (channel == null && !ensureMemory(requiredLength)) {
+				spill();
+			}
+			if (channel == null) {
+				System.arraycopy(b, offSet, memory, (int)fileOffset, length);
+			} else {
+				length = channel.write(ByteBuffer.wrap(b, offSet, length), fileOffset);
+				requiredLength = fileOffset + length;
+			}
+			this.length = Math.max(this.length, requiredLength);
+			return length;
+		}
+
+		@Override
+		public synchronized void setLength(long length) throws IOException {
+			if (channel == null && !ensureMemory(length)) {
+				spill();
+			}
+			if (channel == null) {
+				if (length > this.length) {
+					Arrays.fill(memory, (int)this.length, (int)length, (byte)0);
+				}
+			} else {
+				randomAccessFile.setLength(length);
+			}
+			this.length = length;
+		}
+
+		@Override
+		public synchronized long getLength() {
+			return length;
+		}
+
+		/**
+		 * @return true if the store has been spilled to a file
+		 */
+		public synchronized boolean isSpilled() {
+			return channel != null;
+		}
+
+		@Override
+		protected synchronized void removeDirect() {
+			removed.incrementAndGet();
+			if (memory != null) {
+				usedMemory.addAndGet(-memory.length);
+				memory = null;
+			}
+			if (channel != null) {
+				try {
+					randomAccessFile.close();
+				} catch (IOException e) {
+					KLog.getLogger().error("Error closing " + file, e); //$NON-NLS-1$
+				}
+				channel = null;
+				randomAccessFile = null;
+			}
+			if (file != null && !file.delete() && file.exists()) {
+				KLog.getLogger().error("Could not delete " + file); //$NON-NLS-1$
+			}
+			file = null;
+			length = 0;
+		}
+	}
+
+	/*
+	 * The settings may be changed while the manager is in use, such as on the shared instance,
+	 * and apply to the memory and files of stores from then on
+	 */
+	private volatile File directory = new File(DEFAULT_DIRECTORY);
+	private volatile int maxMemory = DEFAULT_MAX_MEMORY;
+	private volatile int maxStoreMemory = DEFAULT_MAX_STORE_MEMORY;
+	private AtomicLong usedMemory = new AtomicLong();
+	private AtomicInteger created = new AtomicInteger();
+	private AtomicInteger removed = new AtomicInteger();
+	private AtomicInteger spilled = new AtomicInteger();
+
+	/**
+	 * @return a manager, shared by all callers, using the default settings
+	 */
+	public static FileStorageManager getInstance() {
+		FileStorageManager result = instance;
+		if (result == null) {
+			synchronized (FileStorageManager.class) {
+				result = instance;
+				if (result == null) {
+					result = new FileStorageManager();
+					instance = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void initialize() throws IOException {
+		File dir = directory;
+		if (!dir.exists()) {
+			dir.mkdirs();
+		}
+		if (!dir.isDirectory() || !dir.canWrite()) {
+			throw new IOException("Cannot write to storage directory " + dir); //$NON-NLS-1$
+		}
+	}
+
+	private boolean reserveMemory(long bytes) {
+		int max = maxMemory;
+		while (true) {
+			long used = usedMemory.get();
+			if (used + bytes > max) {
+				return false;
+			}
+			if (usedMemory.compareAndSet(used, used + bytes)) {
+				return true;
+			}
+		}
+	}
+
+	@Override
+	public FileStore createFileStore(String name) {
+		created.incrementAndGet();
+		return new SpillingFileStore(name);
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * @param directory where the files of spilled stores are created
+	 */
+	public void setDirectory(File directory) {
+		this.directory = directory;
+	}
+
+	public int getMaxMemory() {
+		return maxMemory;
+	}
+
+	/**
+	 * @param maxMemory maximum number of bytes held in memory by all the stores
+	 */
+	public void setMaxMemory(int maxMemory) {
+		this.maxMemory = maxMemory;
+	}
+
+	public int getMaxStoreMemory() {
+		return maxStoreMemory;
+	}
+
+	/**
+	 * @param maxStoreMemory maximum number of bytes held in memory by a single store
+	 */
+	public void setMaxStoreMemory(int maxStoreMemory) {
+		this.maxStoreMemory = maxStoreMemory;
+	}
+
+	/**
+	 * @return number of bytes currently held in memory by the stores
+	 */
+	public long getUsedMemory() {
+		return usedMemory.get();
+	}
+
+	public int getCreated() {
+		return created.get();
+	}
+
+	public int getRemoved() {
+		return removed.get();
+	}
+
+	/**
+	 * @return number of stores that have been spilled to a file
+	 */
+	public int getSpilled() {
+		return spilled.get();
+	}
+
+}
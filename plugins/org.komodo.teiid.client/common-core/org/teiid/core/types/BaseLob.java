@@ -38,6 +38,7 @@ public class BaseLob implements Externalizable, StreamFactoryReference {
 	
 	private static final long serialVersionUID = -1586959324208959519L;
 	private InputStreamFactory streamFactory;
+	private transient boolean ownsStreamFactory;
 	private Charset charset;
 	
 	public BaseLob() {
@@ -50,6 +51,13 @@ public class BaseLob implements Externalizable, StreamFactoryReference {
 	
 	public void setStreamFactory(InputStreamFactory streamFactory) {
 		this.streamFactory = streamFactory;
+		this.ownsStreamFactory = false;
+	}
+	
+	@Override
+	public void setOwnedStreamFactory(InputStreamFactory streamFactory) {
+		this.streamFactory = streamFactory;
+		this.ownsStreamFactory = true;
 	}
 
 	public InputStreamFactory getStreamFactory() throws SQLException {
@@ -76,7 +84,16 @@ public class BaseLob implements Externalizable, StreamFactoryReference {
 	}
 	
 	public void free() {
+		InputStreamFactory factory = this.streamFactory;
 		this.streamFactory = null;
+		if (ownsStreamFactory && factory != null) {
+			ownsStreamFactory = false;
+			try {
+				factory.free();
+			} catch (IOException e) {
+				// the factory is no longer reachable through this lob either way
+			}
+		}
 	}
 	
     public Reader getCharacterStream() throws SQLException {
@@ -33,14 +33,18 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.komodo.spi.annotation.AnnotationUtils;
 import org.komodo.spi.annotation.Since;
@@ -137,7 +141,26 @@ public class DataTypeManagerService implements IDataTypeManagerService {
         @Since(Version.TEIID_8_0)
         VARBINARY ("varbinary", DataTypeName.VARBINARY, BinaryType.class); //$NON-NLS-1$
 
-        private static Map<ITeiidVersion, List<DefaultDataTypes>> valueCache = new HashMap<ITeiidVersion, List<DefaultDataTypes>>();
+        /**
+         * The values applicable to a teiid version, both in declaration
+         * order and indexed by ordinal
+         */
+        private static class VersionValues {
+
+            private final List<DefaultDataTypes> values;
+
+            private final DefaultDataTypes[] byOrdinal;
+
+            public VersionValues(Set<DefaultDataTypes> applicable) {
+                this.values = Collections.unmodifiableList(new ArrayList<DefaultDataTypes>(applicable));
+                this.byOrdinal = new DefaultDataTypes[DefaultDataTypes.values().length];
+                for (DefaultDataTypes dataType : applicable) {
+                    byOrdinal[dataType.ordinal()] = dataType;
+                }
+            }
+        }
+
+        private static final ConcurrentMap<ITeiidVersion, VersionValues> valueCache = new ConcurrentHashMap<ITeiidVersion, VersionValues>();
 
         private String id;
 
@@ -241,34 +264,34 @@ public class DataTypeManagerService implements IDataTypeManagerService {
             return BLOB.equals(type) ||CLOB.equals(type) || XML.equals(type);
         }
 
+        private static VersionValues getVersionValues(ITeiidVersion teiidVersion) {
+            if (teiidVersion == null)
+                return new VersionValues(AnnotationUtils.getApplicableValues(DefaultDataTypes.class, teiidVersion));
+
+            VersionValues versionValues = valueCache.get(teiidVersion);
+            if (versionValues == null) {
+                versionValues = new VersionValues(AnnotationUtils.getApplicableValues(DefaultDataTypes.class, teiidVersion));
+                VersionValues existing = valueCache.putIfAbsent(teiidVersion, versionValues);
+                if (existing != null)
+                    versionValues = existing;
+            }
+
+            return versionValues;
+        }
+
         /**
          * Use instead of values() since it will only return the enumerated values
          * that conform to the given teiid version.
          *
-         * This is going to be used an awful lot so reduce the need to call on
-         * {@link AnnotationUtils} which contains reflection code which is slow
-         * by caching the results.
+         * This is going to be used an awful lot so the values are determined
+         * once for each teiid version and cached.
          *
          * @param teiidVersion
          *
-         * @return set of values for teiid version
+         * @return unmodifiable list of values for teiid version
          */
         public static List<DefaultDataTypes> getValues(ITeiidVersion teiidVersion) {
-            List<DefaultDataTypes> appDataTypes = valueCache.get(teiidVersion);
-
-            if (appDataTypes == null) {
-                appDataTypes = new ArrayList<DefaultDataTypes>();
-                for (DefaultDataTypes dataType : DefaultDataTypes.values()) {
-                    if (! AnnotationUtils.isApplicable(dataType, teiidVersion))
-                        continue;
-
-                    appDataTypes.add(dataType);
-                }
-
-                valueCache.put(teiidVersion, appDataTypes);
-            }
-
-            return appDataTypes;
+            return getVersionValues(teiidVersion).values;
         }
 
         /**
@@ -279,27 +302,41 @@ public class DataTypeManagerService implements IDataTypeManagerService {
          * @return enum value for ordinal
          */
         public static DefaultDataTypes valueOf(ITeiidVersion teiidVersion, int ordinal) {
-            for (DefaultDataTypes dataType : DefaultDataTypes.values()) {
-                if (! AnnotationUtils.isApplicable(dataType, teiidVersion))
-                    continue;
+            DefaultDataTypes[] byOrdinal = getVersionValues(teiidVersion).byOrdinal;
+            if (ordinal < 0 || ordinal >= byOrdinal.length)
+                return null;
 
-                if (dataType.ordinal() == ordinal)
-                    return dataType;
-            }
-
-            return null;
+            return byOrdinal[ordinal];
         }
     }
 
+    private static ConcurrentMap<ITeiidVersion, DataTypeManagerService> instances = new ConcurrentHashMap<ITeiidVersion, DataTypeManagerService>();
+
+    private final ITeiidVersion teiidVersion;
+
     /**
      * Doubly-nested map of String srcType --> Map of String targetType -->
      * Transform
+     *
+     * The inner maps are replaced rather than modified so can be
+     * read without locking.
      */
-    private static Map<DefaultDataTypes, Map<DefaultDataTypes, Transform>> transforms = new HashMap<DefaultDataTypes, Map<DefaultDataTypes, Transform>>(128);
+    private final ConcurrentMap<DefaultDataTypes, Map<DefaultDataTypes, Transform>> transforms = new ConcurrentHashMap<DefaultDataTypes, Map<DefaultDataTypes, Transform>>(128);
 
-    private static Map<ITeiidVersion, DataTypeManagerService> instances = new HashMap<ITeiidVersion, DataTypeManagerService>();
+    /**
+     * Lower case names and aliases of the applicable data types
+     */
+    private final Map<String, DefaultDataTypes> typesByName = new HashMap<String, DefaultDataTypes>();
 
-    private final ITeiidVersion teiidVersion;
+    /**
+     * Classes and array classes of the applicable data types
+     */
+    private final Map<Class<?>, DefaultDataTypes> typesByClass = new HashMap<Class<?>, DefaultDataTypes>();
+
+    /**
+     * Applicable data types of the data type names
+     */
+    private final Map<DataTypeName, DefaultDataTypes> typesByDataTypeName = new EnumMap<DataTypeName, DefaultDataTypes>(DataTypeName.class);
 
     /**
      * @param teiidVersion 
@@ -308,8 +345,14 @@ public class DataTypeManagerService implements IDataTypeManagerService {
     public static DataTypeManagerService getInstance(ITeiidVersion teiidVersion) {
         DataTypeManagerService instance = instances.get(teiidVersion);
         if (instance == null) {
-            instance = new DataTypeManagerService(teiidVersion);
-            instances.put(teiidVersion, instance);
+            // Only construct one instance per version
+            synchronized (instances) {
+                instance = instances.get(teiidVersion);
+                if (instance == null) {
+                    instance = new DataTypeManagerService(teiidVersion);
+                    instances.put(teiidVersion, instance);
+                }
+            }
         }
 
         return instance;
@@ -328,9 +371,46 @@ public class DataTypeManagerService implements IDataTypeManagerService {
      */
     private DataTypeManagerService(ITeiidVersion teiidVersion) {
         this.teiidVersion = teiidVersion;
+        loadDataTypeIndexes();
         loadBasicTransforms();
     }
 
+    /**
+     * Index the applicable data types so that they can be found without
+     * scanning. Where more than one data type has the same name, alias
+     * or class the first declared is indexed.
+     */
+    private void loadDataTypeIndexes() {
+        for (DefaultDataTypes defaultDataType : DefaultDataTypes.getValues(teiidVersion)) {
+            addIfAbsent(typesByName, toLowerCase(defaultDataType.getId()), defaultDataType);
+            for (DataTypeAliases alias : DataTypeAliases.values()) {
+                if (defaultDataType.hasAlias(alias))
+                    addIfAbsent(typesByName, toLowerCase(alias.getId()), defaultDataType);
+            }
+
+            addIfAbsent(typesByClass, defaultDataType.getTypeClass(), defaultDataType);
+            addIfAbsent(typesByClass, defaultDataType.getTypeArrayClass(), defaultDataType);
+        }
+
+        for (DataTypeName dataTypeName : DataTypeName.values()) {
+            for (DefaultDataTypes defaultDataType : DefaultDataTypes.getValues(teiidVersion)) {
+                if (defaultDataType.getDataTypeName().equals(dataTypeName) || defaultDataType.hasAlias(dataTypeName.name())) {
+                    typesByDataTypeName.put(dataTypeName, defaultDataType);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static <K> void addIfAbsent(Map<K, DefaultDataTypes> index, K key, DefaultDataTypes defaultDataType) {
+        if (! index.containsKey(key))
+            index.put(key, defaultDataType);
+    }
+
+    private static String toLowerCase(String name) {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+
     /**
      * Load all basic {@link Transform}s into the  This standard
      * set is always installed but may be overridden.
@@ -528,44 +608,21 @@ public class DataTypeManagerService implements IDataTypeManagerService {
     }
 
     private DefaultDataTypes findDefaultDataType(String id) {
-        for (DefaultDataTypes defaultDataType : DefaultDataTypes.getValues(teiidVersion)) {
-            if (defaultDataType.getId().equalsIgnoreCase(id)) {
-                return defaultDataType;
-            }
-
-            if(defaultDataType.hasAlias(id)) {
-                return defaultDataType;
-            }
-        }
+        if (id == null)
+            return null;
 
-        return null;
+        return typesByName.get(toLowerCase(id));
     }
     
     private DefaultDataTypes findDefaultDataType(DataTypeName dataTypeName) {
         ArgCheck.isTrue(AnnotationUtils.isApplicable(dataTypeName, teiidVersion),
                                     Messages.getString(Messages.ERR.ERR_100_001_0001, teiidVersion, dataTypeName));
 
-        for (DefaultDataTypes defaultDataType : DefaultDataTypes.getValues(teiidVersion)) {
-            if (defaultDataType.getDataTypeName().equals(dataTypeName)) {
-                return defaultDataType;
-            }
-
-            if(defaultDataType.hasAlias(dataTypeName.name())) {
-                return defaultDataType;
-            }
-        }
-
-        return null;
+        return typesByDataTypeName.get(dataTypeName);
     }
 
     private DefaultDataTypes findDefaultDataType(Class<?> typeClass) {
-        for (DefaultDataTypes defaultDataType : DefaultDataTypes.getValues(teiidVersion)) {
-            if (defaultDataType.getTypeClass().equals(typeClass) || defaultDataType.getTypeArrayClass().equals(typeClass)) {
-                return defaultDataType;
-            }
-        }
-
-        return null;
+        return typesByClass.get(typeClass);
     }
 
     public static boolean isArrayType(String name) {
@@ -913,12 +970,16 @@ public class DataTypeManagerService implements IDataTypeManagerService {
         DefaultDataTypes targetDataType = findDefaultDataType(targetName);
         checkDataType(targetDataType, targetName);
 
-        Map<DefaultDataTypes, Transform> innerMap = transforms.get(sourceDataType);
-        if (innerMap == null) {
-            innerMap = new LinkedHashMap<DefaultDataTypes, Transform>();
-            transforms.put(sourceDataType, innerMap);
+        synchronized (transforms) {
+            Map<DefaultDataTypes, Transform> innerMap = transforms.get(sourceDataType);
+            if (innerMap == null) {
+                innerMap = new LinkedHashMap<DefaultDataTypes, Transform>();
+            } else {
+                innerMap = new LinkedHashMap<DefaultDataTypes, Transform>(innerMap);
+            }
+            innerMap.put(targetDataType, transform);
+            transforms.put(sourceDataType, Collections.unmodifiableMap(innerMap));
         }
-        innerMap.put(targetDataType, transform);
     }
 
     @SuppressWarnings("unchecked")
@@ -53,6 +53,13 @@ public abstract class InputStreamFactory implements Source {
 		
 		void setStreamFactory(InputStreamFactory inputStreamFactory);
 		
+		/**
+		 * Set a stream factory that nothing but this reference uses, so
+		 * that it is freed as soon as this reference is freed
+		 * @param inputStreamFactory
+		 */
+		void setOwnedStreamFactory(InputStreamFactory inputStreamFactory);
+		
 	}
 	
 	private String systemId;
@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.core.util;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set of words that can also be searched for a word
+ * regardless of its case.
+ *
+ * {@link #containsIgnoreCase(String)} hashes and compares the characters
+ * of the word directly rather than first converting its case, so testing
+ * a word does not create any objects.
+ */
+public final class CaseInsensitiveWordSet extends AbstractSet<String> {
+
+    private final String[] words;
+
+    /**
+     * Open addressed table of the words, positioned by their case insensitive hash
+     */
+    private final String[] table;
+
+    /**
+     * @param words
+     */
+    public CaseInsensitiveWordSet(Collection<String> words) {
+        ArgCheck.isNotNull(words);
+        this.words = new LinkedHashSet<String>(words).toArray(new String[0]);
+
+        int capacity = 4;
+        while (capacity < this.words.length * 2)
+            capacity <<= 1;
+
+        this.table = new String[capacity];
+        for (String word : this.words) {
+            ArgCheck.isNotNull(word);
+            int index = hashIgnoreCase(word) & (capacity - 1);
+            while (table[index] != null)
+                index = (index + 1) & (capacity - 1);
+
+            table[index] = word;
+        }
+    }
+
+    /**
+     * Compatible with {@link String#equalsIgnoreCase(String)} in that
+     * words equal ignoring case have the same hash
+     */
+    private static int hashIgnoreCase(String word) {
+        int h = 0;
+        for (int i = 0; i < word.length(); ++i) {
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(word.charAt(i)));
+        }
+
+        // Spread the hash so that the high bits influence the index
+        h ^= (h >>> 20) ^ (h >>> 12);
+        return h ^ (h >>> 7) ^ (h >>> 4);
+    }
+
+    private String find(String word, boolean ignoreCase) {
+        int mask = table.length - 1;
+        int index = hashIgnoreCase(word) & mask;
+        String candidate;
+        while ((candidate = table[index]) != null) {
+            if (ignoreCase ? candidate.equalsIgnoreCase(word) : candidate.equals(word))
+                return candidate;
+
+            index = (index + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * @param word
+     *
+     * @return true if this set contains the word, ignoring case
+     */
+    public boolean containsIgnoreCase(String word) {
+        if (word == null)
+            return false;
+
+        return find(word, true) != null;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (! (o instanceof String))
+            return false;
+
+        return find((String) o, false) != null;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < words.length;
+            }
+
+            @Override
+            public String next() {
+                if (index >= words.length)
+                    throw new NoSuchElementException();
+
+                return words[index++];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return words.length;
+    }
+}
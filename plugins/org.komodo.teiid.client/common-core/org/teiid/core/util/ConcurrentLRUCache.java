@@ -0,0 +1,273 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.core.util;
+
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe, size bounded cache for use by many threads at once.
+ *
+ * The entries are spread over a number of independently locked
+ * {@link LRUCache} segments so that threads using different keys rarely
+ * contend for the same lock. Each segment evicts its own least recently
+ * used entry once full, so eviction is least recently used per segment
+ * rather than across the whole cache.
+ *
+ * Counts of hits, misses and evictions are kept for each cache.
+ *
+ * As with {@link LRUCache}, a null key is allowed and is kept in the
+ * first segment.
+ */
+public class ConcurrentLRUCache<K, V> {
+
+    /**
+     * Default number of segments
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * Snapshot of the statistics of a cache
+     */
+    public static class Statistics {
+
+        private final int size;
+
+        private final int maxSize;
+
+        private final long hitCount;
+
+        private final long missCount;
+
+        private final long evictionCount;
+
+        Statistics(int size, int maxSize, long hitCount, long missCount, long evictionCount) {
+            this.size = size;
+            this.maxSize = maxSize;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        /**
+         * @return number of entries in the cache
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return maximum number of entries held by the cache
+         */
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        /**
+         * @return number of lookups that found an entry
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return number of lookups that did not find an entry
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * @return number of entries evicted to keep the cache within its maximum size
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return ratio of hits to total lookups or 0 if there have been no lookups
+         */
+        public double getHitRatio() {
+            long requests = hitCount + missCount;
+            if (requests == 0)
+                return 0;
+
+            return (double) hitCount / requests;
+        }
+
+        @Override
+        public String toString() {
+            return "size=" + size + ", maxSize=" + maxSize + ", hits=" + hitCount //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                        + ", misses=" + missCount + ", evictions=" + evictionCount; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    private class Segment extends LRUCache<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        public Segment(int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Entry<K, V> eldest) {
+            boolean evict = super.removeEldestEntry(eldest);
+            if (evict)
+                evictionCount.incrementAndGet();
+
+            return evict;
+        }
+    }
+
+    private final Segment[] segments;
+
+    private final int maxSize;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * @param maxSize maximum number of entries held by the cache
+     */
+    public ConcurrentLRUCache(int maxSize) {
+        this(maxSize, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * @param maxSize maximum number of entries held by the cache
+     * @param concurrencyLevel estimated number of threads concurrently using the cache
+     */
+    @SuppressWarnings( "unchecked" )
+    public ConcurrentLRUCache(int maxSize, int concurrencyLevel) {
+        ArgCheck.isPositive(maxSize);
+        ArgCheck.isPositive(concurrencyLevel);
+
+        // Use a power of 2 number of segments, no more than there are entries
+        int segmentCount = 1;
+        while (segmentCount < concurrencyLevel && segmentCount * 2 <= maxSize)
+            segmentCount <<= 1;
+
+        this.maxSize = maxSize;
+        this.segments = new ConcurrentLRUCache.Segment[segmentCount];
+        for (int i = 0; i < segmentCount; ++i) {
+            // Distribute the remainder over the first segments
+            int segmentSize = maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0);
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    private Segment segmentFor(Object key) {
+        if (key == null)
+            return segments[0];
+
+        int h = key.hashCode();
+        // Spread the hash so that the high bits influence the segment
+        h ^= (h >>> 20) ^ (h >>> 12);
+        h ^= (h >>> 7) ^ (h >>> 4);
+        return segments[h & (segments.length - 1)];
+    }
+
+    /**
+     * @param key
+     * @return the value cached against the key or null
+     */
+    public V get(Object key) {
+        Segment segment = segmentFor(key);
+        V value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+
+        if (value == null)
+            missCount.incrementAndGet();
+        else
+            hitCount.incrementAndGet();
+
+        return value;
+    }
+
+    /**
+     * @param key
+     * @param value
+     * @return the value previously cached against the key or null
+     */
+    public V put(K key, V value) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    /**
+     * @param key
+     * @return the value that was cached against the key or null
+     */
+    public V remove(Object key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    /**
+     * Remove all entries. The statistics are not reset.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * @return number of entries in the cache
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return maximum number of entries held by the cache
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return snapshot of the statistics of this cache
+     */
+    public Statistics getStatistics() {
+        return new Statistics(size(), maxSize, hitCount.get(), missCount.get(), evictionCount.get());
+    }
+}
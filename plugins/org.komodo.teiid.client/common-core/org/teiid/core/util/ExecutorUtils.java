@@ -50,6 +50,18 @@ public class ExecutorUtils {
         return tpe;
     }
     
+    /**
+     * Creates an unbounded thread pool with named daemon threads that will expire after 60 seconds of
+     * inactivity.
+     * @param name
+     * @return
+     */
+    public static ExecutorService newCachedThreadPool(String name) {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+                                      60L, TimeUnit.SECONDS,
+                                      new SynchronousQueue<Runnable>(), new NamedThreadFactory(name));
+    }
+    
     private static Executor direct = new Executor() {
 		
 		@Override
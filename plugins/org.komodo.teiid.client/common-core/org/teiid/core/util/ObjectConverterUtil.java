@@ -126,7 +126,7 @@ public class ObjectConverterUtil {
 	        		count = 0;
 	        	}
 	        	if (length != -1) {
-	        		readLength = Math.min(length - writen, l_buffer.length - count);
+	        		readLength = Math.min(length - writen - count, l_buffer.length - count);
 	        	} else {
 	        		readLength = l_buffer.length - count;
 	        	}
@@ -179,7 +179,7 @@ public class ObjectConverterUtil {
 	        		count = 0;
 	        	}
 	        	if (length != -1) {
-	        		readLength = Math.min(length - writen, l_buffer.length - count);
+	        		readLength = Math.min(length - writen - count, l_buffer.length - count);
 	        	} else {
 	        		readLength = l_buffer.length - count;
 	        	}
@@ -70,8 +70,6 @@ import org.teiid.query.function.FunctionDescriptor;
 import org.teiid.query.function.JSONFunctionMethods.JSONBuilder;
 import org.teiid.query.function.source.XMLSystemFunctions;
 import org.teiid.query.function.source.XMLSystemFunctions.XmlConcat;
-import org.teiid.query.parser.TeiidNodeFactory.ASTNodes;
-import org.teiid.query.parser.TeiidParser;
 import org.teiid.query.sql.lang.AbstractCompareCriteria;
 import org.teiid.query.sql.lang.AbstractSetCriteria;
 import org.teiid.query.sql.lang.CollectionValueIterator;
@@ -418,30 +416,22 @@ public class Evaluator {
 	private boolean match(String pattern, char escape, CharSequence search, MatchMode mode)
 		throws Exception {
 
-		Pattern patternRegex = null;
 		switch (mode) {
 		case LIKE:
-			patternRegex = LIKE_TO_REGEX.translate(pattern, escape);
-			break;
+			return LIKE_TO_REGEX.getMatcher(pattern, escape).matches(search);
 		case SIMILAR:
-			patternRegex = SIMILAR_TO_REGEX.translate(pattern, escape);
-			break;
+			return SIMILAR_TO_REGEX.getMatcher(pattern, escape).matches(search);
 		case REGEX:
-			patternRegex = MatchCriteria.getPattern(pattern, pattern, 0);
-			break;
+			Matcher matcher = MatchCriteria.getPattern(pattern, pattern, 0).matcher(search);
+			return matcher.find();
 		default:
 			throw new AssertionError();
 		}
-		
-        Matcher matcher = patternRegex.matcher(search);
-        return matcher.find();
 	}
 
 	private Boolean evaluate(AbstractSetCriteria criteria)
 		throws Exception {
 
-	    TeiidParser teiidParser = criteria.getTeiidParser();
-
 		// Evaluate expression
 		Object leftValue = null;
 		try {
@@ -457,18 +447,16 @@ public class Evaluator {
         	SetCriteria set = (SetCriteria)criteria;
     		// Shortcut if null
     		if(leftValue == null) {
-    			if (!set.getValues().isEmpty()) {
+    			boolean empty = set.isAllConstants() ? set.hasNoConstants() : set.getValues().isEmpty();
+    			if (!empty) {
     				return null;
     			}
     			return criteria.isNegated();
         	}
         	if (set.isAllConstants()) {
-        	    Constant c = teiidParser.createASTNode(ASTNodes.CONSTANT);
-        	    c.setValue(leftValue);
-        	    c.setType(criteria.getExpression().getType());
-        		boolean exists = set.getValues().contains(c);
+        		boolean exists = set.containsConstantValue(leftValue);
         		if (!exists) {
-        			if (set.getValues().contains(Constant.getNullConstant(teiidParser))) {
+        			if (set.containsNullConstant()) {
         				return null;
         			}
         			return criteria.isNegated();
@@ -26,6 +26,7 @@ import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 
 import org.komodo.spi.runtime.version.ITeiidVersion;
@@ -69,6 +70,128 @@ public class FunctionDescriptor implements Serializable, Cloneable, IFunctionDes
     // the real VM descriptor for execution.
     private transient Method invocationMethod;
 
+    // Derived from the invocation method and the fields above on first
+    // invocation, so is reset whenever one of those fields is changed.
+    private transient volatile Invoker invoker;
+
+	/**
+	 * Calls the invocation method of a descriptor. Everything about
+	 * adapting the argument values to the parameters of the method
+	 * that does not depend upon the values themselves is determined
+	 * once, when the invoker is created, rather than on every call.
+	 */
+	private static final class Invoker {
+		private final Method invocationMethod;
+		private final boolean varArgs;
+		private final boolean varArgArrayParam;
+		private final int parameterCount;
+		/** the array type of the var arg parameter */
+		private final Class<?> varArgType;
+		/** the component type of the var arg parameter or null if it is Object */
+		private final Class<?> varArgComponentType;
+		/** whether each argument is a wrapped binary value or null if none are */
+		private final boolean[] binaryArgs;
+		private final boolean binaryVarArg;
+		/** whether a result of exactly the return type needs no conversion */
+		private final boolean runtimeReturnType;
+
+		Invoker(FunctionDescriptor fd) {
+			this.invocationMethod = fd.invocationMethod;
+			if (Modifier.isPublic(invocationMethod.getModifiers())
+					&& Modifier.isPublic(invocationMethod.getDeclaringClass().getModifiers())) {
+				try {
+					// accessible to any caller anyway, so only skips the access check on each call
+					this.invocationMethod.setAccessible(true);
+				} catch (SecurityException e) {
+					// invoke with access checks
+				}
+			}
+			Class<?>[] parameterTypes = invocationMethod.getParameterTypes();
+			this.varArgs = fd.method.isVarArgs();
+			this.varArgArrayParam = fd.calledWithVarArgArrayParam;
+			this.parameterCount = parameterTypes.length;
+			if (varArgs) {
+				int index = varArgArrayParam ? fd.types.length - 1 : parameterCount - 1;
+				this.varArgType = parameterTypes[index];
+				Class<?> componentType = varArgType.getComponentType();
+				this.varArgComponentType = componentType != Object.class ? componentType : null;
+			} else {
+				this.varArgType = null;
+				this.varArgComponentType = null;
+			}
+
+			Class<?> binaryClass = DataTypeManagerService.DefaultDataTypes.VARBINARY.getTypeClass();
+			boolean[] binary = null;
+			if (fd.hasWrappedArgs) {
+				for (int i = 0; i < fd.types.length; i++) {
+					if (fd.types[i] == binaryClass) {
+						if (binary == null) {
+							binary = new boolean[fd.types.length];
+						}
+						binary[i] = true;
+					}
+				}
+			}
+			this.binaryArgs = binary;
+			this.binaryVarArg = fd.hasWrappedArgs && fd.types.length > 0 && fd.types[fd.types.length - 1] == binaryClass;
+
+			Class<?> returnType = fd.returnType;
+			this.runtimeReturnType = returnType != null && !returnType.isArray()
+				&& returnType != String.class && returnType != Double.class && returnType != Float.class
+				&& DataTypeManagerService.getInstance(fd.teiidVersion).getDataType(returnType).getTypeClass() == returnType;
+		}
+
+		Object invoke(Object functionTarget, Object[] values) throws IllegalAccessException, InvocationTargetException {
+			if (binaryArgs != null) {
+				for (int i = 0; i < values.length; i++) {
+					Object val = values[i];
+					if (val != null && binaryArgs[i]) {
+						values[i] = ((BinaryType)val).getBytesDirect();
+					}
+				}
+			}
+			if (varArgs) {
+				if (varArgArrayParam) {
+					ArrayImpl av = (ArrayImpl)values[values.length -1];
+					if (av != null) {
+						Object[] vals = av.getValues();
+						values[values.length - 1] = vals;
+						if (binaryVarArg) {
+							vals = Arrays.copyOf(vals, vals.length);
+							for (int i = 0; i < vals.length; i++) {
+								if (vals[i] != null) {
+									vals[i] = ((BinaryType)vals[i]).getBytesDirect();
+								}
+							}
+							values[values.length - 1] = vals;
+						}
+						if (varArgComponentType != null && vals.getClass() != varArgType) {
+							values[values.length -1] = toVarArgs(vals, 0, vals.length);
+						}
+					}
+				} else {
+					Object[] newValues = Arrays.copyOf(values, parameterCount);
+					int varArgCount = values.length - parameterCount + 1;
+					if (varArgComponentType != null) {
+						newValues[parameterCount - 1] = toVarArgs(values, parameterCount - 1, varArgCount);
+					} else {
+						newValues[parameterCount - 1] = Arrays.copyOfRange(values, parameterCount - 1, values.length);
+					}
+					values = newValues;
+				}
+			}
+			return invocationMethod.invoke(functionTarget, values);
+		}
+
+		private Object toVarArgs(Object[] values, int offset, int length) {
+			Object varArgs = Array.newInstance(varArgComponentType, length);
+			for (int i = 0; i < length; i++) {
+				Array.set(varArgs, i, values[offset + i]);
+			}
+			return varArgs;
+		}
+	}
+
 	FunctionDescriptor(ITeiidVersion teiidVersion, FunctionMethod method, Class<?>[] types,
 			Class<?> outputType, Method invocationMethod,
 			boolean requiresContext) {
@@ -92,6 +215,7 @@ public class FunctionDescriptor implements Serializable, Cloneable, IFunctionDes
 	
 	public void setHasWrappedArgs(boolean hasWrappedArgs) {
 		this.hasWrappedArgs = hasWrappedArgs;
+		this.invoker = null;
 	}
 	
 	public String getSchema() {
@@ -179,6 +303,7 @@ public class FunctionDescriptor implements Serializable, Cloneable, IFunctionDes
 
     void setReturnType(Class<?> returnType) {
         this.returnType = returnType;
+        this.invoker = null;
     }
 
 	public Object getMetadataID() {
@@ -222,62 +347,22 @@ public class FunctionDescriptor implements Serializable, Cloneable, IFunctionDes
         	 throw new TeiidClientException(Messages.gs(Messages.TEIID.TEIID30382, getFullName()));
         }
         
+        Invoker invoker = this.invoker;
+        if (invoker == null) {
+        	invoker = new Invoker(this);
+        	this.invoker = invoker;
+        }
+
         // Invoke the method and return the result
         try {
-        	if (hasWrappedArgs) {
-        		for (int i = 0; i < values.length; i++) {
-        			Object val = values[i];
-        			if (val != null && types[i] == DataTypeManagerService.DefaultDataTypes.VARBINARY.getTypeClass()) {
-            			values[i] = ((BinaryType)val).getBytesDirect();
-        			}
-        		}
-        	}
-        	if (method.isVarArgs()) {
-        		if (calledWithVarArgArrayParam) {
-        			ArrayImpl av = (ArrayImpl)values[values.length -1];
-        			if (av != null) {
-        				Object[] vals = av.getValues();
-        				values[values.length - 1] = vals;
-	    				if (hasWrappedArgs && types[types.length - 1] == DataTypeManagerService.DefaultDataTypes.VARBINARY.getTypeClass()) {
-	    					vals = Arrays.copyOf(vals, vals.length);
-	        				for (int i = 0; i < vals.length; i++) {
-	        					if (vals[i] != null) {
-	        						vals[i] = ((BinaryType)vals[i]).getBytesDirect();
-	        					}
-	        				}
-	        				values[values.length - 1] = vals;
-	        			}
-	    				Class<?> arrayType = invocationMethod.getParameterTypes()[types.length - 1];
-						if (arrayType.getComponentType() != Object.class
-	    						&& vals.getClass() != arrayType) {
-	    					Object varArgs = Array.newInstance(arrayType.getComponentType(), vals.length);
-	    					for (int i = 0; i < vals.length; i++) {
-			        			Array.set(varArgs, i, vals[i]);
-			        		}
-	        				values[values.length -1] = varArgs;
-	    				}
-        			}
-        		} else {
-	        		int i = invocationMethod.getParameterTypes().length;
-	        		Object[] newValues = Arrays.copyOf(values, i);
-	        		Object varArgs = null;
-	        		if (invocationMethod.getParameterTypes()[i - 1].getComponentType() != Object.class) {
-		        		int varArgCount = values.length - i + 1;
-		        		varArgs = Array.newInstance(invocationMethod.getParameterTypes()[i - 1].getComponentType(), varArgCount);
-		        		for (int j = 0; j < varArgCount; j++) {
-		        			Array.set(varArgs, j, values[i-1+j]);
-		        		}
-	        		} else {
-	        			varArgs = Arrays.copyOfRange(values, i - 1, values.length);
-	        		}
-	        		newValues[i - 1] = varArgs;
-	        		values = newValues;
-        		}
-        	}
-            Object result = invocationMethod.invoke(functionTarget, values);
+            Object result = invoker.invoke(functionTarget, values);
             if (context != null && getDeterministic().ordinal() <= Determinism.USER_DETERMINISTIC.ordinal()) {
             	context.setDeterminismLevel(getDeterministic());
             }
+            if (result == null || (invoker.runtimeReturnType && result.getClass() == returnType)) {
+            	// already of the runtime return type so importValue would return it unchanged
+            	return result;
+            }
             return importValue(result, getReturnType());
         } catch(ArithmeticException e) {
     		 throw new TeiidClientException(e, Messages.gs(Messages.TEIID.TEIID30384, getFullName()));
@@ -326,6 +411,7 @@ public class FunctionDescriptor implements Serializable, Cloneable, IFunctionDes
 	
 	public void setCalledWithVarArgArrayParam(boolean calledWithVarArgArrayParam) {
 		this.calledWithVarArgArrayParam = calledWithVarArgArrayParam;
+		this.invoker = null;
 	}
 	
 	public boolean isSystemFunction(String name) {
@@ -39,6 +39,8 @@ import org.komodo.spi.udf.IFunctionLibrary;
 import org.teiid.core.CoreConstants;
 import org.teiid.core.types.DataTypeManagerService;
 import org.teiid.core.types.Transform;
+import org.teiid.core.util.ConcurrentLRUCache;
+import org.teiid.core.util.PropertiesUtils;
 import org.teiid.metadata.AggregateAttributes;
 import org.teiid.metadata.FunctionMethod;
 import org.teiid.metadata.FunctionParameter;
@@ -59,6 +61,95 @@ public class FunctionLibrary implements IFunctionLibrary {
 	
 	public static final String MVSTATUS = "mvstatus"; //$NON-NLS-1$
 
+	/**
+	 * Default number of function resolutions cached by each library
+	 */
+	public static final int RESOLUTION_CACHE_SIZE = PropertiesUtils.getIntProperty(System.getProperties(), "org.teiid.functionResolutionCacheSize", 1000); //$NON-NLS-1$
+
+	private static final int FIND_FUNCTION = 0;
+
+	private static final int FIND_ALL_FUNCTIONS = 1;
+
+	private static final int NECESSARY_CONVERSIONS = 2;
+
+	// Cached when no implicit conversion exists
+	private static final Object NO_CONVERSION = new Object();
+
+	/**
+	 * Key of a cached resolution: the kind of lookup, function name and
+	 * argument types, plus the parts of the arguments that determine the
+	 * conversions necessary to call the function
+	 */
+	private static class ResolutionKey {
+
+		private final int kind;
+
+		private final String name;
+
+		private final Class<?>[] types;
+
+		private final Class<?> returnType;
+
+		private final boolean hasUnknownType;
+
+		private final boolean[] constantArgs;
+
+		private final int hashCode;
+
+		public ResolutionKey(int kind, String name, Class<?>[] types, Class<?> returnType, boolean hasUnknownType, boolean[] constantArgs) {
+			this.kind = kind;
+			this.name = name;
+			this.types = types.clone();
+			this.returnType = returnType;
+			this.hasUnknownType = hasUnknownType;
+			this.constantArgs = constantArgs;
+
+			final int prime = 31;
+			int result = kind;
+			result = prime * result + name.hashCode();
+			result = prime * result + Arrays.hashCode(this.types);
+			result = prime * result + (returnType == null ? 0 : returnType.hashCode());
+			result = prime * result + (hasUnknownType ? 1231 : 1237);
+			result = prime * result + Arrays.hashCode(constantArgs);
+			this.hashCode = result;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof ResolutionKey)) return false;
+			ResolutionKey other = (ResolutionKey)obj;
+			return this.hashCode == other.hashCode
+				&& this.kind == other.kind
+				&& this.hasUnknownType == other.hasUnknownType
+				&& this.returnType == other.returnType
+				&& this.name.equals(other.name)
+				&& Arrays.equals(this.types, other.types)
+				&& Arrays.equals(this.constantArgs, other.constantArgs);
+		}
+	}
+
+	/**
+	 * A cached resolution along with the modification stamp of
+	 * the function trees it was resolved against
+	 */
+	private static class Resolution {
+
+		private final long stamp;
+
+		private final Object value;
+
+		public Resolution(long stamp, Object value) {
+			this.stamp = stamp;
+			this.value = value;
+		}
+	}
+
     // Function tree for system functions (never reloaded)
     private FunctionTree systemFunctions;
 
@@ -69,6 +160,8 @@ public class FunctionLibrary implements IFunctionLibrary {
 
     private DataTypeManagerService dataTypeManager;
 
+    private final ConcurrentLRUCache<ResolutionKey, Resolution> resolutionCache = new ConcurrentLRUCache<ResolutionKey, Resolution>(RESOLUTION_CACHE_SIZE);
+
 	/**
 	 * Construct the function library.  This should be called only once by the
 	 * FunctionLibraryManager.
@@ -100,6 +193,47 @@ public class FunctionLibrary implements IFunctionLibrary {
         return userFunctions;
     }
 
+    /**
+     * @return a stamp that changes whenever a function is added to
+     *          one of the function trees of this library
+     */
+    private long getModificationStamp() {
+        long stamp = systemFunctions.getModificationCount();
+        if (this.userFunctions != null) {
+            for (FunctionTree tree : this.userFunctions) {
+                stamp += tree.getModificationCount();
+            }
+        }
+        return stamp;
+    }
+
+    /**
+     * @return the cached resolution or null if there is none that is current
+     */
+    private Resolution getResolution(ResolutionKey key, long stamp) {
+        Resolution resolution = resolutionCache.get(key);
+        if (resolution == null || resolution.stamp != stamp)
+            return null;
+
+        return resolution;
+    }
+
+    /**
+     * @return snapshot of the statistics of the cache of function resolutions
+     */
+    public ConcurrentLRUCache.Statistics getResolutionCacheStatistics() {
+        return resolutionCache.getStatistics();
+    }
+
+    /**
+     * Remove all cached function resolutions. Resolutions are discarded
+     * automatically when a function is added to one of the function trees
+     * so this is only needed to release the memory held by the cache.
+     */
+    public void clearResolutionCache() {
+        resolutionCache.clear();
+    }
+
     /**
      * Get all function categories, sorted in alphabetical order
      * @return List of function category names, sorted in alphabetical order
@@ -206,6 +340,19 @@ public class FunctionLibrary implements IFunctionLibrary {
 	 */
     @Override
 	public FunctionDescriptor findFunction(String name, Class<?>[] types) {
+        long stamp = getModificationStamp();
+        ResolutionKey key = new ResolutionKey(FIND_FUNCTION, name, types, null, false, null);
+        Resolution resolution = getResolution(key, stamp);
+        if (resolution != null) {
+            return (FunctionDescriptor) resolution.value;
+        }
+
+        FunctionDescriptor descriptor = resolveFunction(name, types);
+        resolutionCache.put(key, new Resolution(stamp, descriptor));
+        return descriptor;
+	}
+
+	private FunctionDescriptor resolveFunction(String name, Class<?>[] types) {
         // First look in system functions
         FunctionDescriptor descriptor = systemFunctions.getFunction(name, types);
 
@@ -230,7 +377,21 @@ public class FunctionLibrary implements IFunctionLibrary {
      * @param types Array of classes representing the types
      * @return Descriptor if found, null if not found
      */
+    @SuppressWarnings( "unchecked" )
     public List<FunctionDescriptor> findAllFunctions(String name, Class<?>[] types) {
+        long stamp = getModificationStamp();
+        ResolutionKey key = new ResolutionKey(FIND_ALL_FUNCTIONS, name, types, null, false, null);
+        Resolution resolution = getResolution(key, stamp);
+        if (resolution != null) {
+            return (List<FunctionDescriptor>) resolution.value;
+        }
+
+        List<FunctionDescriptor> descriptors = Collections.unmodifiableList(resolveAllFunctions(name, types));
+        resolutionCache.put(key, new Resolution(stamp, descriptors));
+        return descriptors;
+    }
+
+    private List<FunctionDescriptor> resolveAllFunctions(String name, Class<?>[] types) {
         // First look in system functions
         FunctionDescriptor descriptor = systemFunctions.getFunction(name, types);
 
@@ -282,6 +443,43 @@ public class FunctionLibrary implements IFunctionLibrary {
 			return null;
 		}
 
+		// Whether an argument is a constant decides if an explicit conversion may be used
+		boolean[] constantArgs = new boolean[types.length];
+		for (int i = 0; i < types.length; i++) {
+		    constantArgs[i] = args[i] instanceof Constant;
+		}
+
+		long stamp = getModificationStamp();
+		ResolutionKey key = new ResolutionKey(NECESSARY_CONVERSIONS, name, types, hasUnknownType ? returnType : null, hasUnknownType, constantArgs);
+		Resolution resolution = getResolution(key, stamp);
+		if (resolution == null) {
+		    boolean[] usedConstantValues = new boolean[1];
+		    Object conversions = resolveNecessaryConversions(name, returnType, args, types, hasUnknownType, usedConstantValues);
+		    resolution = new Resolution(stamp, conversions);
+		    // Conversions chosen by the value of a constant only apply to that value
+		    if (!usedConstantValues[0]) {
+		        resolutionCache.put(key, resolution);
+		    }
+		}
+
+		if (resolution.value == NO_CONVERSION) {
+		    throw new Exception();
+		}
+		if (resolution.value == null) {
+		    return null;
+		}
+		return ((FunctionDescriptor[]) resolution.value).clone();
+	}
+
+	/**
+	 * @param usedConstantValues set to true if the result depends on the value of a constant argument
+	 * @return null for an exact match, the conversions to apply to each argument or
+	 *          {@link #NO_CONVERSION} if there is no match or the match is ambiguous
+	 * @see #determineNecessaryConversions(String, Class, Expression[], Class[], boolean)
+	 */
+	private Object resolveNecessaryConversions(String name, Class<?> returnType, Expression[] args, Class<?>[] types,
+	                                                         boolean hasUnknownType, boolean[] usedConstantValues) throws Exception {
+
         //First find existing functions with same name and same number of parameters
         final Collection<FunctionMethod> functionMethods = new LinkedList<FunctionMethod>();
         functionMethods.addAll( this.systemFunctions.findFunctionMethods(name, types.length) );
@@ -331,6 +529,9 @@ public class FunctionLibrary implements IFunctionLibrary {
 					Transform t = getConvertFunctionDescriptor(sourceType, targetType);
 					if (t != null) {
 		                if (t.isExplicit()) {
+		                	if (args[i] instanceof Constant) {
+		                	    usedConstantValues[0] = true;
+		                	}
 		                	if (!(args[i] instanceof Constant) || ResolverUtil.convertConstant(getDataTypeManager().getDataTypeName(sourceType), tmpTypeName, (Constant)args[i]) == null) {
 		                		continue outer;
 		                	}
@@ -417,7 +618,7 @@ public class FunctionLibrary implements IFunctionLibrary {
         }
         
         if (ambiguous || result == null) {
-             throw new Exception();
+             return NO_CONVERSION;
         }
         
 		return getConverts(result, types);
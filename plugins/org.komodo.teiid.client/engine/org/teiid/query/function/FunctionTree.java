@@ -81,6 +81,9 @@ public class FunctionTree {
 
     private DataTypeManagerService dataTypeManager;
 
+    // Number of functions added, so that users of the tree can tell it has changed
+    private volatile int modificationCount;
+
     /**
      * Construct a new tree with the given source of function metadata.
      * @param teiidVersion
@@ -262,9 +265,17 @@ public class FunctionTree {
         }
         
         allFunctions.add(method);
+        modificationCount++;
         return descriptor;
     }
 
+    /**
+     * @return a count that changes whenever a function is added to this tree
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
     private FunctionDescriptor createFunctionDescriptor(FunctionMetadataSource source, FunctionMethod method, Class<?>[] types, boolean system) {
         try {
             // Get return type
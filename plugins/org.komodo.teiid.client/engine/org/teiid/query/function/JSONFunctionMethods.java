@@ -34,7 +34,7 @@ import org.komodo.spi.runtime.version.ITeiidVersion;
 import org.komodo.spi.runtime.version.TeiidVersion.Version;
 import org.teiid.common.buffer.FileStore;
 import org.teiid.common.buffer.FileStoreInputStreamFactory;
-import org.teiid.common.buffer.impl.MemoryStorageManager;
+import org.teiid.common.buffer.impl.FileStorageManager;
 import org.teiid.core.types.BlobType;
 import org.teiid.core.types.ClobImpl;
 import org.teiid.core.types.ClobType;
@@ -115,7 +115,7 @@ public class JSONFunctionMethods {
 
 		public JSONBuilder(ITeiidVersion teiidVersion) {
 		    this.teiidVersion = teiidVersion;
-            MemoryStorageManager manager = new MemoryStorageManager();
+            FileStorageManager manager = FileStorageManager.getInstance();
 			fs = manager.createFileStore("xml"); //$NON-NLS-1$
 			fsisf = new FileStoreInputStreamFactory(fs, Streamable.ENCODING);
 		    writer = fsisf.getWriter();
@@ -22,6 +22,8 @@
 package org.teiid.query.function;
 
 import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.komodo.spi.runtime.version.ITeiidVersion;
 import org.teiid.core.CoreConstants;
@@ -34,18 +36,44 @@ import org.teiid.runtime.client.Messages;
 
 public class SystemFunctionManager {
 
+	private static final ConcurrentMap<ITeiidVersion, SystemFunctionManager> INSTANCES = new ConcurrentHashMap<ITeiidVersion, SystemFunctionManager>();
+
 	private FunctionTree systemFunctionTree;
 	private boolean allowEnvFunction = true;
 	private final ClassLoader classLoader;
     private final ITeiidVersion teiidVersion;
+    // Shared instances are returned by getInstance so their settings may not change
+    private final boolean shared;
 
 	/**
 	 * @param teiidVersion
 	 * @param classLoader 
      */
     public SystemFunctionManager(ITeiidVersion teiidVersion, ClassLoader classLoader) {
+        this(teiidVersion, classLoader, false);
+    }
+
+    private SystemFunctionManager(ITeiidVersion teiidVersion, ClassLoader classLoader, boolean shared) {
         this.teiidVersion = teiidVersion;
         this.classLoader = classLoader;
+        this.shared = shared;
+    }
+
+    /**
+     * @param teiidVersion
+     * @return a manager shared by all users of the given version, so
+     *          that the system functions are only loaded once per version
+     */
+    public static SystemFunctionManager getInstance(ITeiidVersion teiidVersion) {
+        SystemFunctionManager instance = INSTANCES.get(teiidVersion);
+        if (instance == null) {
+            instance = new SystemFunctionManager(teiidVersion, SystemFunctionManager.class.getClassLoader(), true);
+            SystemFunctionManager existing = INSTANCES.putIfAbsent(teiidVersion, instance);
+            if (existing != null)
+                instance = existing;
+        }
+
+        return instance;
     }
 
     /**
@@ -55,7 +83,7 @@ public class SystemFunctionManager {
         return this.teiidVersion;
     }
 
-	public FunctionTree getSystemFunctions() {
+	public synchronized FunctionTree getSystemFunctions() {
     	if(systemFunctionTree == null) { 
 	    	// Create the system source and add it to the source list
 	    	SystemSource systemSource = new SystemSource(getTeiidVersion(), this.allowEnvFunction, classLoader);
@@ -80,7 +108,16 @@ public class SystemFunctionManager {
 		return allowEnvFunction;
 	}
 
+	/**
+	 * Only applies to the system functions loaded after it is set.
+	 *
+	 * @param allowEnvFunction
+	 * @throws IllegalStateException if this manager is shared through {@link #getInstance(ITeiidVersion)}
+	 */
 	public void setAllowEnvFunction(boolean allowEnvFunction) {
+		if (shared) {
+			throw new IllegalStateException("The shared system function manager of teiid " + teiidVersion + " may not be changed"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
 		this.allowEnvFunction = allowEnvFunction;
 	}    
 	
@@ -79,7 +79,7 @@ import net.sf.saxon.value.DayTimeDurationValue;
 import net.sf.saxon.value.TimeValue;
 import org.teiid.common.buffer.FileStore;
 import org.teiid.common.buffer.FileStoreInputStreamFactory;
-import org.teiid.common.buffer.impl.MemoryStorageManager;
+import org.teiid.common.buffer.impl.FileStorageManager;
 import org.teiid.core.types.BinaryType;
 import org.teiid.core.types.BlobImpl;
 import org.teiid.core.types.BlobType;
@@ -597,7 +597,7 @@ public class XMLSystemFunctions {
 		private Type type;
 		
 		public XmlConcat() throws TeiidClientException {
-		    MemoryStorageManager manager = new MemoryStorageManager();
+		    FileStorageManager manager = FileStorageManager.getInstance();
 			fs = manager.createFileStore("xml"); //$NON-NLS-1$
 			fsisf = new FileStoreInputStreamFactory(fs, Streamable.ENCODING);
 		    writer = fsisf.getWriter();
@@ -1014,7 +1014,7 @@ public class XMLSystemFunctions {
      */
     public static SQLXMLImpl saveToBufferManager(XMLTranslator translator) throws Exception {        
         boolean success = false;
-        MemoryStorageManager manager = new MemoryStorageManager();
+        FileStorageManager manager = FileStorageManager.getInstance();
         final FileStore lobBuffer = manager.createFileStore("xml"); //$NON-NLS-1$
         FileStoreInputStreamFactory fsisf = new FileStoreInputStreamFactory(lobBuffer, Streamable.ENCODING);
         try{  
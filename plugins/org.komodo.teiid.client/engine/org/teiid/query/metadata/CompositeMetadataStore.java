@@ -65,6 +65,70 @@ public class CompositeMetadataStore extends MetadataStore {
 	}
 	private volatile TreeMap<String, RecordHolder> oids;
 
+	/**
+	 * Index of tables and procedures by the last segment of their names,
+	 * used to find the candidates for a partial name without visiting every
+	 * table or procedure. The index is replaced rather than modified so it can
+	 * be read without locking, and is rebuilt once a schema has changed.
+	 */
+	private static class PartialNameIndex {
+		final TreeMap<String, List<Table>> tables = new TreeMap<String, List<Table>>(String.CASE_INSENSITIVE_ORDER);
+		final TreeMap<String, List<Procedure>> procedures = new TreeMap<String, List<Procedure>>(String.CASE_INSENSITIVE_ORDER);
+		final Schema[] schemas;
+		final int[] stamps;
+
+		PartialNameIndex(Collection<Schema> schemas) {
+			this.schemas = schemas.toArray(new Schema[schemas.size()]);
+			this.stamps = new int[this.schemas.length * 3];
+			for (int i = 0; i < this.schemas.length; i++) {
+				Schema schema = this.schemas[i];
+				stamps[i * 3] = schema.getModCount();
+				stamps[i * 3 + 1] = schema.getTables().size();
+				stamps[i * 3 + 2] = schema.getProcedures().size();
+				for (Table table : schema.getTables().values()) {
+					add(tables, table.getName(), table);
+				}
+				for (Procedure procedure : schema.getProcedures().values()) {
+					add(procedures, procedure.getName(), procedure);
+				}
+			}
+		}
+
+		/**
+		 * Tables and procedures may be added to or removed from a schema
+		 * after the index is built, which is seen in the count of changes
+		 * made through the schema or in the size of its maps
+		 */
+		boolean isCurrent(Collection<Schema> current) {
+			if (current.size() != schemas.length) {
+				return false;
+			}
+			int i = 0;
+			for (Schema schema : current) {
+				if (schema != schemas[i]
+						|| schema.getModCount() != stamps[i * 3]
+						|| schema.getTables().size() != stamps[i * 3 + 1]
+						|| schema.getProcedures().size() != stamps[i * 3 + 2]) {
+					return false;
+				}
+				i++;
+			}
+			return true;
+		}
+
+		private static <T> void add(TreeMap<String, List<T>> map, String name, T record) {
+			String key = lastSegment(name);
+			List<T> records = map.get(key);
+			if (records == null) {
+				records = new ArrayList<T>(1);
+				map.put(key, records);
+			}
+			records.add(record);
+		}
+	}
+
+	private volatile PartialNameIndex partialNameIndex;
+
 	public CompositeMetadataStore(MetadataStore metadataStore) {
 		merge(metadataStore);
 	}
@@ -75,6 +139,36 @@ public class CompositeMetadataStore extends MetadataStore {
 		}
 	}
 	
+	@Override
+	public void merge(MetadataStore store) {
+		synchronized (this) {
+			super.merge(store);
+			partialNameIndex = null;
+		}
+	}
+
+	private PartialNameIndex getPartialNameIndex() {
+		PartialNameIndex index = partialNameIndex;
+		if (index == null || !index.isCurrent(getSchemas().values())) {
+			synchronized (this) {
+				index = partialNameIndex;
+				if (index == null || !index.isCurrent(getSchemas().values())) {
+					index = new PartialNameIndex(getSchemas().values());
+					partialNameIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	private static String lastSegment(String name) {
+		int index = name.lastIndexOf(TransformationMetadata.DELIMITER_CHAR);
+		if (index == -1) {
+			return name;
+		}
+		return name.substring(index + 1);
+	}
+
 	public Table findGroup(String fullName)	throws Exception {
 		int index = fullName.indexOf(TransformationMetadata.DELIMITER_STRING);
 		if (index == -1) {
@@ -99,12 +193,14 @@ public class CompositeMetadataStore extends MetadataStore {
 	 */
 	public Collection<Table> getGroupsForPartialName(String partialGroupName) {
 		List<Table> result = new LinkedList<Table>();
-		for (Schema schema : getSchemas().values()) {
-			for (Table t : schema.getTables().values()) {
-				String name = t.getName();
-				if (matchesPartialName(partialGroupName, name, schema)) {
-					result.add(t);	
-				}
+		List<Table> candidates = getPartialNameIndex().tables.get(lastSegment(partialGroupName));
+		if (candidates == null) {
+			return result;
+		}
+		for (Table t : candidates) {
+			String name = t.getName();
+			if (matchesPartialName(partialGroupName, name, t.getParent())) {
+				result.add(t);	
 			}
 		}
 		return result;
@@ -143,11 +239,13 @@ public class CompositeMetadataStore extends MetadataStore {
 			}	
 		}
 		//assume it's a partial name
-		for (Schema schema : getSchemas().values()) {
-			for (Procedure p : schema.getProcedures().values()) {
-				if (matchesPartialName(name, p.getName(), schema)) {
-					result.add(p);	
-				}
+		List<Procedure> candidates = getPartialNameIndex().procedures.get(lastSegment(name));
+		if (candidates == null) {
+			return result;
+		}
+		for (Procedure p : candidates) {
+			if (matchesPartialName(name, p.getName(), p.getParent())) {
+				result.add(p);	
 			}
 		}
 		return result;
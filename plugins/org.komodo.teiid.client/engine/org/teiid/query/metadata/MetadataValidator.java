@@ -21,12 +21,17 @@
  */
 package org.teiid.query.metadata;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.komodo.spi.outcome.IOutcome;
 import org.komodo.spi.query.metadata.IQueryMetadataInterface;
 import org.komodo.spi.query.sql.lang.ICommand;
@@ -36,6 +41,8 @@ import org.teiid.adminapi.impl.ModelMetaData.Message.Severity;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.api.exception.query.QueryResolverException;
 import org.teiid.core.types.DataTypeManagerService;
+import org.teiid.core.util.ExecutorUtils;
+import org.teiid.core.util.PropertiesUtils;
 import org.teiid.language.SQLConstants;
 import org.teiid.metadata.AbstractMetadataRecord;
 import org.teiid.metadata.Column;
@@ -77,12 +84,18 @@ import org.teiid.runtime.client.Messages;
 
 public class MetadataValidator {
 
+	/**
+	 * Default number of threads used to resolve the query plans of views and procedures
+	 */
+	public static final int DEFAULT_PARALLELISM = PropertiesUtils.getIntProperty(System.getProperties(), "org.teiid.metadataValidatorThreads", 1); //$NON-NLS-1$
+
     private final ITeiidVersion teiidVersion;
 
     private final QueryParser queryParser;
 
 	private Map<String, Datatype> typeMap;
 
+	private int parallelism = DEFAULT_PARALLELISM;
 
 	interface MetadataRule {
 		void execute(VDBMetaData vdb, MetadataStore vdbStore, ValidatorReport report, MetadataValidator metadataValidator);
@@ -98,10 +111,28 @@ public class MetadataValidator {
         this(teiidVersion, SystemMetadata.getInstance(teiidVersion).getRuntimeTypeMap());
     }
 
-	private <T extends LanguageObject> T createASTNode(ASTNodes nodeType) {
+	private static <T extends LanguageObject> T createASTNode(QueryParser queryParser, ASTNodes nodeType) {
 	    return queryParser.getTeiidParser().createASTNode(nodeType);
 	}
 
+	/**
+	 * @return maximum number of threads used to resolve query plans
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Set the maximum number of threads used to resolve the query plans of
+	 * views and procedures. Views whose columns are determined by resolving
+	 * them are always resolved in order on the calling thread.
+	 *
+	 * @param parallelism
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
 	public ValidatorReport validate(VDBMetaData vdb, MetadataStore store) {
 		ValidatorReport report = new ValidatorReport();
 		if (store != null && !store.getSchemaList().isEmpty()) {
@@ -200,12 +231,43 @@ public class MetadataValidator {
 		}
 	}	
 	
+	/**
+	 * A record whose query plan is to be validated, with the report
+	 * its validation is recorded into
+	 */
+	private static class RecordValidation {
+		private final ModelMetaData model;
+		private final AbstractMetadataRecord record;
+		private final MetadataFactory mf;
+		private final ValidatorReport report;
+
+		public RecordValidation(ModelMetaData model, AbstractMetadataRecord record, MetadataFactory mf, ValidatorReport report) {
+			this.model = model;
+			this.record = record;
+			this.mf = mf;
+			this.report = report;
+		}
+	}
+
 	// Resolves metadata query plans to make sure they are accurate
 	private class ResolveQueryPlans implements MetadataRule {
 		@Override
 		public void execute(VDBMetaData vdb, MetadataStore store, ValidatorReport report, MetadataValidator metadataValidator) {
-			IQueryMetadataInterface metadata = vdb.getAttachment(IQueryMetadataInterface.class);
-	    	metadata = new TempMetadataAdapter(metadata, new TempMetadataStore());
+			IQueryMetadataInterface vdbMetadata = vdb.getAttachment(IQueryMetadataInterface.class);
+			IQueryMetadataInterface metadata = new TempMetadataAdapter(vdbMetadata, new TempMetadataStore());
+
+			// Without parallelism each record is validated in resolving order
+			// directly into the report
+			boolean inOrder = metadataValidator.getParallelism() <= 1;
+
+			// All records in resolving order, each with its own report
+			List<RecordValidation> validations = new ArrayList<RecordValidation>();
+			// Views whose columns are determined by their validation. Other views
+			// may depend on these columns so they are validated first, in order.
+			List<RecordValidation> ordered = new ArrayList<RecordValidation>();
+			// Records that only read the metadata so may be validated in any order
+			List<RecordValidation> unordered = new ArrayList<RecordValidation>();
+
 			for (Schema schema:store.getSchemaList()) {
 				if (vdb.getImportedModels().contains(schema.getName())) {
 					continue;
@@ -232,29 +294,117 @@ public class MetadataValidator {
 							continue;
 						}
 						if (t.isVirtual() && t.getTableType() != Table.Type.TemporaryTable) {
+							RecordValidation validation = metadataValidator.createValidation(model, t, mf, report, inOrder ? null : validations);
 							if (t.getSelectTransformation() == null) {
-								metadataValidator.log(report, model, Messages.gs(Messages.TEIID.TEIID31079, t.getFullName(), model.getName()));
+								metadataValidator.log(validation.report, model, Messages.gs(Messages.TEIID.TEIID31079, t.getFullName(), model.getName()));
+							}
+							else if (inOrder) {
+								metadataValidator.validate(vdb, validation, metadata, queryParser);
+							}
+							else if (t.getColumns() == null || t.getColumns().isEmpty()) {
+								ordered.add(validation);
 							}
 							else {
-								metadataValidator.validate(vdb, model, t, report, metadata, mf);
+								unordered.add(validation);
 							}
 						}						
 					} else if (record instanceof Procedure) {
 						Procedure p = (Procedure)record;
 						if (p.isVirtual() && !p.isFunction()) {
+							RecordValidation validation = metadataValidator.createValidation(model, p, mf, report, inOrder ? null : validations);
 							if (p.getQueryPlan() == null) {
-								metadataValidator.log(report, model, Messages.gs(Messages.TEIID.TEIID31081, p.getFullName(), model.getName()));
+								metadataValidator.log(validation.report, model, Messages.gs(Messages.TEIID.TEIID31081, p.getFullName(), model.getName()));
+							}
+							else if (inOrder) {
+								metadataValidator.validate(vdb, validation, metadata, queryParser);
 							}
 							else {
-								metadataValidator.validate(vdb, model, p, report, metadata, mf);
+								unordered.add(validation);
 							}
 						}						
 					}
 				}
 			}
+
+			if (inOrder) {
+				return;
+			}
+
+			for (RecordValidation validation : ordered) {
+				metadataValidator.validate(vdb, validation, metadata, queryParser);
+			}
+
+			metadataValidator.validateInParallel(vdb, unordered, vdbMetadata, metadata);
+
+			// Merge the reports in resolving order
+			for (RecordValidation validation : validations) {
+				report.addItems(validation.report.getItems());
+			}
 		}
 	}	
 
+	/**
+	 * Create the validation of a record. When validations are being collected
+	 * the record gets its own report, to be merged into the given report in
+	 * resolving order, otherwise it records directly into the given report.
+	 */
+	private RecordValidation createValidation(ModelMetaData model, AbstractMetadataRecord record, MetadataFactory mf,
+			ValidatorReport report, List<RecordValidation> validations) {
+		if (validations == null) {
+			return new RecordValidation(model, record, mf, report);
+		}
+		RecordValidation validation = new RecordValidation(model, record, mf, new ValidatorReport());
+		validations.add(validation);
+		return validation;
+	}
+
+	/**
+	 * Validate the given records, which must only read the metadata, using
+	 * up to {@link #getParallelism()} threads. Each thread has its own parser
+	 * and temporary metadata.
+	 */
+	private void validateInParallel(final VDBMetaData vdb, final List<RecordValidation> validations,
+			final IQueryMetadataInterface vdbMetadata, IQueryMetadataInterface metadata) {
+		int threads = Math.min(parallelism, validations.size());
+		if (threads <= 1) {
+			for (RecordValidation validation : validations) {
+				validate(vdb, validation, metadata, queryParser);
+			}
+			return;
+		}
+
+		final AtomicInteger next = new AtomicInteger();
+		Runnable worker = new Runnable() {
+			@Override
+			public void run() {
+				QueryParser parser = new QueryParser(teiidVersion);
+				IQueryMetadataInterface workerMetadata = new TempMetadataAdapter(vdbMetadata, new TempMetadataStore());
+				int index;
+				while ((index = next.getAndIncrement()) < validations.size()) {
+					validate(vdb, validations.get(index), workerMetadata, parser);
+				}
+			}
+		};
+
+		ExecutorService executor = ExecutorUtils.newFixedThreadPool(threads, "MetadataValidator"); //$NON-NLS-1$
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>(threads);
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(worker));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	public void log(ValidatorReport report, ModelMetaData model, String msg) {
 		log(report, model, Severity.ERROR, msg);
 	}
@@ -268,13 +418,16 @@ public class MetadataValidator {
 		}
 	}
 	
-    private void validate(VDBMetaData vdb, ModelMetaData model, AbstractMetadataRecord record, ValidatorReport report, IQueryMetadataInterface metadata, MetadataFactory mf) {
+    private void validate(VDBMetaData vdb, RecordValidation validation, IQueryMetadataInterface metadata, QueryParser queryParser) {
+    	ModelMetaData model = validation.model;
+    	AbstractMetadataRecord record = validation.record;
+    	ValidatorReport report = validation.report;
     	ValidatorReport resolverReport = null;
     	try {
     		if (record instanceof Procedure) {
     			Procedure p = (Procedure)record;
     			Command command = queryParser.parseProcedure(p.getQueryPlan(), false);
-                GroupSymbol gs = createASTNode(ASTNodes.GROUP_SYMBOL);
+                GroupSymbol gs = createASTNode(queryParser, ASTNodes.GROUP_SYMBOL);
     			gs.setName(p.getFullName());
     			QueryResolver resolver = new QueryResolver(queryParser);
     			resolver.resolveCommand(command, gs, ICommand.TYPE_STORED_PROCEDURE, metadata, false);
@@ -283,7 +436,7 @@ public class MetadataValidator {
     		} else if (record instanceof Table) {
     			Table t = (Table)record;
     			
-    			GroupSymbol symbol = createASTNode(ASTNodes.GROUP_SYMBOL); 
+    			GroupSymbol symbol = createASTNode(queryParser, ASTNodes.GROUP_SYMBOL); 
     			symbol.setName(t.getFullName());
     			ResolverUtil.resolveGroup(symbol, metadata);
     			if (t.isVirtual() && (t.getColumns() == null || t.getColumns().isEmpty())) {
@@ -296,7 +449,7 @@ public class MetadataValidator {
     					List<Expression> symbols = command.getProjectedSymbols();
     					for (Expression column:symbols) {
     						try {
-								addColumn(Symbol.getShortName(column), column.getType(), t, mf);
+								addColumn(Symbol.getShortName(column), column.getType(), t, validation.mf);
 							} catch (Exception e) {
 								log(report, model, e.getMessage());
 							}
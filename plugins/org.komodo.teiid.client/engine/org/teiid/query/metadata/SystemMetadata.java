@@ -21,23 +21,41 @@
  */
 package org.teiid.query.metadata;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.StreamCorruptedException;
+import java.net.URL;
 import java.nio.charset.Charset;
+import java.security.CodeSource;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
 
 import org.komodo.spi.query.metadata.IQueryMetadataInterface;
 import org.komodo.spi.runtime.version.ITeiidVersion;
 import org.komodo.spi.runtime.version.TeiidVersion.Version;
 import org.komodo.spi.type.IDataTypeManagerService.DataTypeAliases;
+import org.komodo.utils.KLog;
 import org.teiid.adminapi.impl.ModelMetaData;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.core.types.DataTypeManagerService;
@@ -54,9 +72,50 @@ import org.teiid.query.validator.ValidatorReport;
 import org.teiid.runtime.client.Messages;
 
 public class SystemMetadata {
-	
-	private static Map<ITeiidVersion, SystemMetadata> instances = new HashMap<ITeiidVersion, SystemMetadata>();
-	
+
+	/**
+	 * Directory in which a snapshot of the system metadata of each teiid version
+	 * is kept, so that later processes need not parse and validate it again.
+	 * No snapshots are kept if not set.
+	 */
+	public static final String SNAPSHOT_DIRECTORY = System.getProperty("org.teiid.systemMetadataSnapshotDirectory"); //$NON-NLS-1$
+
+	// Change whenever the content of a snapshot changes
+	private static final int SNAPSHOT_FORMAT = 2;
+
+	private static final String[] SCHEMAS = { "SYS", "SYSADMIN" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static ConcurrentMap<ITeiidVersion, SystemMetadata> instances = new ConcurrentHashMap<ITeiidVersion, SystemMetadata>();
+
+	/**
+	 * Reads a snapshot, only resolving the classes that may be part of the system metadata
+	 */
+	private static class SnapshotInputStream extends ObjectInputStream {
+
+		public SnapshotInputStream(InputStream in) throws IOException {
+			super(in);
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			String name = desc.getName();
+			int dimensions = 0;
+			while (dimensions < name.length() && name.charAt(dimensions) == '[') {
+				dimensions++;
+			}
+			if (dimensions > 0) {
+				// primitive arrays have a single character component type
+				name = name.charAt(dimensions) == 'L' ? name.substring(dimensions + 1, name.length() - 1) : null;
+			}
+			if (name != null && !name.startsWith("org.teiid.") && !name.startsWith("org.komodo.spi.") //$NON-NLS-1$ //$NON-NLS-2$
+					&& !name.startsWith("java.lang.") && !name.startsWith("java.util.") //$NON-NLS-1$ //$NON-NLS-2$
+					&& !name.startsWith("java.math.")) { //$NON-NLS-1$
+				throw new InvalidClassException(desc.getName(), "Not part of the system metadata"); //$NON-NLS-1$
+			}
+			return Class.forName(desc.getName(), false, SystemMetadata.class.getClassLoader());
+		}
+	}
+
 	/**
 	 * @param teiidVersion
 	 * @return get singleton instance keyed on given teiid version
@@ -64,8 +123,13 @@ public class SystemMetadata {
 	public static SystemMetadata getInstance(ITeiidVersion teiidVersion) {
 		SystemMetadata instance = instances.get(teiidVersion);
 		if (instance == null) {
-		    instance = new SystemMetadata(teiidVersion);
-		    instances.put(teiidVersion, instance);
+			synchronized (instances) {
+				instance = instances.get(teiidVersion);
+				if (instance == null) {
+					instance = new SystemMetadata(teiidVersion);
+					instances.put(teiidVersion, instance);
+				}
+			}
 		}
 
 		return instance;
@@ -76,11 +140,21 @@ public class SystemMetadata {
 	private List<Datatype> dataTypes = new ArrayList<Datatype>();
 	private Map<String, Datatype> typeMap = new TreeMap<String, Datatype>(String.CASE_INSENSITIVE_ORDER);
 	private MetadataStore systemStore;
+	private File snapshot;
+	private boolean fromSnapshot;
 
 	/**
 	 * @param teiidVersion
 	 */
 	public SystemMetadata(ITeiidVersion teiidVersion) {
+		this(teiidVersion, SNAPSHOT_DIRECTORY == null || SNAPSHOT_DIRECTORY.length() == 0 ? null : new File(SNAPSHOT_DIRECTORY));
+	}
+
+	/**
+	 * @param teiidVersion
+	 * @param snapshotDirectory directory in which the snapshot is kept or null if none is
+	 */
+	SystemMetadata(ITeiidVersion teiidVersion, File snapshotDirectory) {
 	    if (teiidVersion.isLessThan(Version.TEIID_8_0.get()))
 	        throw new UnsupportedOperationException(Messages.getString(Messages.Misc.TeiidVersionFailure, this.getClass().getSimpleName(), teiidVersion));
 
@@ -91,6 +165,22 @@ public class SystemMetadata {
         resourceLocation = resourceLocation.replaceAll("\\.", File.separator); //$NON-NLS-1$
         resourceLocation = resourceLocation + File.separator;
 
+        if (snapshotDirectory != null) {
+        	snapshot = getSnapshotFile(resourceLocation, snapshotDirectory);
+        }
+        if (snapshot != null && readSnapshot(snapshot)) {
+        	fromSnapshot = true;
+        	return;
+        }
+
+        load(resourceLocation);
+
+        if (snapshot != null) {
+        	writeSnapshot(snapshot);
+        }
+	}
+
+	private void load(String resourceLocation) {
         InputStream is = SystemMetadata.class.getClassLoader().getResourceAsStream(resourceLocation + "types.dat"); //$NON-NLS-1$
 		try {
 			InputStreamReader isr = new InputStreamReader(is, Charset.forName("UTF-8")); //$NON-NLS-1$
@@ -113,9 +203,6 @@ public class SystemMetadata {
 					dt.setLength(DataTypeManagerService.MAX_LOB_MEMORY_BYTES);
 				}
 				dataTypes.add(dt);
-				if (dt.isBuiltin()) {
-					typeMap.put(dt.getRuntimeTypeName(), dt);
-				}
 			}
 			is.close();
 		} catch (IOException e) {
@@ -127,27 +214,17 @@ public class SystemMetadata {
 				throw new RuntimeException(e);
 			}
 		}
-		addAliasType(DataTypeManagerService.DataTypeAliases.BIGINT);
-		addAliasType(DataTypeManagerService.DataTypeAliases.DECIMAL);
-		addAliasType(DataTypeManagerService.DataTypeAliases.REAL);
-		addAliasType(DataTypeManagerService.DataTypeAliases.SMALLINT);
-		addAliasType(DataTypeManagerService.DataTypeAliases.TINYINT);
-		addAliasType(DataTypeManagerService.DataTypeAliases.VARCHAR);
-		for (String name : dataTypeManager.getAllDataTypeNames()) {
-			if (!name.equals(DefaultDataTypes.NULL.getId())) {
-				ArgCheck.isNotNull(typeMap.get(name), name);
-			}
-		}
+		loadTypeMap();
 		
 		VDBMetaData vdb = new VDBMetaData();
 		vdb.setName("System");  //$NON-NLS-1$
 		vdb.setVersion(1);
 		Properties p = new Properties();
 		QueryParser parser = new QueryParser(teiidVersion);
-		systemStore = loadSchema(vdb, p, resourceLocation, "SYS", parser).asMetadataStore(); //$NON-NLS-1$
+		systemStore = loadSchema(vdb, p, resourceLocation, SCHEMAS[0], parser).asMetadataStore();
 		systemStore.addDataTypes(dataTypes);
-		loadSchema(vdb, p, resourceLocation, "SYSADMIN", parser).mergeInto(systemStore); //$NON-NLS-1$
-		SystemFunctionManager systemFunctionManager = new SystemFunctionManager(teiidVersion, getClass().getClassLoader());
+		loadSchema(vdb, p, resourceLocation, SCHEMAS[1], parser).mergeInto(systemStore);
+		SystemFunctionManager systemFunctionManager = SystemFunctionManager.getInstance(teiidVersion);
         TransformationMetadata tm = new TransformationMetadata(parser.getTeiidParser(), vdb, new CompositeMetadataStore(systemStore), null, systemFunctionManager.getSystemFunctions(), null);
         vdb.addAttchment(IQueryMetadataInterface.class, tm);
 		MetadataValidator validator = new MetadataValidator(this.teiidVersion, this.typeMap);
@@ -157,6 +234,177 @@ public class SystemMetadata {
 		}
 	}
 
+	private void loadTypeMap() {
+		for (Datatype dt : dataTypes) {
+			if (dt.isBuiltin()) {
+				typeMap.put(dt.getRuntimeTypeName(), dt);
+			}
+		}
+		addAliasType(DataTypeManagerService.DataTypeAliases.BIGINT);
+		addAliasType(DataTypeManagerService.DataTypeAliases.DECIMAL);
+		addAliasType(DataTypeManagerService.DataTypeAliases.REAL);
+		addAliasType(DataTypeManagerService.DataTypeAliases.SMALLINT);
+		addAliasType(DataTypeManagerService.DataTypeAliases.TINYINT);
+		addAliasType(DataTypeManagerService.DataTypeAliases.VARCHAR);
+		for (String name : dataTypeManager.getAllDataTypeNames()) {
+			if (!name.equals(DefaultDataTypes.NULL.getId())) {
+				ArgCheck.isNotNull(typeMap.get(name), name);
+			}
+		}
+	}
+
+	/**
+	 * The name of the snapshot file is derived from everything the system
+	 * metadata is loaded from, so a snapshot is never used once that changes.
+	 *
+	 * @return the snapshot file or null if the resources cannot be read
+	 */
+	private File getSnapshotFile(String resourceLocation, File snapshotDirectory) {
+		CRC32 checksum = new CRC32();
+		byte[] buffer = new byte[8192];
+		try {
+			List<String> resources = new ArrayList<String>();
+			resources.add(resourceLocation + "types.dat"); //$NON-NLS-1$
+			for (String schema : SCHEMAS) {
+				resources.add(resourceLocation + schema + ".sql"); //$NON-NLS-1$
+			}
+			for (String resource : resources) {
+				InputStream is = SystemMetadata.class.getClassLoader().getResourceAsStream(resource);
+				if (is == null) {
+					return null;
+				}
+				try {
+					int read;
+					while ((read = is.read(buffer)) != -1) {
+						checksum.update(buffer, 0, read);
+					}
+				} finally {
+					is.close();
+				}
+			}
+		} catch (IOException e) {
+			return null;
+		}
+
+		// The classes of the metadata records may change without the resources changing
+		String codeVersion = ""; //$NON-NLS-1$
+		CodeSource codeSource = SystemMetadata.class.getProtectionDomain().getCodeSource();
+		if (codeSource != null && codeSource.getLocation() != null) {
+			URL location = codeSource.getLocation();
+			codeVersion = location.toString();
+			if ("file".equals(location.getProtocol())) { //$NON-NLS-1$
+				codeVersion += new File(location.getPath()).lastModified();
+			}
+		}
+		String settings = SNAPSHOT_FORMAT + "|" + codeVersion + "|" + DataTypeManagerService.MAX_STRING_LENGTH //$NON-NLS-1$ //$NON-NLS-2$
+				+ "|" + DataTypeManagerService.MAX_LOB_MEMORY_BYTES; //$NON-NLS-1$
+		checksum.update(settings.getBytes(Charset.forName("UTF-8"))); //$NON-NLS-1$
+
+		return new File(snapshotDirectory, "teiid-system-" + teiidVersion + "-" //$NON-NLS-1$ //$NON-NLS-2$
+				+ Long.toHexString(checksum.getValue()) + ".ser"); //$NON-NLS-1$
+	}
+
+	/**
+	 * A snapshot starts with its format and teiid version and the checksum
+	 * of the serialized data types and system store that follow them.
+	 *
+	 * @return true if the data types and system store were read from the snapshot
+	 */
+	@SuppressWarnings( "unchecked" )
+	private boolean readSnapshot(File snapshot) {
+		if (!snapshot.isFile()) {
+			return false;
+		}
+
+		ObjectInputStream ois = null;
+		try {
+			byte[] content = null;
+			long crc = 0;
+			DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshot)));
+			try {
+				if (dis.readInt() != SNAPSHOT_FORMAT || !teiidVersion.toString().equals(dis.readUTF())) {
+					throw new StreamCorruptedException("Snapshot of another format or teiid version"); //$NON-NLS-1$
+				}
+				crc = dis.readLong();
+				content = new byte[dis.readInt()];
+				dis.readFully(content);
+			} finally {
+				dis.close();
+			}
+			CRC32 checksum = new CRC32();
+			checksum.update(content, 0, content.length);
+			if (checksum.getValue() != crc) {
+				throw new StreamCorruptedException("Snapshot checksum mismatch"); //$NON-NLS-1$
+			}
+
+			ois = new SnapshotInputStream(new ByteArrayInputStream(content));
+			List<Datatype> snapshotTypes = (List<Datatype>) ois.readObject();
+			MetadataStore snapshotStore = (MetadataStore) ois.readObject();
+			this.dataTypes = snapshotTypes;
+			this.systemStore = snapshotStore;
+			loadTypeMap();
+			return true;
+		} catch (Exception e) {
+			KLog.getLogger().warn("Ignoring unreadable system metadata snapshot " + snapshot, e); //$NON-NLS-1$
+			// so it is replaced by the snapshot of the parsed metadata
+			snapshot.delete();
+			this.dataTypes = new ArrayList<Datatype>();
+			this.typeMap.clear();
+			this.systemStore = null;
+			return false;
+		} finally {
+			if (ois != null) {
+				try {
+					ois.close();
+				} catch (IOException e) {
+					// nothing to do
+				}
+			}
+		}
+	}
+
+	private void writeSnapshot(File snapshot) {
+		File directory = snapshot.getParentFile();
+		if (!directory.exists()) {
+			directory.mkdirs();
+		}
+
+		// Write to a temporary file and rename it so that a partial snapshot is never read
+		File temp = null;
+		try {
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			ObjectOutputStream oos = new ObjectOutputStream(baos);
+			// in one stream so the store shares the data type instances
+			oos.writeObject(dataTypes);
+			oos.writeObject(systemStore);
+			oos.close();
+			byte[] content = baos.toByteArray();
+			CRC32 checksum = new CRC32();
+			checksum.update(content, 0, content.length);
+
+			temp = File.createTempFile(snapshot.getName(), ".tmp", directory); //$NON-NLS-1$
+			DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+			try {
+				dos.writeInt(SNAPSHOT_FORMAT);
+				dos.writeUTF(teiidVersion.toString());
+				dos.writeLong(checksum.getValue());
+				dos.writeInt(content.length);
+				dos.write(content);
+			} finally {
+				dos.close();
+			}
+			if (temp.renameTo(snapshot)) {
+				temp = null;
+			}
+		} catch (IOException e) {
+			KLog.getLogger().warn("Could not write system metadata snapshot " + snapshot, e); //$NON-NLS-1$
+		} finally {
+			if (temp != null) {
+				temp.delete();
+			}
+		}
+	}
+
 	private MetadataFactory loadSchema(VDBMetaData vdb, Properties p, String resourceLocation, String name, QueryParser parser) {
 		ModelMetaData mmd = new ModelMetaData();
 		mmd.setName(name);
@@ -202,6 +450,20 @@ public class SystemMetadata {
 		return typeMap;
 	}
 	
+	/**
+	 * @return the snapshot file or null if no snapshot is kept
+	 */
+	File getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * @return true if the system metadata was read from its snapshot rather than parsed
+	 */
+	boolean isFromSnapshot() {
+		return fromSnapshot;
+	}
+
 	public MetadataStore getSystemStore() {
 		return systemStore;
 	}
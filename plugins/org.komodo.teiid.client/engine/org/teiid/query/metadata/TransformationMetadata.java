@@ -25,12 +25,14 @@ package org.teiid.query.metadata;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -57,8 +59,9 @@ import org.teiid.core.types.DataTypeManagerService;
 import org.teiid.core.types.InputStreamFactory;
 import org.teiid.core.types.SQLXMLImpl;
 import org.teiid.core.util.ArgCheck;
-import org.teiid.core.util.LRUCache;
+import org.teiid.core.util.ConcurrentLRUCache;
 import org.teiid.core.util.ObjectConverterUtil;
+import org.teiid.core.util.PropertiesUtils;
 import org.teiid.core.util.StringUtil;
 import org.teiid.metadata.AbstractMetadataRecord;
 import org.teiid.metadata.BaseColumn.NullType;
@@ -167,13 +170,24 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
     @Since(Version.TEIID_8_5)
     private boolean useOutputNames = true;
     
+    /*
+     * Capacities of the metadata caches, configurable through system properties
+     */
+    public static final int METADATA_CACHE_SIZE = getCacheSize("org.teiid.metadataCacheSize", 250); //$NON-NLS-1$
+    public static final int GROUP_INFO_CACHE_SIZE = getCacheSize("org.teiid.groupInfoCacheSize", 250); //$NON-NLS-1$
+    public static final int PARTIAL_NAME_CACHE_SIZE = getCacheSize("org.teiid.partialNameCacheSize", 1000); //$NON-NLS-1$
+    public static final int PROCEDURE_CACHE_SIZE = getCacheSize("org.teiid.procedureCacheSize", 200); //$NON-NLS-1$
+
     /*
      * TODO: move caching to jboss cache structure
+     *
+     * The caches are not serializable so are created again
+     * when an instance is deserialized
      */
-    private Map<String, Object> metadataCache = Collections.synchronizedMap(new LRUCache<String, Object>(250));
-    private Map<String, Object> groupInfoCache = Collections.synchronizedMap(new LRUCache<String, Object>(250));
-    private Map<String, Collection<Table>> partialNameToFullNameCache = Collections.synchronizedMap(new LRUCache<String, Collection<Table>>(1000));
-    private Map<String, Collection<StoredProcedureInfo>> procedureCache = Collections.synchronizedMap(new LRUCache<String, Collection<StoredProcedureInfo>>(200));
+    private transient ConcurrentLRUCache<String, Object> metadataCache;
+    private transient ConcurrentLRUCache<String, Object> groupInfoCache;
+    private transient ConcurrentLRUCache<String, Collection<Table>> partialNameToFullNameCache;
+    private transient ConcurrentLRUCache<String, Collection<StoredProcedureInfo>> procedureCache;
 
     /**
      * TransformationMetadata constructor
@@ -188,6 +202,7 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
         super(teiidParser.getVersion());
     	ArgCheck.isNotNull(store);
     	this.teiidParser = teiidParser;
+    	createCaches();
     	this.vdbMetaData = vdbMetadata;
     	if (this.vdbMetaData !=null) {
     		this.scriptEngineManager = vdbMetadata.getAttachment(ScriptEngineManager.class);
@@ -217,12 +232,46 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
         }
     }
 
-    private TransformationMetadata(TeiidParser teiidParser, final CompositeMetadataStore store, FunctionLibrary functionLibrary) {
-        super(teiidParser.getVersion());
-        this.teiidParser = teiidParser;
-        this.store = store;
+    /**
+     * Design time metadata sharing the store, functions and caches of the given metadata
+     * @param metadata
+     */
+    private TransformationMetadata(TransformationMetadata metadata) {
+        super(metadata.getTeiidParser().getVersion());
+        this.teiidParser = metadata.getTeiidParser();
+        this.store = metadata.store;
     	this.vdbEntries = Collections.emptyMap();
-        this.functionLibrary = functionLibrary;
+        this.functionLibrary = metadata.functionLibrary;
+        this.metadataCache = metadata.metadataCache;
+        this.groupInfoCache = metadata.groupInfoCache;
+        this.partialNameToFullNameCache = metadata.partialNameToFullNameCache;
+        this.procedureCache = metadata.procedureCache;
+    }
+
+    /**
+     * @param property
+     * @param defaultSize
+     * @return the positive cache size given by the system property
+     *                  otherwise the default size
+     */
+    private static int getCacheSize(String property, int defaultSize) {
+        int size = PropertiesUtils.getIntProperty(System.getProperties(), property, defaultSize);
+        if (size <= 0) {
+            return defaultSize;
+        }
+        return size;
+    }
+
+    private void createCaches() {
+        this.metadataCache = new ConcurrentLRUCache<String, Object>(METADATA_CACHE_SIZE);
+        this.groupInfoCache = new ConcurrentLRUCache<String, Object>(GROUP_INFO_CACHE_SIZE);
+        this.partialNameToFullNameCache = new ConcurrentLRUCache<String, Collection<Table>>(PARTIAL_NAME_CACHE_SIZE);
+        this.procedureCache = new ConcurrentLRUCache<String, Collection<StoredProcedureInfo>>(PROCEDURE_CACHE_SIZE);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        createCaches();
     }
 
     public TeiidParser getTeiidParser() {
@@ -1107,6 +1156,18 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
 		return record.getUUID() + "/" + key; //$NON-NLS-1$
 	}
 
+	/**
+	 * @return statistics of each of the metadata caches, keyed by cache name
+	 */
+	public Map<String, ConcurrentLRUCache.Statistics> getCacheStatistics() {
+		Map<String, ConcurrentLRUCache.Statistics> statistics = new LinkedHashMap<String, ConcurrentLRUCache.Statistics>();
+		statistics.put("metadata", metadataCache.getStatistics()); //$NON-NLS-1$
+		statistics.put("groupInfo", groupInfoCache.getStatistics()); //$NON-NLS-1$
+		statistics.put("partialName", partialNameToFullNameCache.getStatistics()); //$NON-NLS-1$
+		statistics.put("procedure", procedureCache.getStatistics()); //$NON-NLS-1$
+		return statistics;
+	}
+
 	@Override
 	public FunctionLibrary getFunctionLibrary() {
 		return this.functionLibrary;
@@ -1120,11 +1181,7 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
 	
 	@Override
 	public IQueryMetadataInterface getDesignTimeMetadata() {
-		TransformationMetadata tm = new TransformationMetadata(getTeiidParser(), store, functionLibrary);
-		tm.groupInfoCache = this.groupInfoCache;
-		tm.metadataCache = this.metadataCache;
-		tm.partialNameToFullNameCache = this.partialNameToFullNameCache;
-		tm.procedureCache = this.procedureCache; 
+		TransformationMetadata tm = new TransformationMetadata(this);
 		tm.scriptEngineManager = this.scriptEngineManager;
 		tm.importedModels = this.importedModels;
 		tm.allowedLanguages = this.allowedLanguages;
@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.query.parser;
+
+import org.komodo.spi.runtime.version.ITeiidVersion;
+import org.teiid.core.util.ConcurrentLRUCache;
+import org.teiid.query.sql.lang.Command;
+
+/**
+ * <p>Bounded cache of parsed commands, keyed by sql string, teiid version
+ * and whether the sql was parsed as a designer command.</p>
+ *
+ * <p>The cache keeps its own copy of each command and only ever hands out
+ * clones so callers are free to modify, eg. resolve, the commands they
+ * are given.</p>
+ *
+ * <p>Since the key includes the teiid version, a single cache can be
+ * shared between the {@link QueryParser}s of different versions.</p>
+ *
+ * <p>The commands are held in a {@link ConcurrentLRUCache}, so parsers on
+ * different threads can use the cache at once.</p>
+ */
+public class CommandCache {
+
+    /**
+     * Default number of commands held by the cache
+     */
+    public static final int DEFAULT_MAX_SIZE = 500;
+
+    private static class CacheKey {
+
+        private final String sql;
+
+        private final ITeiidVersion teiidVersion;
+
+        private final boolean designerCommand;
+
+        private final int hashCode;
+
+        public CacheKey(String sql, ITeiidVersion teiidVersion, boolean designerCommand) {
+            this.sql = sql;
+            this.teiidVersion = teiidVersion;
+            this.designerCommand = designerCommand;
+
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + sql.hashCode();
+            result = prime * result + teiidVersion.hashCode();
+            result = prime * result + (designerCommand ? 1231 : 1237);
+            this.hashCode = result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null) return false;
+            if (getClass() != obj.getClass()) return false;
+            CacheKey other = (CacheKey)obj;
+            if (this.hashCode != other.hashCode) return false;
+            if (this.designerCommand != other.designerCommand) return false;
+            if (!this.sql.equals(other.sql)) return false;
+            if (!this.teiidVersion.equals(other.teiidVersion)) return false;
+            return true;
+        }
+    }
+
+    private final ConcurrentLRUCache<CacheKey, Command> cache;
+
+    /**
+     * Create a cache holding at most {@link #DEFAULT_MAX_SIZE} commands
+     */
+    public CommandCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize maximum number of commands held by the cache
+     */
+    public CommandCache(int maxSize) {
+        this(maxSize, ConcurrentLRUCache.DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * @param maxSize maximum number of commands held by the cache
+     * @param concurrencyLevel estimated number of threads concurrently parsing through the cache
+     */
+    public CommandCache(int maxSize, int concurrencyLevel) {
+        this.cache = new ConcurrentLRUCache<CacheKey, Command>(maxSize, concurrencyLevel);
+    }
+
+    /**
+     * @param sql
+     * @param teiidVersion
+     * @param designerCommand
+     *
+     * @return a clone of the cached command or null if no command is cached
+     */
+    public Command get(String sql, ITeiidVersion teiidVersion, boolean designerCommand) {
+        Command command = cache.get(new CacheKey(sql, teiidVersion, designerCommand));
+        if (command == null)
+            return null;
+
+        return command.clone();
+    }
+
+    /**
+     * Cache a copy of the given command
+     *
+     * @param sql
+     * @param teiidVersion
+     * @param designerCommand
+     * @param command
+     */
+    public void put(String sql, ITeiidVersion teiidVersion, boolean designerCommand, Command command) {
+        cache.put(new CacheKey(sql, teiidVersion, designerCommand), command.clone());
+    }
+
+    /**
+     * Remove all commands from the cache. The statistics are not reset.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return number of commands currently cached
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return maximum number of commands held by the cache
+     */
+    public int getMaxSize() {
+        return cache.getMaxSize();
+    }
+
+    /**
+     * @return snapshot of the hits, misses and evictions of the cache
+     */
+    public ConcurrentLRUCache.Statistics getStatistics() {
+        return cache.getStatistics();
+    }
+}
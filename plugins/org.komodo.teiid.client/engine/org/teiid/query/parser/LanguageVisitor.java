@@ -274,7 +274,7 @@ public abstract class LanguageVisitor extends AbstractLanguageVisitor {
 
     protected boolean isTeiidVersionOrGreater(Version teiidVersion) {
         ITeiidVersion minVersion = getTeiidVersion().getMinimumVersion();
-        return minVersion.equals(teiidVersion.get()) || minVersion.isGreaterThan(teiidVersion.get());
+        return ! minVersion.isLessThan(teiidVersion.get());
     }
 
     protected boolean isLessThanTeiidVersion(Version teiidVersion) {
@@ -44,15 +44,42 @@ import org.teiid.runtime.client.TeiidClientException;
 
 /**
  * <p>Converts a SQL-string to an object version of a query.  This
- * QueryParser can be reused but is NOT thread-safe as the parser uses an
- * input stream.  Putting multiple queries into the same stream will result
- * in unpredictable and most likely incorrect behavior.</p>
+ * QueryParser can be reused and is thread-safe.</p>
+ *
+ * <p>A {@link TeiidParser} consumes an input stream so cannot be shared
+ * between concurrent parses. Each thread is therefore given its own
+ * parser, which is re-initialised for every parse so that its token
+ * manager and char stream are reused rather than recreated.</p>
  */
 public class QueryParser implements IQueryParser {
 
-	private TeiidParser teiidParser;
+    /**
+     * The parser belonging to the thread that constructed this query parser.
+     * Used as the owner of language objects created outside of parsing,
+     * eg. by the query factory or the resolver.
+     */
+	private final TeiidParser teiidParser;
+
+	/**
+	 * Parsers dedicated to each thread parsing with this query parser.
+	 * Every thread, including the one that constructed this query parser,
+	 * is given its own parser rather than {@link #teiidParser}, which may be
+	 * in use by other threads. A parser is held for each thread that has
+	 * parsed, eg. each thread of a pool, for the lifetime of this query parser.
+	 */
+	private final ThreadLocal<TeiidParser> threadParsers = new ThreadLocal<TeiidParser>() {
+	    @Override
+	    protected TeiidParser initialValue() {
+	        return createTeiidParser(new StringReader("")); //$NON-NLS-1$
+	    }
+	};
 
     private final ITeiidVersion teiidVersion;
+
+    /**
+     * Optional cache of parsed commands
+     */
+    private volatile CommandCache commandCache;
     
 	/**
 	 * Construct a QueryParser - this may be reused.
@@ -88,6 +115,27 @@ public class QueryParser implements IQueryParser {
 	}
 
     /**
+     * @return the cache of parsed commands or null if commands are not being cached
+     */
+    public CommandCache getCommandCache() {
+        return this.commandCache;
+    }
+
+    /**
+     * Set the cache consulted by {@link #parseCommand(String)} and
+     * {@link #parseDesignerCommand(String)}. Caching is disabled by default.
+     *
+     * @param commandCache the cache to use or null to disable caching
+     */
+    public void setCommandCache(CommandCache commandCache) {
+        this.commandCache = commandCache;
+    }
+
+    /**
+     * The returned parser should only be used for creating
+     * language objects and not for parsing since it may be
+     * in use by another thread.
+     *
      * @return the teiidParser
      */
     public TeiidParser getTeiidParser() {
@@ -96,19 +144,19 @@ public class QueryParser implements IQueryParser {
 
     /**
      * @param sql
-     * @return the {@link TeiidParser} initialised with the given sql
+     * @return the calling thread's {@link TeiidParser} initialised with the given sql
      */
     public TeiidParser getTeiidParser(String sql) {
         return getSqlParser(new StringReader(sql));
     }
 
 	private TeiidParser getSqlParser(Reader sql) {
-		if(teiidParser == null) {
-		    teiidParser = createTeiidParser(sql);
-		} else
-		    teiidParser.ReInit(sql);
+	    if (sql == null)
+	        throw new IllegalArgumentException(Messages.gs(Messages.TEIID.TEIID30377));
 
-		return teiidParser;
+	    TeiidParser parser = threadParsers.get();
+	    parser.ReInit(sql);
+	    return parser;
 	}
 
 	@Deprecated
@@ -163,7 +211,7 @@ public class QueryParser implements IQueryParser {
 	 */	
 	@Override
     public Command parseCommand(String sql) throws Exception {
-	    return parseCommand(sql, new ParseInfo(), false);
+	    return parseCachedCommand(sql, false);
 	}
 
 	/**
@@ -191,7 +239,21 @@ public class QueryParser implements IQueryParser {
      */
     @Override
     public Command parseDesignerCommand(String sql) throws Exception {
-        return parseCommand(sql, new ParseInfo(), true);
+        return parseCachedCommand(sql, true);
+    }
+
+    private Command parseCachedCommand(String sql, boolean designerCommands) throws Exception {
+        CommandCache cache = this.commandCache;
+        if (cache == null || sql == null)
+            return parseCommand(sql, new ParseInfo(), designerCommands);
+
+        Command result = cache.get(sql, teiidVersion, designerCommands);
+        if (result != null)
+            return result;
+
+        result = parseCommand(sql, new ParseInfo(), designerCommands);
+        cache.put(sql, teiidVersion, designerCommands, result);
+        return result;
     }
 
 	private Command parseCommand(String sql, ParseInfo parseInfo, boolean designerCommands) throws Exception {
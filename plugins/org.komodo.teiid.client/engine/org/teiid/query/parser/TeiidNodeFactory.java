@@ -143,7 +143,22 @@ import org.teiid.runtime.client.Messages;
  */
 public class TeiidNodeFactory {
 
-    private static TeiidNodeFactory instance;
+    private static final TeiidNodeFactory instance = new TeiidNodeFactory();
+
+    /**
+     * Value of a node id table entry where the parser has no such node
+     */
+    private static final int NO_NODE_ID = -1;
+
+    /**
+     * Teiid 7 parser node ids indexed by {@link ASTNodes} ordinal
+     */
+    private final int[] teiid7NodeIds = indexNodeIds(Teiid7ParserTreeConstants.jjtNodeName);
+
+    /**
+     * Teiid 8 parser node ids indexed by {@link ASTNodes} ordinal
+     */
+    private final int[] teiid8NodeIds = indexNodeIds(Teiid8ParserTreeConstants.jjtNodeName);
 
     /**
      * Singleton instance of this factory
@@ -151,8 +166,6 @@ public class TeiidNodeFactory {
      * @return teiidNodeFactory
      */
     public static TeiidNodeFactory getInstance() {
-        if (instance == null) instance = new TeiidNodeFactory();
-
         return instance;
     }
 
@@ -164,6 +177,30 @@ public class TeiidNodeFactory {
         return teiidParser instanceof Teiid8Parser;
     }
 
+    /**
+     * Map each of the {@link ASTNodes} to the index of its
+     * name in the given parser's node names
+     *
+     * @param nodeNames
+     * @return table of node ids indexed by {@link ASTNodes} ordinal
+     */
+    private static int[] indexNodeIds(String[] nodeNames) {
+        ASTNodes[] astNodes = ASTNodes.values();
+        int[] nodeIds = new int[astNodes.length];
+        Arrays.fill(nodeIds, NO_NODE_ID);
+
+        for (ASTNodes astNode : astNodes) {
+            for (int i = 0; i < nodeNames.length; ++i) {
+                if (nodeNames[i].equalsIgnoreCase(astNode.getName())) {
+                    nodeIds[astNode.ordinal()] = i;
+                    break;
+                }
+            }
+        }
+
+        return nodeIds;
+    }
+
     /**
      * Create a parser node for the node with the given common node name
      * @see TeiidParser#createASTNode(ASTNodes)
@@ -174,23 +211,16 @@ public class TeiidNodeFactory {
      * @return node applicable to the given parser
      */
     public <T extends LanguageObject> T create(TeiidParser teiidParser, ASTNodes nodeType) {
-        
-        if (isTeiid8Parser(teiidParser)) {
-            for (int i = 0; i < Teiid8ParserTreeConstants.jjtNodeName.length; ++i) {
-                String constantName = Teiid8ParserTreeConstants.jjtNodeName[i];
-                if (! constantName.equalsIgnoreCase(nodeType.getName()))
-                    continue;
+        int nodeId = NO_NODE_ID;
 
-                return create(teiidParser, i);
-            }
+        if (isTeiid8Parser(teiidParser)) {
+            nodeId = teiid8NodeIds[nodeType.ordinal()];
+            if (nodeId != NO_NODE_ID)
+                return create((Teiid8Parser) teiidParser, nodeId);
         } else if (isTeiid7Parser(teiidParser)) {
-            for (int i = 0; i < Teiid7ParserTreeConstants.jjtNodeName.length; ++i) {
-                String constantName = Teiid7ParserTreeConstants.jjtNodeName[i];
-                if (! constantName.equalsIgnoreCase(nodeType.getName()))
-                    continue;
-
-                return create(teiidParser, i);
-            }
+            nodeId = teiid7NodeIds[nodeType.ordinal()];
+            if (nodeId != NO_NODE_ID)
+                return create((Teiid7Parser) teiidParser, nodeId);
         }
 
         throw new IllegalArgumentException(Messages.getString(Messages.TeiidParser.invalidNodeType, nodeType.getName(), teiidParser.getVersion()));
@@ -23,14 +23,15 @@
 package org.teiid.query.sql;
 
 import java.lang.reflect.Field;
-import java.util.Collections;
 import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.komodo.spi.annotation.AnnotationUtils;
 import org.komodo.spi.annotation.Removed;
 import org.komodo.spi.runtime.version.ITeiidVersion;
 import org.komodo.spi.runtime.version.TeiidVersion.Version;
+import org.teiid.core.util.CaseInsensitiveWordSet;
 import org.teiid.language.SQLConstants.Reserved;
 
 /**
@@ -55,9 +56,10 @@ public class ProcedureReservedWords {
     
     public static final String DVARS = "DVARS"; //$NON-NLS-1$
 
-    private static ITeiidVersion CACHED_TEIID_VERSION = null;
-
-    private static Set<String> RESERVED_WORDS = null;
+    /**
+     * Reserved words of each teiid version, determined once for each version
+     */
+    private static final ConcurrentMap<ITeiidVersion, CaseInsensitiveWordSet> RESERVED_WORDS = new ConcurrentHashMap<ITeiidVersion, CaseInsensitiveWordSet>();
 
     /** Can't construct */
     private ProcedureReservedWords() {}
@@ -65,7 +67,7 @@ public class ProcedureReservedWords {
     /**
      * @throws AssertionError
      */
-    private static Set<String> extractFieldNames(Class<?> clazz) throws AssertionError {
+    private static CaseInsensitiveWordSet extractFieldNames(Class<?> clazz, ITeiidVersion teiidVersion) throws AssertionError {
         HashSet<String> result = new HashSet<String>();
         Field[] fields = clazz.getDeclaredFields();
         for (Field field : fields) {
@@ -76,7 +78,7 @@ public class ProcedureReservedWords {
             // then word should not be included in the word sets
             if (AnnotationUtils.hasAnnotation(field, Removed.class)) {
                 Removed removed = AnnotationUtils.getAnnotation(field, Removed.class);
-                if (AnnotationUtils.isGreaterThanOrEqualTo(removed, CACHED_TEIID_VERSION))
+                if (AnnotationUtils.isGreaterThanOrEqualTo(removed, teiidVersion))
                     continue;
             }
 
@@ -86,15 +88,25 @@ public class ProcedureReservedWords {
                 }
             } catch (Exception e) {}
         }
-        return Collections.unmodifiableSet(result);
+        return new CaseInsensitiveWordSet(result);
     }
 
     /**
      * @param teiidVersion
      */
-    private static void initialiseConstants(ITeiidVersion teiidVersion) {
-        CACHED_TEIID_VERSION = teiidVersion;
-        RESERVED_WORDS = extractFieldNames(ProcedureReservedWords.class);
+    private static CaseInsensitiveWordSet getReservedWords(ITeiidVersion teiidVersion) {
+        if (teiidVersion == null)
+            return extractFieldNames(ProcedureReservedWords.class, teiidVersion);
+
+        CaseInsensitiveWordSet words = RESERVED_WORDS.get(teiidVersion);
+        if (words == null) {
+            words = extractFieldNames(ProcedureReservedWords.class, teiidVersion);
+            CaseInsensitiveWordSet existing = RESERVED_WORDS.putIfAbsent(teiidVersion, words);
+            if (existing != null)
+                words = existing;
+        }
+
+        return words;
     }
 
     /**
@@ -107,10 +119,6 @@ public class ProcedureReservedWords {
         if (str == null) 
             return false;
 
-        String word = str.toUpperCase();
-        if (CACHED_TEIID_VERSION == null || ! CACHED_TEIID_VERSION.equals(teiidVersion) || RESERVED_WORDS == null)
-            initialiseConstants(teiidVersion);
-
-        return RESERVED_WORDS.contains(word);
+        return getReservedWords(teiidVersion).containsIgnoreCase(str);
     }
 }
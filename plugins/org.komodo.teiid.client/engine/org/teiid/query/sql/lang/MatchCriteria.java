@@ -8,7 +8,7 @@ import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.komodo.spi.query.sql.lang.IMatchCriteria;
-import org.teiid.core.util.LRUCache;
+import org.teiid.core.util.ConcurrentLRUCache;
 import org.teiid.core.util.PropertiesUtils;
 import org.teiid.query.parser.LanguageVisitor;
 import org.teiid.query.parser.TeiidParser;
@@ -189,8 +189,32 @@ public class MatchCriteria extends Criteria
         return clone;
     }
 
-    private final static LRUCache<List<?>, Pattern> patternCache = new LRUCache<List<?>, Pattern>(100);
-    
+    /**
+     * Maximum number of compiled patterns held by the shared pattern cache
+     */
+    public static final int PATTERN_CACHE_SIZE = PropertiesUtils.getIntProperty(System.getProperties(), "org.teiid.patternCacheSize", 200); //$NON-NLS-1$
+
+    /*
+     * Shared by the regular expressions compiled by {@link #getPattern(String, String, int)}
+     * and the matchers created by each {@link PatternTranslator}
+     */
+    private final static ConcurrentLRUCache<List<?>, PatternMatcher> patternCache = new ConcurrentLRUCache<List<?>, PatternMatcher>(PATTERN_CACHE_SIZE);
+
+    /**
+     * @return statistics of the shared pattern cache
+     */
+    public static ConcurrentLRUCache.Statistics getPatternCacheStatistics() {
+        return patternCache.getStatistics();
+    }
+
+    private static Pattern compile(String newPattern, String originalPattern) throws Exception {
+        try {
+            return Pattern.compile(newPattern, Pattern.DOTALL);
+        } catch(PatternSyntaxException e) {
+             throw new TeiidClientException(e, Messages.gs(Messages.TEIID.TEIID30448, new Object[]{originalPattern, e.getMessage()}));
+        }
+    }
+
     /**
      * @param newPattern
      * @param originalPattern
@@ -200,16 +224,132 @@ public class MatchCriteria extends Criteria
      */
     public static Pattern getPattern(String newPattern, String originalPattern, int flags) throws Exception {
         List<?> key = Arrays.asList(newPattern, flags);
-        Pattern p = patternCache.get(key);
-        if (p == null) {
-            try {           
-                p = Pattern.compile(newPattern, Pattern.DOTALL);
-                patternCache.put(key, p);
-            } catch(PatternSyntaxException e) {
-                 throw new TeiidClientException(e, Messages.gs(Messages.TEIID.TEIID30448, new Object[]{originalPattern, e.getMessage()}));
+        PatternMatcher matcher = patternCache.get(key);
+        if (matcher == null) {
+            matcher = new RegexMatcher(compile(newPattern, originalPattern));
+            patternCache.put(key, matcher);
+        }
+        return ((RegexMatcher) matcher).getPattern();
+    }
+
+    /**
+     * Compiled form of a match pattern
+     */
+    public static abstract class PatternMatcher {
+
+        /**
+         * @param search
+         * @return true if the search value matches the pattern
+         */
+        public abstract boolean matches(CharSequence search);
+    }
+
+    private static class RegexMatcher extends PatternMatcher {
+
+        private final Pattern pattern;
+
+        public RegexMatcher(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        public Pattern getPattern() {
+            return this.pattern;
+        }
+
+        @Override
+        public boolean matches(CharSequence search) {
+            return pattern.matcher(search).find();
+        }
+    }
+
+    /**
+     * Matches patterns only made up of literal characters
+     * with an optional leading and / or trailing match-any.
+     *
+     * As with the $ ending the equivalent regular expression, a
+     * pattern without a trailing match-any also matches a search
+     * value ending with a single line terminator.
+     */
+    private static class LiteralMatcher extends PatternMatcher {
+
+        private final String literal;
+
+        private final boolean anyPrefix;
+
+        private final boolean anySuffix;
+
+        public LiteralMatcher(String literal, boolean anyPrefix, boolean anySuffix) {
+            this.literal = literal;
+            this.anyPrefix = anyPrefix;
+            this.anySuffix = anySuffix;
+        }
+
+        private boolean regionMatches(CharSequence search, int offset) {
+            for (int i = 0; i < literal.length(); ++i) {
+                if (search.charAt(offset + i) != literal.charAt(i))
+                    return false;
             }
+            return true;
+        }
+
+        @Override
+        public boolean matches(CharSequence search) {
+            int diff = search.length() - literal.length();
+            if (diff < 0)
+                return false;
+
+            if (anyPrefix && anySuffix) {
+                if (search instanceof String)
+                    return ((String) search).indexOf(literal) >= 0;
+
+                for (int i = 0; i <= diff; ++i) {
+                    if (regionMatches(search, i))
+                        return true;
+                }
+                return false;
+            }
+
+            if (anySuffix)
+                return regionMatches(search, 0);
+
+            if (matchesEndingAt(search, search.length()))
+                return true;
+
+            int end = lineTerminatorIndex(search);
+            return end != search.length() && matchesEndingAt(search, end);
+        }
+
+        private boolean matchesEndingAt(CharSequence search, int end) {
+            int start = end - literal.length();
+            if (start < 0 || (!anyPrefix && start != 0))
+                return false;
+
+            return regionMatches(search, start);
+        }
+
+        /**
+         * @param search
+         * @return the index of the line terminator ending the search value
+         *                  or its length if it does not end with a line terminator
+         */
+        private static int lineTerminatorIndex(CharSequence search) {
+            int length = search.length();
+            if (length == 0)
+                return length;
+
+            char last = search.charAt(length - 1);
+            if (last == '\n') {
+                if (length > 1 && search.charAt(length - 2) == '\r')
+                    return length - 2;
+
+                return length - 1;
+            }
+
+            if (last == '\r' || last == '\u0085' || last == '\u2028' || last == '\u2029')
+                return length - 1;
+
+            return length;
         }
-        return p;
     }
 
     /**
@@ -221,7 +361,7 @@ public class MatchCriteria extends Criteria
         private char[] toReplace;
         private String[] replacements;
         private int flags;
-        private final LRUCache<List<?>, Pattern> cache = new LRUCache<List<?>, Pattern>(100);
+        private boolean likeSyntax;
 
         /**
          * @param toReplace replacement for %
@@ -236,6 +376,7 @@ public class MatchCriteria extends Criteria
             this.toReplace = toReplace;
             this.replacements = replacements;
             this.flags = flags;
+            this.likeSyntax = Arrays.equals(toReplace, new char[] {'%', '_'});
         }
         
         /**
@@ -245,19 +386,84 @@ public class MatchCriteria extends Criteria
          * @throws Exception
          */
         public Pattern translate(String pattern, char escape) throws Exception {
-            List<?> key = Arrays.asList(pattern, escape);
-            Pattern result = null;
-            synchronized (cache) {
-                result = cache.get(key);
+            String newPattern = getPatternString(pattern, escape);
+            return getPattern(newPattern, pattern, flags);
+        }
+
+        /**
+         * Get the matcher for the given pattern from the shared pattern
+         * cache, creating it if not already cached.
+         *
+         * When translating from LIKE, patterns consisting only of literal characters
+         * and a leading and / or trailing % are matched without the use of a
+         * regular expression.
+         *
+         * @param pattern
+         * @param escape
+         * @return matcher of the pattern
+         * @throws Exception
+         */
+        public PatternMatcher getMatcher(String pattern, char escape) throws Exception {
+            List<?> key = Arrays.asList(this, pattern, escape);
+            PatternMatcher matcher = patternCache.get(key);
+            if (matcher == null) {
+                matcher = getLiteralMatcher(pattern, escape);
+                if (matcher == null)
+                    matcher = new RegexMatcher(compile(getPatternString(pattern, escape), pattern));
+
+                patternCache.put(key, matcher);
             }
-            if (result == null) {
-                String newPattern = getPatternString(pattern, escape);
-                result = getPattern(newPattern, pattern, flags);
-                synchronized (cache) {
-                    cache.put(key, result);
+            return matcher;
+        }
+
+        /**
+         * @param pattern
+         * @param escape
+         * @return a literal matcher or null if the pattern requires a regular expression
+         */
+        private PatternMatcher getLiteralMatcher(String pattern, char escape) {
+            if (!likeSyntax || escape == '%' || escape == '_')
+                return null;
+
+            int startChar = 0;
+            boolean startsWithMatchAny = false;
+            if (pattern.length() > 0 && pattern.charAt(0) == '%') {
+                startChar = 1;
+                startsWithMatchAny = true;
+            }
+
+            StringBuilder literal = new StringBuilder(pattern.length());
+            boolean escaped = false;
+            boolean endsWithMatchAny = false;
+            for (int i = startChar; i < pattern.length(); i++) {
+                char character = pattern.charAt(i);
+
+                if (character == escape && character != NULL_ESCAPE_CHAR) {
+                    if (escaped)
+                        literal.append(character);
+
+                    escaped = !escaped;
+                } else if (character == '%' || character == '_') {
+                    if (escaped) {
+                        literal.append(character);
+                        escaped = false;
+                    } else if (character == '%' && i == pattern.length() - 1) {
+                        endsWithMatchAny = true;
+                    } else {
+                        return null;
+                    }
+                } else if (escaped) {
+                    // Invalid escape so leave the error to the regular expression translation
+                    return null;
+                } else {
+                    literal.append(character);
                 }
             }
-            return result;
+
+            if (escaped)
+                return null;
+
+            return new LiteralMatcher(literal.toString(), startsWithMatchAny, endsWithMatchAny);
         }
 
         /**
@@ -2,11 +2,15 @@
 /* JavaCCOptions:MULTI=true,NODE_USES_PARSER=true,VISITOR=true,TRACK_TOKENS=false,NODE_PREFIX=,NODE_EXTENDS=,NODE_FACTORY=TeiidNodeFactory,SUPPORT_CLASS_VISIBILITY_PUBLIC=true */
 package org.teiid.query.sql.lang;
 
+import java.math.BigDecimal;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.komodo.spi.query.sql.lang.ISetCriteria;
 import org.teiid.query.parser.LanguageVisitor;
 import org.teiid.query.parser.TeiidParser;
+import org.teiid.query.sql.symbol.Constant;
 import org.teiid.query.sql.symbol.Expression;
 
 /**
@@ -19,6 +23,76 @@ public class SetCriteria extends AbstractSetCriteria implements ISetCriteria<Exp
 
     private boolean allConstants;
 
+    /**
+     * Hashed values of the constants, built when first evaluated.
+     *
+     * The lookup holds its own copy of the values so is discarded
+     * whenever the values may have changed, see {@link SetCriteria#getValues()}
+     */
+    private static class ConstantLookup {
+
+        private final Class<?> type;
+
+        private final int size;
+
+        private final Set<Object> hashedValues;
+
+        private boolean containsNull;
+
+        public ConstantLookup(Collection<Expression> values, Class<?> type) {
+            this.type = type;
+            this.size = values.size();
+            this.hashedValues = new HashSet<Object>(size * 2);
+
+            for (Expression expression : values) {
+                if (! (expression instanceof Constant))
+                    continue;
+
+                Constant constant = (Constant) expression;
+                Object value = constant.getValue();
+                if (value == null) {
+                    containsNull = true;
+                    continue;
+                }
+
+                if (constant.isMultiValued())
+                    continue;
+
+                // Consistent with Constant.equals, decimals match regardless of type
+                if (value instanceof BigDecimal || equalTypes(type, constant.getType()))
+                    hashedValues.add(normalize(value));
+            }
+        }
+
+        private static boolean equalTypes(Class<?> type1, Class<?> type2) {
+            return type1 == null ? type2 == null : type1.equals(type2);
+        }
+
+        /**
+         * Consistent with Constant.equals, decimals compare regardless of scale
+         */
+        private static Object normalize(Object value) {
+            if (! (value instanceof BigDecimal))
+                return value;
+
+            BigDecimal bd = (BigDecimal) value;
+            if (bd.signum() == 0)
+                return BigDecimal.ZERO;
+
+            return bd.stripTrailingZeros();
+        }
+
+        public boolean isValidFor(Class<?> type) {
+            return equalTypes(this.type, type);
+        }
+
+        public boolean contains(Object value) {
+            return hashedValues.contains(normalize(value));
+        }
+    }
+
+    private volatile ConstantLookup constantLookup;
+
     /**
      * @param p
      * @param id
@@ -28,10 +102,15 @@ public class SetCriteria extends AbstractSetCriteria implements ISetCriteria<Exp
     }
 
     /**
+     * The returned collection, and the constants within it, may be
+     * modified in place so the hashed constant values are discarded
+     * and built again on the next use of {@link #containsConstantValue(Object)}.
+     *
      * @return the values
      */
     @Override
     public Collection<Expression> getValues() {
+        this.constantLookup = null;
         return this.values;
     }
 
@@ -41,6 +120,7 @@ public class SetCriteria extends AbstractSetCriteria implements ISetCriteria<Exp
     @Override
     public void setValues(Collection<Expression> values) {
         this.values = values;
+        this.constantLookup = null;
     }
 
     /**
@@ -55,6 +135,49 @@ public class SetCriteria extends AbstractSetCriteria implements ISetCriteria<Exp
      */
     public void setAllConstants(boolean allConstants) {
         this.allConstants = allConstants;
+        this.constantLookup = null;
+    }
+
+    private ConstantLookup getConstantLookup() {
+        Class<?> type = getExpression() == null ? null : getExpression().getType();
+        ConstantLookup lookup = constantLookup;
+        if (lookup == null || ! lookup.isValidFor(type)) {
+            lookup = new ConstantLookup(values, type);
+            constantLookup = lookup;
+        }
+        return lookup;
+    }
+
+    /**
+     * Determine whether the given value, typed as the expression of this
+     * criteria, equals one of the constant values without the creation of
+     * a {@link Constant}. The hashed constant values are built on first use.
+     *
+     * Only applicable if {@link #isAllConstants()}
+     *
+     * @param value non-null value
+     * @return true if the value is among the constant values
+     */
+    public boolean containsConstantValue(Object value) {
+        return getConstantLookup().contains(value);
+    }
+
+    /**
+     * Only applicable if {@link #isAllConstants()}
+     *
+     * @return true if one of the constant values is null
+     */
+    public boolean containsNullConstant() {
+        return getConstantLookup().containsNull;
+    }
+
+    /**
+     * Only applicable if {@link #isAllConstants()}
+     *
+     * @return true if there are no constant values
+     */
+    public boolean hasNoConstants() {
+        return getConstantLookup().size == 0;
     }
 
     @Override
@@ -45,7 +45,7 @@ public class SimpleNode implements Node, LanguageObject {
 
     protected boolean isTeiidVersionOrGreater(Version teiidVersion) {
         ITeiidVersion minVersion = getTeiidVersion().getMinimumVersion();
-        return minVersion.equals(teiidVersion.get()) || minVersion.isGreaterThan(teiidVersion.get());
+        return ! minVersion.isLessThan(teiidVersion.get());
     }
 
     protected boolean isLessThanTeiidVersion(Version teiidVersion) {
@@ -5,10 +5,10 @@ package org.teiid.query.sql.symbol;
 import java.math.BigDecimal;
 import java.text.Collator;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.komodo.spi.query.sql.symbol.IConstant;
 import org.komodo.spi.runtime.version.ITeiidVersion;
@@ -32,7 +32,7 @@ public class Constant extends SimpleNode implements Expression, IConstant<Langua
 
     private boolean multiValued;
 
-    private static Map<ITeiidVersion, Constant> nullCache = new HashMap<ITeiidVersion, Constant>();
+    private static final ConcurrentMap<ITeiidVersion, Constant> nullCache = new ConcurrentHashMap<ITeiidVersion, Constant>();
     
     /**
      * @param teiidParser
@@ -42,7 +42,10 @@ public class Constant extends SimpleNode implements Expression, IConstant<Langua
         Constant constant = nullCache.get(teiidParser.getVersion());
         if (constant == null) {
             constant = teiidParser.createASTNode(ASTNodes.CONSTANT);
-            nullCache.put(teiidParser.getVersion(), constant);
+            Constant existing = nullCache.putIfAbsent(teiidParser.getVersion(), constant);
+            if (existing != null) {
+                constant = existing;
+            }
         }
 
         return constant;
@@ -63,6 +63,7 @@ import org.teiid.adminapi.PropertyDefinition;
 import org.teiid.adminapi.Translator;
 import org.teiid.adminapi.VDB;
 import org.teiid.core.util.ArgCheck;
+import org.teiid.jdbc.MetadataResultCache;
 import org.teiid.jdbc.TeiidDriver;
 import org.teiid.runtime.client.Messages;
 
@@ -197,6 +198,7 @@ public class ExecutionAdmin implements IExecutionAdmin {
     
     private void doDeployVdb(String deploymentName, String vdbName, int vdbVersion, InputStream inStream) throws Exception {
         adminSpec.deploy(admin, deploymentName, inStream);
+        MetadataResultCache.invalidate(vdbName, vdbVersion);
         // Give a 0.5 sec pause for the VDB to finish loading metadata.
         try {
             Thread.sleep(500);
@@ -732,6 +734,7 @@ public class ExecutionAdmin implements IExecutionAdmin {
         ITeiidVdb vdb = getVdb(vdbName);
         if(vdb!=null) {
         	adminSpec.undeploy(admin, appendVdbExtension(vdbName), vdb.getVersion());
+        	MetadataResultCache.invalidate(vdb.getName(), vdb.getVersion());
         }
         vdb = getVdb(vdbName);
 
@@ -749,6 +752,7 @@ public class ExecutionAdmin implements IExecutionAdmin {
         ITeiidVdb vdb = getVdb(vdbName);
         if(vdb!=null) {
         	adminSpec.undeploy(admin, appendDynamicVdbSuffix(vdbName), vdb.getVersion());
+        	MetadataResultCache.invalidate(vdb.getName(), vdb.getVersion());
         }
         vdb = getVdb(vdbName);
 
@@ -769,6 +773,7 @@ public class ExecutionAdmin implements IExecutionAdmin {
      */
     public void undeployVdb( String vdbName, int vdbVersion ) throws Exception {
         adminSpec.undeploy(admin, appendVdbExtension(vdbName), vdbVersion);
+        MetadataResultCache.invalidate(vdbName, vdbVersion);
         ITeiidVdb vdb = getVdb(vdbName);
 
         refreshVDBs();
@@ -989,6 +994,9 @@ public class ExecutionAdmin implements IExecutionAdmin {
                 KLog.getLogger().error(Messages.getString(Messages.ExecutionAdmin.refreshVdbException, vdbName), ex);
             }
 
+            // metadata read while the vdb was loading is no longer valid
+            MetadataResultCache.invalidate(vdbName, vdbVersion);
+
             eventManager.notifyListeners(ExecutionConfigurationEvent.createDeployVDBEvent(vdb.getName()));
         }
 
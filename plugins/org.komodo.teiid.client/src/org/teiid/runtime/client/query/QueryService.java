@@ -22,8 +22,11 @@
 package org.teiid.runtime.client.query;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -94,6 +97,69 @@ import org.teiid.runtime.client.xml.MappingDocumentFactory;
  */
 public class QueryService implements IQueryService {
 
+    /**
+     * Snapshot of the content of a {@link FunctionMethodDescriptor},
+     * which is mutable, so that a change to a descriptor is detected
+     */
+    private static class FunctionKey {
+
+        private final Object[] content;
+
+        private final int hashCode;
+
+        public FunctionKey(FunctionMethodDescriptor descriptor) {
+            FunctionParameterDescriptor[] inputParameters = descriptor.getInputParameters();
+            FunctionParameterDescriptor outputParameter = descriptor.getOutputParameter();
+            List<Object> values = new ArrayList<Object>(12 + inputParameters.length * 2);
+            values.add(descriptor.getMetadataID());
+            values.add(descriptor.getName());
+            values.add(descriptor.getDescription());
+            values.add(descriptor.getCategory());
+            values.add(descriptor.getInvocationClass());
+            values.add(descriptor.getInvocationMethod());
+            values.add(descriptor.getPushDownLiteral());
+            values.add(descriptor.isDeterministic());
+            values.add(descriptor.isVariableArgs());
+            values.add(outputParameter.getName());
+            values.add(outputParameter.getType());
+            for (FunctionParameterDescriptor paramDescriptor : inputParameters) {
+                values.add(paramDescriptor.getName());
+                values.add(paramDescriptor.getType());
+            }
+            this.content = values.toArray();
+            this.hashCode = Arrays.hashCode(content);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof FunctionKey)) return false;
+            FunctionKey other = (FunctionKey)obj;
+            return this.hashCode == other.hashCode && Arrays.equals(this.content, other.content);
+        }
+    }
+
+    /**
+     * The function tree of a schema along with the keys of the
+     * descriptors, in order, from which it was built
+     */
+    private static class SchemaFunctions {
+
+        private final List<FunctionKey> keys;
+
+        private final FunctionTree tree;
+
+        public SchemaFunctions(List<FunctionKey> keys, FunctionTree tree) {
+            this.keys = keys;
+            this.tree = tree;
+        }
+    }
+
     private final ITeiidVersion teiidVersion;
 
     private QueryParser queryParser;
@@ -102,19 +168,22 @@ public class QueryService implements IQueryService {
 
     private SyntaxFactory factory;
 
+    // User defined function trees by schema, as of the last function library created
+    private final Map<String, SchemaFunctions> userFunctionTrees = new HashMap<String, SchemaFunctions>();
+
     /**
      * @param teiidVersion
      */
     public QueryService(ITeiidVersion teiidVersion) {
         this.teiidVersion = teiidVersion;
-        systemFunctionManager = new SystemFunctionManager(teiidVersion, getClass().getClassLoader());
+        systemFunctionManager = SystemFunctionManager.getInstance(teiidVersion);
     }
 
     /**
      * @return a query parser applicable to the given teiid instance version
      */
     @Override
-    public IQueryParser getQueryParser() {
+    public synchronized IQueryParser getQueryParser() {
         if (queryParser == null) {
             queryParser = new QueryParser(teiidVersion);
         }
@@ -153,10 +222,50 @@ public class QueryService implements IQueryService {
     }
 
     @Override
-    public IFunctionLibrary createFunctionLibrary(List<FunctionMethodDescriptor> functionMethodDescriptors) {
+    public synchronized IFunctionLibrary createFunctionLibrary(List<FunctionMethodDescriptor> functionMethodDescriptors) {
 
-        // Dynamically return a function library for each call rather than cache it here.
-        Map<String, FunctionTree> functionTrees = new HashMap<String, FunctionTree>();
+        // Group the descriptors by schema, in the order the schemas are first seen
+        Map<String, List<FunctionMethodDescriptor>> schemaDescriptors = new LinkedHashMap<String, List<FunctionMethodDescriptor>>();
+        for (FunctionMethodDescriptor descriptor : functionMethodDescriptors) {
+            List<FunctionMethodDescriptor> descriptors = schemaDescriptors.get(descriptor.getSchema());
+            if (descriptors == null) {
+                descriptors = new ArrayList<FunctionMethodDescriptor>();
+                schemaDescriptors.put(descriptor.getSchema(), descriptors);
+            }
+            descriptors.add(descriptor);
+        }
+
+        // Forget the schemas that no longer have any functions
+        Iterator<String> schemas = userFunctionTrees.keySet().iterator();
+        while (schemas.hasNext()) {
+            if (!schemaDescriptors.containsKey(schemas.next()))
+                schemas.remove();
+        }
+
+        // Only rebuild the trees of schemas whose functions were added, removed or changed.
+        // Trees are never modified once built since earlier function libraries may still use them.
+        List<FunctionTree> functionTrees = new ArrayList<FunctionTree>(schemaDescriptors.size());
+        for (Map.Entry<String, List<FunctionMethodDescriptor>> entry : schemaDescriptors.entrySet()) {
+            List<FunctionKey> keys = new ArrayList<FunctionKey>(entry.getValue().size());
+            for (FunctionMethodDescriptor descriptor : entry.getValue()) {
+                keys.add(new FunctionKey(descriptor));
+            }
+
+            SchemaFunctions schemaFunctions = userFunctionTrees.get(entry.getKey());
+            if (schemaFunctions == null || !schemaFunctions.keys.equals(keys)) {
+                schemaFunctions = new SchemaFunctions(keys, createFunctionTree(entry.getKey(), entry.getValue()));
+                userFunctionTrees.put(entry.getKey(), schemaFunctions);
+            }
+
+            functionTrees.add(schemaFunctions.tree);
+        }
+
+        return new FunctionLibrary(teiidVersion, systemFunctionManager.getSystemFunctions(),
+                                   functionTrees.toArray(new FunctionTree[functionTrees.size()]));
+    }
+
+    private FunctionTree createFunctionTree(String schema, List<FunctionMethodDescriptor> functionMethodDescriptors) {
+        FunctionTree tree = new FunctionTree(teiidVersion, schema, new UDFSource(Collections.EMPTY_LIST, getClass().getClassLoader()), false);
 
         for (FunctionMethodDescriptor descriptor : functionMethodDescriptors) {
 
@@ -181,22 +290,15 @@ public class QueryService implements IQueryService {
                 fMethod.setDeterminism(Determinism.NONDETERMINISTIC);
             }
 
-            FunctionTree tree = functionTrees.get(descriptor.getSchema());
-            if (tree == null) {
-                tree = new FunctionTree(teiidVersion, descriptor.getSchema(), new UDFSource(Collections.EMPTY_LIST, getClass().getClassLoader()), false);
-                functionTrees.put(descriptor.getSchema(), tree);
-            }
-
-            FunctionDescriptor fd = tree.addFunction(descriptor.getSchema(), null, fMethod, false);
+            FunctionDescriptor fd = tree.addFunction(schema, null, fMethod, false);
             fd.setMetadataID(descriptor.getMetadataID());
         }
 
-        return new FunctionLibrary(teiidVersion, systemFunctionManager.getSystemFunctions(),
-                                   functionTrees.values().toArray(new FunctionTree[0]));
+        return tree;
     }
 
     @Override
-    public IQueryFactory createQueryFactory() {
+    public synchronized IQueryFactory createQueryFactory() {
         if (factory == null)
             factory = new SyntaxFactory(((QueryParser)getQueryParser()).getTeiidParser());
 
@@ -23,7 +23,25 @@ package org.komodo.eclipse.teiid.client.test;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
+import org.komodo.spi.annotation.TestAnnotationUtils;
+import org.komodo.spi.runtime.version.TestTeiidVersion;
+import org.teiid.client.batch.TestBatch3Serializer;
+import org.teiid.common.buffer.impl.TestFileStorageManager;
+import org.teiid.core.util.TestCaseInsensitiveWordSet;
+import org.teiid.core.util.TestConcurrentLRUCache;
+import org.teiid.jdbc.TestMetadataResultCache;
+import org.teiid.jdbc.TestPreparedStatementBatchChunks;
+import org.teiid.jdbc.TestResultSetReadAhead;
 import org.teiid.language.TestReservedWords;
+import org.teiid.net.socket.TestSocketServerInstanceImpl;
+import org.teiid.netty.handler.codec.serialization.TestObjectDecoderInputStream;
+import org.teiid.query.function.TestFunctionDescriptor;
+import org.teiid.query.function.TestFunctionLibrary;
+import org.teiid.query.function.TestSystemFunctionManager;
+import org.teiid.query.metadata.TestCompositeMetadataStore;
+import org.teiid.query.metadata.TestMetadataValidator;
+import org.teiid.query.metadata.TestSystemMetadata;
+import org.teiid.query.parser.TestTeiidNodeFactory;
 import org.teiid.query.resolver.v7.Test7AccessPattern;
 import org.teiid.query.resolver.v7.Test7AlterResolving;
 import org.teiid.query.resolver.v7.Test7FunctionResolving;
@@ -55,6 +73,8 @@ import org.teiid.query.resolver.v87.Test87ProcedureResolving;
 import org.teiid.query.resolver.v87.Test87Resolver;
 import org.teiid.query.resolver.v87.Test87XMLResolver;
 import org.teiid.query.sql.lang.TestCriteriaOperator;
+import org.teiid.query.sql.lang.TestMatchCriteria;
+import org.teiid.query.sql.lang.TestSetCriteria;
 import org.teiid.query.sql.v7.Test7Cloning;
 import org.teiid.query.sql.v7.Test7Create;
 import org.teiid.query.sql.v7.Test7CreateDrop;
@@ -101,17 +121,54 @@ import org.teiid.query.validator.v87.Test87AlterValidation;
 import org.teiid.query.validator.v87.Test87FunctionMetadataValidator;
 import org.teiid.query.validator.v87.Test87UpdateValidator;
 import org.teiid.query.validator.v87.Test87Validator;
+import org.teiid.runtime.client.query.TestQueryService;
 import org.teiid.types.Test7DataTypeManagerService;
 import org.teiid.types.Test8DataTypeManagerService;
 
 @SuppressWarnings( "javadoc" )
 @RunWith( Suite.class )
 @Suite.SuiteClasses( {
+                                        // client.batch
+                                        TestBatch3Serializer.class,
+
+                                        // common.buffer.impl
+                                        TestFileStorageManager.class,
+
+                                        // core.util
+                                        TestCaseInsensitiveWordSet.class,
+                                        TestConcurrentLRUCache.class,
+
+                                        // jdbc
+                                        TestMetadataResultCache.class,
+                                        TestPreparedStatementBatchChunks.class,
+                                        TestResultSetReadAhead.class,
+
                                         // language
                                         TestReservedWords.class,
 
+                                        // net.socket
+                                        TestSocketServerInstanceImpl.class,
+
+                                        // netty.handler.codec.serialization
+                                        TestObjectDecoderInputStream.class,
+
+                                        // query.function
+                                        TestFunctionDescriptor.class,
+                                        TestFunctionLibrary.class,
+                                        TestSystemFunctionManager.class,
+
+                                        // query.metadata
+                                        TestCompositeMetadataStore.class,
+                                        TestMetadataValidator.class,
+                                        TestSystemMetadata.class,
+
+                                        // query.parser
+                                        TestTeiidNodeFactory.class,
+
                                         // query.sql.lang
                                         TestCriteriaOperator.class,
+                                        TestMatchCriteria.class,
+                                        TestSetCriteria.class,
 
                                         // query.sql
                                         Test7Cloning.class,
@@ -195,9 +252,18 @@ import org.teiid.types.Test8DataTypeManagerService;
                                         Test87Validator.class,
                                         Test87UpdateValidator.class,
 
+                                        // runtime.client.query
+                                        TestQueryService.class,
+
                                         // types
                                         Test7DataTypeManagerService.class,
-                                        Test8DataTypeManagerService.class
+                                        Test8DataTypeManagerService.class,
+
+                                        // spi.annotation
+                                        TestAnnotationUtils.class,
+
+                                        // spi.runtime.version
+                                        TestTeiidVersion.class
                                     } )
 public class AllTests {
     // nothing to do
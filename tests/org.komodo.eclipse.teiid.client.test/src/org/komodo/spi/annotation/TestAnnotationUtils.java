@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.komodo.spi.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.Set;
+import org.junit.Test;
+import org.komodo.spi.runtime.version.TeiidVersion.Version;
+import org.teiid.core.types.DataTypeManagerService.DefaultDataTypes;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestAnnotationUtils {
+
+    enum Keyword {
+        SELECT,
+
+        @Since(Version.TEIID_8_0)
+        ARRAY_AGG,
+
+        @Removed(Version.TEIID_8_0)
+        VIRTUAL
+    }
+
+    @Since(Version.TEIID_8_4)
+    static class Since84 {
+        // nothing to do
+    }
+
+    @Test
+    public void testApplicableEnumValues() {
+        Set<Keyword> values7 = AnnotationUtils.getApplicableValues(Keyword.class, Version.TEIID_7_7.get());
+        Set<Keyword> values8 = AnnotationUtils.getApplicableValues(Keyword.class, Version.TEIID_8_7.get());
+
+        assertEquals(Arrays.asList(Keyword.SELECT, Keyword.VIRTUAL), Arrays.asList(values7.toArray()));
+        assertEquals(Arrays.asList(Keyword.SELECT, Keyword.ARRAY_AGG), Arrays.asList(values8.toArray()));
+        assertSame(values8, AnnotationUtils.getApplicableValues(Keyword.class, Version.TEIID_8_7.get()));
+
+        assertFalse(AnnotationUtils.isApplicable(Keyword.ARRAY_AGG, Version.TEIID_7_7.get()));
+        assertTrue(AnnotationUtils.isApplicable(Keyword.ARRAY_AGG, Version.TEIID_8_0.get()));
+        assertFalse(AnnotationUtils.isApplicable(Keyword.VIRTUAL, Version.TEIID_8_0.get()));
+    }
+
+    @Test
+    public void testApplicableClass() {
+        assertFalse(AnnotationUtils.isApplicable(Since84.class, Version.TEIID_8_3.get()));
+        assertTrue(AnnotationUtils.isApplicable(Since84.class, Version.TEIID_8_4.get()));
+        assertTrue(AnnotationUtils.isApplicable(Since84.class, null));
+    }
+
+    @Test
+    public void testDataTypeValueOf() {
+        int ordinal = DefaultDataTypes.VARBINARY.ordinal();
+
+        assertEquals(null, DefaultDataTypes.valueOf(Version.TEIID_7_7.get(), ordinal));
+        assertSame(DefaultDataTypes.VARBINARY, DefaultDataTypes.valueOf(Version.TEIID_8_0.get(), ordinal));
+        assertEquals(null, DefaultDataTypes.valueOf(Version.TEIID_8_0.get(), -1));
+        assertFalse(DefaultDataTypes.getValues(Version.TEIID_7_7.get()).contains(DefaultDataTypes.VARBINARY));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.komodo.spi.runtime.version;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.komodo.spi.runtime.version.TeiidVersion.Version;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestTeiidVersion {
+
+    @Test
+    public void testCompareNumerically() {
+        ITeiidVersion v89 = new TeiidVersion("8.9.0");
+        ITeiidVersion v810 = new TeiidVersion("8.10.0");
+
+        assertTrue(v810.isGreaterThan(v89));
+        assertTrue(v89.isLessThan(v810));
+        assertFalse(v810.isLessThan(v89));
+        assertTrue(Version.TEIID_8_7.get().isGreaterThan(Version.TEIID_7_7.get()));
+        assertFalse(Version.TEIID_8_7.get().isLessThan(Version.TEIID_8_7.get()));
+    }
+
+    @Test
+    public void testWildCards() {
+        ITeiidVersion v8x = new TeiidVersion("8.x.x");
+
+        assertTrue(v8x.hasWildCards());
+        assertTrue(v8x.isGreaterThan(Version.TEIID_7_7.get()));
+        assertTrue(Version.TEIID_7_7.get().isLessThan(v8x));
+        assertTrue(v8x.isGreaterThanOrEqualTo(Version.TEIID_8_7.get()));
+
+        assertEquals("8.0.0", v8x.getMinimumVersion().toString());
+        assertEquals("8.1023.1023", v8x.getMaximumVersion().toString());
+        assertSame(v8x.getMinimumVersion(), v8x.getMinimumVersion());
+    }
+
+    @Test
+    public void testWildCardsWithTwoDigitSegments() {
+        ITeiidVersion v8x = new TeiidVersion("8.x.x");
+        ITeiidVersion v810 = new TeiidVersion("8.10.0");
+
+        assertTrue(v8x.isGreaterThan(v810));
+        assertFalse(v8x.isLessThan(v810));
+        assertTrue(v8x.isGreaterThanOrEqualTo(v810));
+        assertTrue(v8x.isLessThanOrEqualTo(v810));
+        assertTrue(v810.isGreaterThanOrEqualTo(v8x));
+        assertFalse(v810.isLessThan(v8x));
+
+        ITeiidVersion v810x = new TeiidVersion("8.10.x");
+        assertTrue(v810x.isGreaterThan(new TeiidVersion("8.10.15")));
+        assertTrue(v810x.isLessThan(new TeiidVersion("8.11.0")));
+        assertTrue(new TeiidVersion("x.x.x").isGreaterThan(new TeiidVersion("10.0.0")));
+
+        // the maximum version agrees with the comparisons of the wildcard version
+        assertFalse(v8x.getMaximumVersion().isLessThan(v810));
+        assertFalse(v810x.getMaximumVersion().isLessThan(new TeiidVersion("8.10.15")));
+        assertTrue(v810x.getMaximumVersion().isLessThan(new TeiidVersion("8.11.0")));
+    }
+}
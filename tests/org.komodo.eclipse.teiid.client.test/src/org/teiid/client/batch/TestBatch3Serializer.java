@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.client.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.komodo.spi.runtime.version.TeiidVersion.Version;
+import org.teiid.client.BatchSerializer;
+import org.teiid.client.ColumnarBatch;
+import org.teiid.client.ColumnarBatch.ColumnType;
+import org.teiid.core.types.DataTypeManagerService.DefaultDataTypes;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestBatch3Serializer {
+
+    private static final String[] TYPES = {
+        DefaultDataTypes.INTEGER.getId(), DefaultDataTypes.LONG.getId(), DefaultDataTypes.DOUBLE.getId(),
+        DefaultDataTypes.BOOLEAN.getId(), DefaultDataTypes.SHORT.getId(), DefaultDataTypes.STRING.getId()
+    };
+
+    private List<List<Object>> roundTrip(List<List<?>> batch) throws Exception {
+        BatchSerializer serializer = BatchSerializer.getInstance(Version.TEIID_8_7.get());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        serializer.writeBatch(out, TYPES, batch);
+        out.flush();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        return serializer.readBatch(in, TYPES);
+    }
+
+    @Test
+    public void testColumnarRoundTrip() throws Exception {
+        List<List<?>> batch = new ArrayList<List<?>>();
+        for (int i = 0; i < 21; ++i) {
+            if (i % 3 == 0) {
+                batch.add(Arrays.asList(null, null, null, null, null, null));
+            } else {
+                batch.add(Arrays.asList(i, (long) i * 1000000000L, i / 4d, i % 2 == 0, (short) i, "value " + (i % 4)));
+            }
+        }
+
+        List<List<Object>> result = roundTrip(batch);
+        assertTrue(result instanceof ColumnarBatch);
+        assertEquals(batch, result);
+
+        ColumnarBatch columnarBatch = (ColumnarBatch) result;
+        assertEquals(ColumnType.INTEGER, columnarBatch.getColumnType(0));
+        assertEquals(ColumnType.BOOLEAN, columnarBatch.getColumnType(3));
+        assertEquals(ColumnType.OBJECT, columnarBatch.getColumnType(5));
+
+        assertTrue(columnarBatch.isNull(3, 0));
+        assertFalse(columnarBatch.isNull(4, 0));
+        assertEquals(4, columnarBatch.getInt(4, 0));
+        assertEquals(4000000000L, columnarBatch.getLong(4, 1));
+        assertEquals(1d, columnarBatch.getDouble(4, 2), 0);
+        assertTrue(columnarBatch.getBoolean(4, 3));
+    }
+
+    @Test
+    public void testEmptyBatch() throws Exception {
+        assertEquals(0, roundTrip(new ArrayList<List<?>>()).size());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.common.buffer.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.teiid.common.buffer.FileStore;
+import org.teiid.common.buffer.FileStoreInputStreamFactory;
+import org.teiid.core.types.BlobImpl;
+import org.teiid.core.types.Streamable;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestFileStorageManager {
+
+    private File directory;
+
+    private FileStorageManager manager;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = File.createTempFile("teiid", "storage");
+        directory.delete();
+
+        manager = new FileStorageManager();
+        manager.setDirectory(directory);
+        manager.setMaxMemory(6000);
+        manager.setMaxStoreMemory(4096);
+        manager.initialize();
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    @Test
+    public void testSpillAboveStoreMemory() throws Exception {
+        byte[] bytes = bytes(10000);
+        FileStore store = manager.createFileStore("test");
+
+        store.write(bytes, 0, 3000);
+        assertEquals(0, manager.getSpilled());
+
+        store.write(bytes, 3000, 7000);
+        assertEquals(1, manager.getSpilled());
+        assertEquals(0, manager.getUsedMemory());
+        assertEquals(10000, store.getLength());
+
+        byte[] read = new byte[10000];
+        store.readFully(0, read, 0, read.length);
+        assertArrayEquals(bytes, read);
+
+        store.remove();
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    public void testSpillAboveSharedMemory() throws Exception {
+        FileStore store1 = manager.createFileStore("test");
+        FileStore store2 = manager.createFileStore("test");
+
+        store1.write(bytes(3000), 0, 3000);
+        store2.write(bytes(3000), 0, 3000);
+        assertEquals(1, manager.getSpilled());
+        assertEquals(1, directory.listFiles().length);
+
+        store1.remove();
+        store2.remove();
+        assertEquals(0, manager.getUsedMemory());
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    public void testStreamSpilled() throws IOException {
+        byte[] bytes = bytes(20000);
+        FileStore store = manager.createFileStore("test");
+        store.write(bytes, 0, bytes.length);
+
+        InputStream stream = store.createInputStream(0);
+        int count = 0;
+        int b;
+        while ((b = stream.read()) != -1) {
+            assertEquals(bytes[count++], (byte) b);
+        }
+        assertEquals(bytes.length, count);
+
+        store.remove();
+    }
+
+    @Test
+    public void testOwnedStreamFactoryFreedWithLob() throws Exception {
+        byte[] bytes = bytes(20000);
+        FileStoreInputStreamFactory factory = new FileStoreInputStreamFactory(manager.createFileStore("test"), Streamable.ENCODING);
+        factory.getOuputStream().write(bytes);
+        factory.getOuputStream().close();
+        assertEquals(1, directory.listFiles().length);
+
+        BlobImpl blob = new BlobImpl();
+        blob.setOwnedStreamFactory(factory);
+        byte[] read = new byte[bytes.length];
+        DataInputStream stream = new DataInputStream(blob.getBinaryStream());
+        stream.readFully(read);
+        stream.close();
+        assertArrayEquals(bytes, read);
+
+        blob.free();
+        assertEquals(1, manager.getRemoved());
+        assertEquals(0, directory.listFiles().length);
+    }
+}
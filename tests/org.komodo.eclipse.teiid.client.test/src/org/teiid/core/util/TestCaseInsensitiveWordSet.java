@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestCaseInsensitiveWordSet {
+
+    @Test
+    public void testContainsIgnoreCase() {
+        CaseInsensitiveWordSet words = new CaseInsensitiveWordSet(Arrays.asList("SELECT", "FROM", "WHERE"));
+
+        assertTrue(words.containsIgnoreCase("select"));
+        assertTrue(words.containsIgnoreCase("From"));
+        assertTrue(words.containsIgnoreCase("WHERE"));
+        assertFalse(words.containsIgnoreCase("wher"));
+        assertFalse(words.containsIgnoreCase(null));
+    }
+
+    @Test
+    public void testContainsIsExact() {
+        CaseInsensitiveWordSet words = new CaseInsensitiveWordSet(Arrays.asList("SELECT"));
+
+        assertTrue(words.contains("SELECT"));
+        assertFalse(words.contains("select"));
+        assertFalse(words.contains(null));
+    }
+
+    @Test
+    public void testManyWords() {
+        List<String> list = new ArrayList<String>();
+        for (int i = 0; i < 500; ++i) {
+            list.add("WORD" + i);
+        }
+
+        CaseInsensitiveWordSet words = new CaseInsensitiveWordSet(list);
+        assertEquals(500, words.size());
+        assertEquals(new HashSet<String>(list), words);
+        for (int i = 0; i < 500; ++i) {
+            assertTrue(words.containsIgnoreCase("word" + i));
+        }
+        assertFalse(words.containsIgnoreCase("word500"));
+    }
+
+    @Test( expected = UnsupportedOperationException.class )
+    public void testImmutable() {
+        new CaseInsensitiveWordSet(Arrays.asList("SELECT")).add("FROM");
+    }
+}
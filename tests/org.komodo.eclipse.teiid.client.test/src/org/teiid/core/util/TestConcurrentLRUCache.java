@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestConcurrentLRUCache {
+
+    @Test
+    public void testGetPut() {
+        ConcurrentLRUCache<String, Integer> cache = new ConcurrentLRUCache<String, Integer>(10);
+        assertNull(cache.get("a"));
+
+        cache.put("a", 1);
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+
+        ConcurrentLRUCache.Statistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getSize());
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(0, statistics.getEvictionCount());
+    }
+
+    @Test
+    public void testBounded() {
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<Integer, Integer>(20, 4);
+        for (int i = 0; i < 100; ++i) {
+            cache.put(i, i);
+        }
+
+        ConcurrentLRUCache.Statistics statistics = cache.getStatistics();
+        assertTrue(statistics.getSize() <= 20);
+        assertEquals(100 - statistics.getSize(), statistics.getEvictionCount());
+    }
+
+    @Test
+    public void testSmallerThanConcurrencyLevel() {
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<Integer, Integer>(1);
+        cache.put(1, 1);
+        cache.put(2, 2);
+
+        assertEquals(1, cache.size());
+        assertEquals(Integer.valueOf(2), cache.get(2));
+    }
+
+    @Test
+    public void testNullKey() {
+        ConcurrentLRUCache<String, Integer> cache = new ConcurrentLRUCache<String, Integer>(10);
+        assertNull(cache.get(null));
+
+        cache.put(null, 1);
+        assertEquals(Integer.valueOf(1), cache.get(null));
+        assertEquals(1, cache.size());
+
+        assertEquals(Integer.valueOf(1), cache.remove(null));
+        assertNull(cache.get(null));
+        assertEquals(0, cache.size());
+    }
+}
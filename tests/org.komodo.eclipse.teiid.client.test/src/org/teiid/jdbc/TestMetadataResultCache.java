@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestMetadataResultCache {
+
+    private static final List<?> RECORDS = Collections.singletonList(Arrays.asList("vdb", "SYS", "Tables"));
+
+    @Test
+    public void testKeyIgnoresCase() {
+        MetadataResultCache cache = new MetadataResultCache("vdb", 1, 60000);
+        cache.put(MetadataResultCache.createKey("getTables", "%", "sys", "tab%", null), RECORDS, null);
+
+        MetadataResultCache.Entry entry = cache.get(MetadataResultCache.createKey("getTables", "%", "SYS", "TAB%", null));
+        assertNotNull(entry);
+        assertEquals(RECORDS, entry.getRecords());
+
+        assertNull(cache.get(MetadataResultCache.createKey("getTables", "%", "SYS", "TAB%", new String[0])));
+        assertNull(cache.get(MetadataResultCache.createKey("getColumns", "%", "SYS", "TAB%", null)));
+    }
+
+    @Test
+    public void testTypesInKey() {
+        MetadataResultCache cache = new MetadataResultCache("vdb", 1, 60000);
+        cache.put(MetadataResultCache.createKey("getTables", "%", "%", "%", new String[] {"table", "view"}), RECORDS, null);
+
+        assertNotNull(cache.get(MetadataResultCache.createKey("getTables", "%", "%", "%", new String[] {"TABLE", "VIEW"})));
+        assertNull(cache.get(MetadataResultCache.createKey("getTables", "%", "%", "%", new String[] {"VIEW", "TABLE"})));
+        assertNull(cache.get(MetadataResultCache.createKey("getTables", "%", "%", "%", new String[] {"TABLE"})));
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        MetadataResultCache cache = new MetadataResultCache("vdb", 1, 1);
+        List<Object> key = MetadataResultCache.createKey("getSchemas", "%", "%");
+        cache.put(key, RECORDS, null);
+
+        Thread.sleep(20);
+        assertNull(cache.get(key));
+        assertEquals(0, cache.getStatistics().getSize());
+    }
+
+    @Test
+    public void testRecordsAreCopied() {
+        MetadataResultCache cache = new MetadataResultCache("vdb", 1, 60000);
+        List<Object> key = MetadataResultCache.createKey("getSchemas", "%", "%");
+        List<Object> records = new ArrayList<Object>(RECORDS);
+        cache.put(key, records, null);
+        records.clear();
+
+        assertFalse(cache.get(key).getRecords().isEmpty());
+    }
+
+    @Test
+    public void testInvalidate() {
+        MetadataResultCache version1 = new MetadataResultCache("invalidated", 1, 60000);
+        MetadataResultCache version2 = new MetadataResultCache("invalidated", 2, 60000);
+        MetadataResultCache other = new MetadataResultCache("other", 1, 60000);
+        List<Object> key = MetadataResultCache.createKey("getSchemas", "%", "%");
+        version1.put(key, RECORDS, null);
+        version2.put(key, RECORDS, null);
+        other.put(key, RECORDS, null);
+
+        MetadataResultCache.invalidate("INVALIDATED", 1);
+        assertNull(version1.get(key));
+        assertNotNull(version2.get(key));
+        assertNotNull(other.get(key));
+
+        MetadataResultCache.invalidate("invalidated", -1);
+        assertNull(version2.get(key));
+        assertNotNull(other.get(key));
+    }
+}
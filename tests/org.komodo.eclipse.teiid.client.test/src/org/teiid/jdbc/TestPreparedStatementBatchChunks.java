@@ -0,0 +1,300 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.jdbc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.teiid.client.DQP;
+import org.teiid.client.RequestMessage;
+import org.teiid.client.ResultsMessage;
+import org.teiid.client.security.LogonResult;
+import org.teiid.client.util.ResultsFuture;
+import org.teiid.net.ServerConnection;
+import org.teiid.runtime.client.TeiidClientException;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestPreparedStatementBatchChunks {
+
+    /**
+     * Records the requests made of the {@link DQP}, answering each row of
+     * a batched update with the value of its first parameter as the update count
+     */
+    private static class MockDQP implements InvocationHandler {
+
+        private final List<RequestMessage> requests = new ArrayList<RequestMessage>();
+        private final List<ResultsFuture<ResultsMessage>> results = new ArrayList<ResultsFuture<ResultsMessage>>();
+        private final Set<Long> open = new HashSet<Long>();
+        private final List<Long> cancelled = new ArrayList<Long>();
+        private final Set<Integer> failingRequests = new HashSet<Integer>();
+        private boolean complete = true;
+        private int maxOpen;
+        private int begun;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("executeRequest")) {
+                RequestMessage message = (RequestMessage)args[1];
+                requests.add(message);
+                open.add((Long)args[0]);
+                maxOpen = Math.max(maxOpen, open.size());
+                ResultsFuture<ResultsMessage> future = new ResultsFuture<ResultsMessage>();
+                results.add(future);
+                if (complete) {
+                    complete(requests.size() - 1);
+                }
+                return future;
+            } else if (name.equals("closeRequest")) {
+                open.remove(args[0]);
+                return ResultsFuture.NULL_FUTURE;
+            } else if (name.equals("cancelRequest")) {
+                open.remove(args[0]);
+                cancelled.add((Long)args[0]);
+                return true;
+            } else if (name.equals("begin")) {
+                begun++;
+                return ResultsFuture.NULL_FUTURE;
+            } else if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(this, args);
+            }
+            throw new UnsupportedOperationException(name);
+        }
+
+        private void complete(int index) {
+            ResultsMessage resultsMsg = new ResultsMessage();
+            resultsMsg.setUpdateResult(true);
+            if (failingRequests.contains(index)) {
+                resultsMsg.setException(new TeiidClientException("chunk " + index + " failed"));
+            } else {
+                List<List<Integer>> counts = new ArrayList<List<Integer>>();
+                for (Object row : requests.get(index).getParameterValues()) {
+                    counts.add(Collections.singletonList((Integer)((List<?>)row).get(0)));
+                }
+                resultsMsg.setResults(counts);
+            }
+            results.get(index).getResultsReceiver().receiveResults(resultsMsg);
+        }
+
+        private int rowCount(int index) {
+            return requests.get(index).getParameterValues().size();
+        }
+    }
+
+    private static class MockServerConnection implements ServerConnection {
+
+        private final DQP dqp;
+
+        public MockServerConnection(DQP dqp) {
+            this.dqp = dqp;
+        }
+
+        @Override
+        public <T> T getService(Class<T> iface) {
+            return iface.cast(dqp);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean isOpen(long msToTest) {
+            return true;
+        }
+
+        @Override
+        public LogonResult getLogonResult() {
+            return new LogonResult();
+        }
+
+        @Override
+        public boolean isSameInstance(ServerConnection conn) {
+            return conn == this;
+        }
+
+        @Override
+        public void cleanUp() {
+        }
+
+        @Override
+        public void authenticate() {
+        }
+
+        @Override
+        public boolean supportsContinuous() {
+            return false;
+        }
+
+        @Override
+        public boolean isLocal() {
+            return false;
+        }
+    }
+
+    private MockDQP dqp;
+
+    private ConnectionImpl connection;
+
+    @Before
+    public void setUp() {
+        dqp = new MockDQP();
+        DQP proxy = (DQP)Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {DQP.class}, dqp);
+        connection = new ConnectionImpl(new MockServerConnection(proxy), new Properties(), "jdbc:teiid:test");
+    }
+
+    private PreparedStatementImpl prepareStatement(int chunkSize, int depth) throws Exception {
+        PreparedStatementImpl statement = connection.prepareStatement("INSERT INTO g1 (e1) VALUES (?)");
+        statement.setExecutionProperty(PreparedStatementImpl.BATCH_CHUNK_SIZE, String.valueOf(chunkSize));
+        statement.setExecutionProperty(PreparedStatementImpl.BATCH_PIPELINE_DEPTH, String.valueOf(depth));
+        return statement;
+    }
+
+    private static void addBatch(PreparedStatementImpl statement, int first, int last) throws Exception {
+        for (int i = first; i <= last; i++) {
+            statement.setInt(1, i);
+            statement.addBatch();
+        }
+    }
+
+    @Test
+    public void testChunksSentAtChunkSize() throws Exception {
+        PreparedStatementImpl statement = prepareStatement(2, 2);
+
+        addBatch(statement, 1, 2);
+        assertEquals(1, dqp.requests.size());
+        addBatch(statement, 3, 5);
+        assertEquals(2, dqp.requests.size());
+
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5}, statement.executeBatch());
+        assertEquals(3, dqp.requests.size());
+        assertEquals(2, dqp.rowCount(0));
+        assertEquals(2, dqp.rowCount(1));
+        assertEquals(1, dqp.rowCount(2));
+        for (RequestMessage request : dqp.requests) {
+            assertTrue(request.isBatchedUpdate());
+        }
+        assertTrue(dqp.open.isEmpty());
+        assertTrue(dqp.cancelled.isEmpty());
+
+        // a batch smaller than a chunk is sent as a single request
+        addBatch(statement, 6, 6);
+        assertArrayEquals(new int[] {6}, statement.executeBatch());
+        assertEquals(4, dqp.requests.size());
+    }
+
+    @Test
+    public void testChunksPipelinedUnderAutoCommit() throws Exception {
+        PreparedStatementImpl statement = prepareStatement(2, 3);
+
+        addBatch(statement, 1, 10);
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, statement.executeBatch());
+        assertEquals(5, dqp.requests.size());
+        assertEquals(3, dqp.maxOpen);
+        assertEquals(0, dqp.begun);
+    }
+
+    @Test
+    public void testOneChunkAtATimeInTransaction() throws Exception {
+        connection.setAutoCommit(false);
+        PreparedStatementImpl statement = prepareStatement(2, 3);
+
+        addBatch(statement, 1, 7);
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6, 7}, statement.executeBatch());
+        assertEquals(4, dqp.requests.size());
+        assertEquals(1, dqp.maxOpen);
+        assertEquals(1, dqp.begun);
+    }
+
+    @Test
+    public void testFailedChunk() throws Exception {
+        dqp.failingRequests.add(1);
+        PreparedStatementImpl statement = prepareStatement(2, 2);
+
+        addBatch(statement, 1, 5);
+        try {
+            statement.executeBatch();
+            fail("Expected the failed chunk to fail the batch");
+        } catch (BatchUpdateException e) {
+            assertArrayEquals(new int[] {1, 2, Statement.EXECUTE_FAILED, Statement.EXECUTE_FAILED, 5}, e.getUpdateCounts());
+        }
+        // the chunks after the failure are still executed
+        assertEquals(3, dqp.requests.size());
+
+        // the failure is not carried into the next batch
+        addBatch(statement, 6, 7);
+        assertArrayEquals(new int[] {6, 7}, statement.executeBatch());
+    }
+
+    @Test
+    public void testClearBatchCancelsChunks() throws Exception {
+        dqp.complete = false;
+        PreparedStatementImpl statement = prepareStatement(2, 2);
+
+        addBatch(statement, 1, 5);
+        assertEquals(2, dqp.requests.size());
+        assertEquals(2, dqp.open.size());
+
+        statement.clearBatch();
+        assertEquals(2, dqp.cancelled.size());
+        assertTrue(dqp.open.isEmpty());
+        assertArrayEquals(new int[0], statement.executeBatch());
+        assertEquals(2, dqp.requests.size());
+
+        // the cancelled chunks are not part of the next batch
+        dqp.complete = true;
+        addBatch(statement, 6, 8);
+        assertArrayEquals(new int[] {6, 7, 8}, statement.executeBatch());
+    }
+
+    @Test
+    public void testCloseCancelsChunks() throws Exception {
+        dqp.complete = false;
+        PreparedStatementImpl statement = prepareStatement(2, 2);
+
+        addBatch(statement, 1, 4);
+        assertEquals(2, dqp.open.size());
+
+        statement.close();
+        assertEquals(2, dqp.cancelled.size());
+        assertTrue(dqp.open.isEmpty());
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.teiid.client.DQP;
+import org.teiid.client.RequestMessage;
+import org.teiid.client.ResultsMessage;
+import org.teiid.client.security.LogonResult;
+import org.teiid.client.util.ResultsFuture;
+import org.teiid.net.ServerConnection;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestResultSetReadAhead {
+
+    // the estimated size of a row of a single integer
+    private static final int ROW_SIZE = 44;
+
+    /**
+     * Results that are reported as not yet arrived until they are waited for
+     */
+    private static class DelayedResultsFuture extends ResultsFuture<ResultsMessage> {
+
+        private boolean waited;
+
+        @Override
+        public synchronized boolean isDone() {
+            return waited && super.isDone();
+        }
+
+        @Override
+        public synchronized ResultsMessage get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            waited = true;
+            return super.get(timeout, unit);
+        }
+    }
+
+    /**
+     * Answers a query with an endless sequence of integer rows, recording
+     * the number of rows requested by each cursor request
+     */
+    private static class MockDQP implements InvocationHandler {
+
+        private final List<Integer> fetchSizes = new ArrayList<Integer>();
+        private boolean delayed = true;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("executeRequest")) {
+                RequestMessage message = (RequestMessage)args[1];
+                return results(new ResultsFuture<ResultsMessage>(), 1, message.getFetchSize());
+            } else if (name.equals("processCursorRequest")) {
+                int fetchSize = (Integer)args[2];
+                fetchSizes.add(fetchSize);
+                ResultsFuture<ResultsMessage> future = delayed ? new DelayedResultsFuture() : new ResultsFuture<ResultsMessage>();
+                return results(future, (Integer)args[1], fetchSize);
+            } else if (name.equals("closeRequest")) {
+                return ResultsFuture.NULL_FUTURE;
+            } else if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(this, args);
+            }
+            throw new UnsupportedOperationException(name);
+        }
+
+        private static ResultsFuture<ResultsMessage> results(ResultsFuture<ResultsMessage> future, int firstRow, int rowCount) {
+            List<List<Integer>> rows = new ArrayList<List<Integer>>();
+            for (int i = firstRow; i < firstRow + rowCount; i++) {
+                rows.add(Collections.singletonList(i));
+            }
+            ResultsMessage resultsMsg = new ResultsMessage(rows, new String[] {"e1"}, new String[] {"integer"});
+            resultsMsg.setFirstRow(firstRow);
+            resultsMsg.setLastRow(firstRow + rowCount - 1);
+            resultsMsg.setFinalRow(-1);
+            future.getResultsReceiver().receiveResults(resultsMsg);
+            return future;
+        }
+    }
+
+    private static class MockServerConnection implements ServerConnection {
+
+        private final DQP dqp;
+
+        public MockServerConnection(DQP dqp) {
+            this.dqp = dqp;
+        }
+
+        @Override
+        public <T> T getService(Class<T> iface) {
+            return iface.cast(dqp);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean isOpen(long msToTest) {
+            return true;
+        }
+
+        @Override
+        public LogonResult getLogonResult() {
+            return new LogonResult();
+        }
+
+        @Override
+        public boolean isSameInstance(ServerConnection conn) {
+            return conn == this;
+        }
+
+        @Override
+        public void cleanUp() {
+        }
+
+        @Override
+        public void authenticate() {
+        }
+
+        @Override
+        public boolean supportsContinuous() {
+            return false;
+        }
+
+        @Override
+        public boolean isLocal() {
+            return false;
+        }
+    }
+
+    private MockDQP dqp;
+
+    private ConnectionImpl connection;
+
+    @Before
+    public void setUp() {
+        dqp = new MockDQP();
+        DQP proxy = (DQP)Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {DQP.class}, dqp);
+        connection = new ConnectionImpl(new MockServerConnection(proxy), new Properties(), "jdbc:teiid:test");
+    }
+
+    private ResultSet executeQuery(int fetchSize, Integer readAheadRows) throws Exception {
+        StatementImpl statement = connection.createStatement();
+        statement.setFetchSize(fetchSize);
+        if (readAheadRows != null) {
+            statement.setExecutionProperty(ResultSetImpl.READ_AHEAD_MEMORY, String.valueOf(readAheadRows * ROW_SIZE));
+        }
+        return statement.executeQuery("SELECT e1 FROM g1");
+    }
+
+    private static void read(ResultSet resultSet, int first, int last) throws Exception {
+        for (int i = first; i <= last; i++) {
+            assertTrue(resultSet.next());
+            assertEquals(i, resultSet.getInt(1));
+        }
+    }
+
+    @Test
+    public void testReadAheadDoubles() throws Exception {
+        ResultSet resultSet = executeQuery(10, 1000);
+
+        read(resultSet, 1, 151);
+        assertEquals(Arrays.asList(10, 20, 40, 80, 160), dqp.fetchSizes);
+    }
+
+    @Test
+    public void testReadAheadLimitedByMemory() throws Exception {
+        ResultSet resultSet = executeQuery(10, 30);
+
+        read(resultSet, 1, 100);
+        assertEquals(Arrays.asList(10, 20, 30, 30, 30), dqp.fetchSizes);
+    }
+
+    @Test
+    public void testReadAheadNotBelowFetchSize() throws Exception {
+        ResultSet resultSet = executeQuery(10, 5);
+
+        read(resultSet, 1, 30);
+        assertEquals(Arrays.asList(10, 10, 10), dqp.fetchSizes);
+    }
+
+    @Test
+    public void testNoReadAheadWhenResultsArrive() throws Exception {
+        dqp.delayed = false;
+        ResultSet resultSet = executeQuery(10, 1000);
+
+        read(resultSet, 1, 30);
+        assertEquals(Arrays.asList(10, 10, 10), dqp.fetchSizes);
+    }
+
+    @Test
+    public void testNoReadAheadWithoutMemory() throws Exception {
+        ResultSet resultSet = executeQuery(10, null);
+
+        read(resultSet, 1, 30);
+        assertEquals(Arrays.asList(10, 10, 10), dqp.fetchSizes);
+    }
+
+    @Test
+    public void testSetFetchSizeResetsReadAhead() throws Exception {
+        ResultSet resultSet = executeQuery(10, 1000);
+
+        read(resultSet, 1, 40);
+        assertEquals(Arrays.asList(10, 20, 40), dqp.fetchSizes);
+
+        // the read ahead grows again from the new fetch size
+        resultSet.setFetchSize(5);
+        read(resultSet, 41, 90);
+        assertEquals(Arrays.asList(10, 20, 40, 10, 20), dqp.fetchSizes);
+    }
+
+    @Test
+    public void testEstimateRowSize() {
+        assertEquals(16, ResultSetImpl.estimateRowSize(Collections.emptyList()));
+        assertEquals(ROW_SIZE, ResultSetImpl.estimateRowSize(Collections.singletonList(1)));
+        assertEquals(20, ResultSetImpl.estimateRowSize(Collections.singletonList(null)));
+        assertEquals(20 + 40 + 2 * 3, ResultSetImpl.estimateRowSize(Collections.singletonList("abc")));
+        assertEquals(20 + 16 + 10, ResultSetImpl.estimateRowSize(Collections.singletonList(new byte[10])));
+        assertEquals(20 + 64, ResultSetImpl.estimateRowSize(Collections.singletonList(BigDecimal.ONE)));
+        assertEquals(16 + 4 * 3 + 24 + 40 + 2 * 3, ResultSetImpl.estimateRowSize(Arrays.asList(1, null, "abc")));
+    }
+}
@@ -23,6 +23,7 @@ package org.teiid.language;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Set;
@@ -88,6 +89,10 @@ public class TestReservedWords {
 
         Set<String> eightSevenWords = SQLConstants.getReservedWords(TEIID_VERSION_87);
         assertEquals(eightWords, eightSevenWords);
+
+        // Words of each version are only determined once
+        assertSame(sevenWords, SQLConstants.getReservedWords(TEIID_VERSION_7));
+        assertSame(eightWords, SQLConstants.getReservedWords(TEIID_VERSION_8));
     }
 
     @Test
@@ -0,0 +1,305 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.net.socket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.teiid.client.util.ResultsFuture;
+import org.teiid.net.CommunicationException;
+import org.teiid.net.HostInfo;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestSocketServerInstanceImpl {
+
+    private static final long TIMEOUT = 10000;
+
+    /**
+     * Channel that answers each message written to it with a message
+     * of the same key and contents, read back after a short delay,
+     * except for messages with {@link #UNANSWERED} contents
+     */
+    private static class FakeObjectChannel implements ObjectChannel {
+
+        private static final long SO_TIMEOUT = 20;
+
+        private static final String UNANSWERED = "unanswered";
+
+        private final BlockingQueue<Object> responses = new LinkedBlockingQueue<Object>();
+
+        private final AtomicInteger reading = new AtomicInteger();
+
+        private final AtomicInteger maxReading = new AtomicInteger();
+
+        private final AtomicInteger reads = new AtomicInteger();
+
+        private volatile boolean open = true;
+
+        public FakeObjectChannel() {
+            responses.add(new Handshake("8.7"));
+        }
+
+        @Override
+        public Object read() throws IOException {
+            int count = reading.incrementAndGet();
+            try {
+                reads.incrementAndGet();
+                int max = maxReading.get();
+                while (count > max && !maxReading.compareAndSet(max, count)) {
+                    max = maxReading.get();
+                }
+
+                Object response = responses.poll(SO_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (response == null)
+                    throw new SocketTimeoutException();
+
+                return response;
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            } finally {
+                reading.decrementAndGet();
+            }
+        }
+
+        @Override
+        public Future<?> write(Object msg) {
+            if (msg instanceof Message && !UNANSWERED.equals(((Message) msg).getContents())) {
+                Message message = (Message) msg;
+                Message response = new Message();
+                response.setMessageKey(message.getMessageKey());
+                response.setContents(message.getContents());
+                responses.add(response);
+            }
+            return ResultsFuture.NULL_FUTURE;
+        }
+
+        @Override
+        public SocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        @Override
+        public InetAddress getLocalAddress() {
+            return null;
+        }
+    }
+
+    private static final AtomicInteger KEYS = new AtomicInteger();
+
+    private FakeObjectChannel channel;
+
+    private SocketServerInstanceImpl instance;
+
+    @Before
+    public void setUp() throws Exception {
+        channel = new FakeObjectChannel();
+        instance = new SocketServerInstanceImpl(new HostInfo("localhost", new InetSocketAddress("127.0.0.1", 31000)), TIMEOUT);
+        instance.connect(new ObjectChannelFactory() {
+            @Override
+            public ObjectChannel createObjectChannel(SocketAddress address, boolean ssl) throws IOException, CommunicationException {
+                return channel;
+            }
+
+            @Override
+            public int getSoTimeout() {
+                return (int) FakeObjectChannel.SO_TIMEOUT;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    private void send(Object contents, ResultsFuture<Object> future) throws Exception {
+        Message message = new Message();
+        message.setContents(contents);
+        instance.send(message, future.getResultsReceiver(), KEYS.incrementAndGet());
+    }
+
+    private ResultsFuture<Object> send(Object contents) throws Exception {
+        ResultsFuture<Object> future = new ResultsFuture<Object>();
+        send(contents, future);
+        return future;
+    }
+
+    private Object sendAndRead(Object contents) throws Exception {
+        ResultsFuture<Object> future = send(contents);
+        instance.read(TIMEOUT, TimeUnit.MILLISECONDS, future);
+        return future.get();
+    }
+
+    /**
+     * Wait for the reader to stop reading as there are no outstanding requests
+     */
+    private void assertReaderExits() throws Exception {
+        long start = System.currentTimeMillis();
+        int reads = -1;
+        while (reads != channel.reads.get()) {
+            assertTrue("reader did not exit", System.currentTimeMillis() - start < TIMEOUT);
+            reads = channel.reads.get();
+            Thread.sleep(FakeObjectChannel.SO_TIMEOUT * 5);
+        }
+        assertEquals(0, channel.reading.get());
+    }
+
+    @Test
+    public void testConcurrentAsyncRequests() throws Exception {
+        final int threadCount = 8;
+        final int requestCount = 50;
+        final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<Thread>();
+
+        for (int i = 0; i < threadCount; ++i) {
+            final int thread = i;
+            Thread t = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        List<ResultsFuture<Object>> futures = new ArrayList<ResultsFuture<Object>>();
+                        for (int j = 0; j < requestCount; ++j) {
+                            futures.add(send(thread + ":" + j));
+                        }
+                        for (int j = 0; j < requestCount; ++j) {
+                            ResultsFuture<Object> future = futures.get(j);
+                            instance.read(TIMEOUT, TimeUnit.MILLISECONDS, future);
+                            assertEquals(thread + ":" + j, future.get());
+                        }
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                }
+            };
+            threads.add(t);
+            t.start();
+        }
+
+        start.countDown();
+        for (Thread t : threads) {
+            t.join(TIMEOUT);
+        }
+
+        assertEquals(Collections.emptyList(), failures);
+        // a single reader per connection
+        assertEquals(1, channel.maxReading.get());
+        assertReaderExits();
+    }
+
+    @Test
+    public void testReaderRestartsAfterExit() throws Exception {
+        assertEquals("first", sendAndRead("first"));
+        assertReaderExits();
+
+        assertEquals("second", sendAndRead("second"));
+        assertReaderExits();
+    }
+
+    @Test
+    public void testReaderExitsWithUnansweredRequest() throws Exception {
+        ResultsFuture<Object> unanswered = send(FakeObjectChannel.UNANSWERED);
+        try {
+            instance.read(FakeObjectChannel.SO_TIMEOUT * 5, TimeUnit.MILLISECONDS, unanswered);
+            fail("expected a timeout");
+        } catch (TimeoutException e) {
+            // expected
+        }
+        // the listener of the unanswered request remains, but no one waits for it
+        assertReaderExits();
+
+        assertEquals("answered", sendAndRead("answered"));
+        assertReaderExits();
+        assertFalse(unanswered.isDone());
+    }
+
+    @Test
+    public void testRequestsWhileReaderExits() throws Exception {
+        // each request may arrive while the reader of the last is exiting
+        for (int i = 0; i < 200; ++i) {
+            assertEquals(Integer.valueOf(i), sendAndRead(i));
+        }
+        assertEquals(1, channel.maxReading.get());
+    }
+
+    @Test
+    public void testCallbacksRunOnReader() throws Exception {
+        final List<String> threadNames = Collections.synchronizedList(new ArrayList<String>());
+        final ResultsFuture<Object> nested = new ResultsFuture<Object>();
+        ResultsFuture<Object> future = new ResultsFuture<Object>();
+        future.addCompletionListener(new ResultsFuture.CompletionListener<Object>() {
+            @Override
+            public void onCompletion(ResultsFuture<Object> completed) {
+                threadNames.add(Thread.currentThread().getName());
+                try {
+                    // waits for a response from the reader thread itself
+                    nested.getResultsReceiver().receiveResults(sendAndRead("inner"));
+                } catch (Exception e) {
+                    nested.getResultsReceiver().exceptionOccurred(e);
+                }
+            }
+        });
+
+        send("outer", future);
+        instance.read(TIMEOUT, TimeUnit.MILLISECONDS, future);
+        assertEquals("outer", future.get());
+        assertEquals("inner", nested.get(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(1, threadNames.size());
+        assertTrue(threadNames.get(0), threadNames.get(0).startsWith("Teiid Socket Reader"));
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.netty.handler.codec.serialization;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.sql.Blob;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.teiid.common.buffer.StorageManager;
+import org.teiid.common.buffer.impl.FileStorageManager;
+import org.teiid.core.types.BlobImpl;
+import org.teiid.core.types.InputStreamFactory;
+import org.teiid.core.util.AccessibleBufferedInputStream;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestObjectDecoderInputStream {
+
+    private File directory;
+
+    private FileStorageManager manager;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = File.createTempFile("teiid", "storage");
+        directory.delete();
+
+        manager = new FileStorageManager();
+        manager.setDirectory(directory);
+        manager.setMaxMemory(6000);
+        manager.setMaxStoreMemory(4096);
+        manager.initialize();
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    public static class Value implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        private final int[] numbers;
+
+        public Value(String name, int... numbers) {
+            this.name = name;
+            this.numbers = numbers;
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Value)) {
+                return false;
+            }
+            Value other = (Value)obj;
+            return name.equals(other.name) && Arrays.equals(numbers, other.numbers);
+        }
+    }
+
+    private static byte[] bytes(int length) {
+        return bytes(length, 0);
+    }
+
+    private static byte[] bytes(int length, int seed) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            bytes[i] = (byte) (i + seed);
+        }
+        return bytes;
+    }
+
+    private static BlobImpl createBlob(final byte[] bytes) {
+        return new BlobImpl(new InputStreamFactory() {
+            @Override
+            public InputStream getInputStream() {
+                return new ByteArrayInputStream(bytes);
+            }
+        });
+    }
+
+    private static byte[] read(Blob blob) throws Exception {
+        byte[] read = new byte[(int)blob.length()];
+        DataInputStream stream = new DataInputStream(blob.getBinaryStream());
+        stream.readFully(read);
+        stream.close();
+        return read;
+    }
+
+    @Test
+    public void testInlineStreamsFreedWithLob() throws Exception {
+        byte[] small = bytes(100);
+        byte[] large = bytes(100000);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectEncoderOutputStream out = new ObjectEncoderOutputStream(new DataOutputStream(baos), 512);
+        out.writeObject(Arrays.asList("value", createBlob(small), createBlob(large)));
+        out.close();
+
+        AccessibleBufferedInputStream in = new AccessibleBufferedInputStream(new ByteArrayInputStream(baos.toByteArray()), 1024);
+        ObjectDecoderInputStream decoder = new ObjectDecoderInputStream(in, getClass().getClassLoader(), 1 << 20);
+        decoder.setStorageManager(manager);
+        List<?> result = (List<?>)decoder.readObject();
+        decoder.close();
+
+        assertEquals("value", result.get(0));
+        BlobImpl smallBlob = (BlobImpl)result.get(1);
+        BlobImpl largeBlob = (BlobImpl)result.get(2);
+        assertArrayEquals(small, read(smallBlob));
+        assertArrayEquals(large, read(largeBlob));
+
+        // the large stream is spilled, the small one is held in memory
+        assertEquals(2, manager.getCreated());
+        assertEquals(1, manager.getSpilled());
+        assertEquals(1, directory.listFiles().length);
+
+        smallBlob.free();
+        assertEquals(1, manager.getRemoved());
+        largeBlob.free();
+        assertEquals(2, manager.getRemoved());
+        assertEquals(0, manager.getUsedMemory());
+        assertTrue(directory.listFiles().length == 0);
+    }
+
+    private static List<Object> roundTrip(ClassLoader classLoader, StorageManager storageManager, List<?> messages) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectEncoderOutputStream out = new ObjectEncoderOutputStream(new DataOutputStream(baos), 512);
+        for (Object message : messages) {
+            out.writeObject(message);
+        }
+        out.close();
+
+        AccessibleBufferedInputStream in = new AccessibleBufferedInputStream(new ByteArrayInputStream(baos.toByteArray()), 1024);
+        ObjectDecoderInputStream decoder = new ObjectDecoderInputStream(in, classLoader, 1 << 20);
+        decoder.setStorageManager(storageManager);
+        List<Object> result = new ArrayList<Object>();
+        for (int i = 0; i < messages.size(); ++i) {
+            result.add(decoder.readObject());
+        }
+        decoder.close();
+        return result;
+    }
+
+    @Test
+    public void testRepeatedClassDescriptors() throws Exception {
+        List<Object> messages = new ArrayList<Object>();
+        for (int i = 0; i < 3; ++i) {
+            messages.add(Arrays.asList(new Value("a" + i, i), new Value("b" + i, i, i + 1),
+                                       new Value[] {new Value("c" + i), new Value("d" + i, 1, 2, 3)}));
+        }
+
+        // the classes of later messages are found in the cache of the channel
+        List<Object> result = roundTrip(getClass().getClassLoader(), manager, messages);
+        assertEquals(messages.size(), result.size());
+        for (int i = 0; i < messages.size(); ++i) {
+            List<?> expected = (List<?>)messages.get(i);
+            List<?> actual = (List<?>)result.get(i);
+            assertEquals(expected.get(0), actual.get(0));
+            assertEquals(expected.get(1), actual.get(1));
+            assertArrayEquals((Value[])expected.get(2), (Value[])actual.get(2));
+        }
+
+        // without a class loader the classes are only cached for a message
+        result = roundTrip(null, manager, messages);
+        for (int i = 0; i < messages.size(); ++i) {
+            assertEquals(((List<?>)messages.get(i)).get(1), ((List<?>)result.get(i)).get(1));
+        }
+    }
+
+    @Test
+    public void testMultiChunkStreams() throws Exception {
+        // several chunks per stream, written with the chunk buffer the encoder keeps between messages
+        byte[] first = bytes(150000, 1);
+        byte[] second = bytes(140000, 2);
+        List<Object> result = roundTrip(getClass().getClassLoader(), manager,
+                                        Arrays.asList(createBlob(first), Arrays.asList(createBlob(second), createBlob(bytes(10)))));
+
+        assertArrayEquals(first, read((Blob)result.get(0)));
+        List<?> blobs = (List<?>)result.get(1);
+        assertArrayEquals(second, read((Blob)blobs.get(0)));
+        assertArrayEquals(bytes(10), read((Blob)blobs.get(1)));
+    }
+}
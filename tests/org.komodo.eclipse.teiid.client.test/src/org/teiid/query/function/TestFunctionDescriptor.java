@@ -0,0 +1,206 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.query.function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+import org.komodo.spi.runtime.version.ITeiidVersion;
+import org.komodo.spi.runtime.version.TeiidVersion.Version;
+import org.teiid.core.types.ArrayImpl;
+import org.teiid.core.types.BinaryType;
+import org.teiid.core.types.DataTypeManagerService;
+import org.teiid.core.types.DataTypeManagerService.DefaultDataTypes;
+import org.teiid.metadata.FunctionMethod;
+import org.teiid.metadata.FunctionParameter;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestFunctionDescriptor {
+
+    private static final ITeiidVersion TEIID_VERSION = Version.TEIID_8_7.get();
+
+    private static final Integer RESULT = new Integer(1000);
+
+    /**
+     * Java methods of the functions
+     */
+    public static class Functions {
+
+        public static String concat(String first, String... rest) {
+            StringBuilder result = new StringBuilder(first);
+            for (String value : rest) {
+                result.append(value);
+            }
+            return result.toString();
+        }
+
+        public static Integer sum(Object... values) {
+            int result = 0;
+            for (Object value : values) {
+                result += ((Integer)value).intValue();
+            }
+            return result;
+        }
+
+        public static Integer length(byte[] value) {
+            return value.length;
+        }
+
+        public static Integer totalLength(byte[]... values) {
+            int result = 0;
+            for (byte[] value : values) {
+                result += value.length;
+            }
+            return result;
+        }
+
+        public static Integer result() {
+            return RESULT;
+        }
+
+        public static Object longResult() {
+            return Long.valueOf(1);
+        }
+
+        public static String longString() {
+            return new String(new char[DataTypeManagerService.MAX_STRING_LENGTH + 1]);
+        }
+    }
+
+    /**
+     * @param paramCount the number of parameters of the function, the last of which is a var arg
+     *          if fewer than the arguments or -1 if the function has no var arg
+     * @param argTypes the types of the arguments the function is called with
+     */
+    private static FunctionDescriptor createDescriptor(String name, DefaultDataTypes returnType, int paramCount, DefaultDataTypes... argTypes) throws Exception {
+        boolean varArgs = paramCount != -1;
+        if (!varArgs) {
+            paramCount = argTypes.length;
+        }
+        FunctionParameter[] params = new FunctionParameter[paramCount];
+        for (int i = 0; i < paramCount; ++i) {
+            params[i] = new FunctionParameter("arg" + i, argTypes[i].getId());
+        }
+        Class<?>[] types = new Class<?>[argTypes.length];
+        for (int i = 0; i < argTypes.length; ++i) {
+            types[i] = argTypes[i].getTypeClass();
+        }
+        FunctionMethod method = new FunctionMethod(name, name, "test", params, new FunctionParameter("result", returnType.getId()));
+        method.setVarArgs(varArgs);
+
+        Method invocationMethod = null;
+        for (Method m : Functions.class.getMethods()) {
+            if (m.getName().equals(name)) {
+                invocationMethod = m;
+            }
+        }
+        FunctionDescriptor descriptor = new FunctionDescriptor(TEIID_VERSION, method, types, returnType.getTypeClass(), invocationMethod, false);
+        for (DefaultDataTypes argType : argTypes) {
+            if (argType == DefaultDataTypes.VARBINARY) {
+                descriptor.setHasWrappedArgs(true);
+            }
+        }
+        return descriptor;
+    }
+
+    private static BinaryType binary(int length) {
+        return new BinaryType(new byte[length]);
+    }
+
+    @Test
+    public void testVarArgs() throws Exception {
+        FunctionDescriptor descriptor = createDescriptor("concat", DefaultDataTypes.STRING, 2, DefaultDataTypes.STRING, DefaultDataTypes.STRING, DefaultDataTypes.STRING);
+
+        assertEquals("abc", descriptor.invokeFunction(new Object[] {"a", "b", "c"}, null, null));
+        // the invoker is reused
+        assertEquals("def", descriptor.invokeFunction(new Object[] {"d", "e", "f"}, null, null));
+    }
+
+    @Test
+    public void testObjectVarArgs() throws Exception {
+        FunctionDescriptor descriptor = createDescriptor("sum", DefaultDataTypes.INTEGER, 1, DefaultDataTypes.OBJECT, DefaultDataTypes.OBJECT, DefaultDataTypes.OBJECT);
+
+        assertEquals(6, descriptor.invokeFunction(new Object[] {1, 2, 3}, null, null));
+    }
+
+    @Test
+    public void testVarArgArrayParam() throws Exception {
+        FunctionDescriptor descriptor = createDescriptor("concat", DefaultDataTypes.STRING, 2, DefaultDataTypes.STRING, DefaultDataTypes.STRING);
+        descriptor.setCalledWithVarArgArrayParam(true);
+
+        // an array of the var arg type is passed as is
+        Object[] values = new Object[] {"a", new ArrayImpl(TEIID_VERSION, (Object[])new String[] {"b", "c"})};
+        assertEquals("abc", descriptor.invokeFunction(values, null, null));
+        // other arrays are converted to the var arg type
+        values = new Object[] {"a", new ArrayImpl(TEIID_VERSION, new Object[] {"b", "c"})};
+        assertEquals("abc", descriptor.invokeFunction(values, null, null));
+    }
+
+    @Test
+    public void testObjectVarArgArrayParam() throws Exception {
+        FunctionDescriptor descriptor = createDescriptor("sum", DefaultDataTypes.INTEGER, 1, DefaultDataTypes.OBJECT);
+        descriptor.setCalledWithVarArgArrayParam(true);
+
+        Object[] values = new Object[] {new ArrayImpl(TEIID_VERSION, 1, 2, 3)};
+        assertEquals(6, descriptor.invokeFunction(values, null, null));
+    }
+
+    @Test
+    public void testBinary() throws Exception {
+        FunctionDescriptor descriptor = createDescriptor("length", DefaultDataTypes.INTEGER, -1, DefaultDataTypes.VARBINARY);
+
+        assertEquals(5, descriptor.invokeFunction(new Object[] {binary(5)}, null, null));
+        assertNull(descriptor.invokeFunction(new Object[] {null}, null, null));
+    }
+
+    @Test
+    public void testBinaryVarArgs() throws Exception {
+        FunctionDescriptor descriptor = createDescriptor("totalLength", DefaultDataTypes.INTEGER, 1, DefaultDataTypes.VARBINARY, DefaultDataTypes.VARBINARY);
+
+        assertEquals(5, descriptor.invokeFunction(new Object[] {binary(2), binary(3)}, null, null));
+    }
+
+    @Test
+    public void testRuntimeTypedReturn() throws Exception {
+        FunctionDescriptor descriptor = createDescriptor("result", DefaultDataTypes.INTEGER, -1);
+
+        // already of the runtime type, so returned as is
+        assertSame(RESULT, descriptor.invokeFunction(new Object[0], null, null));
+    }
+
+    @Test
+    public void testConvertedReturn() throws Exception {
+        FunctionDescriptor descriptor = createDescriptor("longResult", DefaultDataTypes.INTEGER, -1);
+        assertEquals(Integer.valueOf(1), descriptor.invokeFunction(new Object[0], null, null));
+
+        // strings are always imported, which truncates them
+        descriptor = createDescriptor("longString", DefaultDataTypes.STRING, -1);
+        assertEquals(DataTypeManagerService.MAX_STRING_LENGTH, ((String)descriptor.invokeFunction(new Object[0], null, null)).length());
+    }
+}
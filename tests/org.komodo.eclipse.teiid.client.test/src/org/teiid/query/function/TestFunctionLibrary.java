@@ -0,0 +1,178 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.query.function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.spi.runtime.version.ITeiidVersion;
+import org.komodo.spi.runtime.version.TeiidVersion.Version;
+import org.teiid.core.types.DataTypeManagerService.DefaultDataTypes;
+import org.teiid.core.util.ConcurrentLRUCache;
+import org.teiid.metadata.FunctionMethod;
+import org.teiid.metadata.FunctionParameter;
+import org.teiid.query.parser.QueryParser;
+import org.teiid.query.sql.symbol.ElementSymbol;
+import org.teiid.query.sql.symbol.Expression;
+import org.teiid.query.sql.v8.Test8Factory;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestFunctionLibrary {
+
+    private static final ITeiidVersion TEIID_VERSION = Version.TEIID_8_7.get();
+
+    private static final String SCHEMA = "udf";
+
+    private final Test8Factory factory = new Test8Factory(new QueryParser(TEIID_VERSION));
+
+    private UDFSource source;
+
+    private FunctionTree userFunctions;
+
+    private FunctionLibrary library;
+
+    private static FunctionMethod createFunction(String name, DefaultDataTypes type) {
+        return new FunctionMethod(name, name, "test",
+                                  new FunctionParameter[] {new FunctionParameter("arg", type.getId())},
+                                  new FunctionParameter("result", type.getId()));
+    }
+
+    @Before
+    public void setUp() {
+        List<FunctionMethod> methods = new ArrayList<FunctionMethod>();
+        methods.add(createFunction("longFunc", DefaultDataTypes.LONG));
+        methods.add(createFunction("intFunc", DefaultDataTypes.INTEGER));
+        source = new UDFSource(methods, getClass().getClassLoader());
+        userFunctions = new FunctionTree(TEIID_VERSION, SCHEMA, source);
+
+        SystemFunctionManager systemFunctionManager = new SystemFunctionManager(TEIID_VERSION, getClass().getClassLoader());
+        library = new FunctionLibrary(TEIID_VERSION, systemFunctionManager.getSystemFunctions(), userFunctions);
+    }
+
+    private ElementSymbol newElementSymbol(DefaultDataTypes type) {
+        ElementSymbol symbol = factory.newElementSymbol("g1.e1");
+        symbol.setType(type.getTypeClass());
+        return symbol;
+    }
+
+    private FunctionDescriptor[] determineConversions(String name, Expression arg) throws Exception {
+        return library.determineNecessaryConversions(name, null, new Expression[] {arg}, new Class<?>[] {arg.getType()}, false);
+    }
+
+    private void assertNoConversion(String name, Expression arg) {
+        try {
+            determineConversions(name, arg);
+            fail("Expected no conversion of " + arg + " for " + name);
+        } catch (Exception ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCachedConversions() throws Exception {
+        ElementSymbol arg = newElementSymbol(DefaultDataTypes.INTEGER);
+
+        FunctionDescriptor[] conversions = determineConversions("longFunc", arg);
+        assertEquals(1, conversions.length);
+        assertNotNull(conversions[0]);
+        ConcurrentLRUCache.Statistics stats = library.getResolutionCacheStatistics();
+        long hits = stats.getHitCount();
+        long misses = stats.getMissCount();
+
+        FunctionDescriptor[] cached = determineConversions("longFunc", newElementSymbol(DefaultDataTypes.INTEGER));
+        stats = library.getResolutionCacheStatistics();
+        assertEquals(hits + 1, stats.getHitCount());
+        assertEquals(misses, stats.getMissCount());
+        // callers may change the array they are given
+        assertNotSame(conversions, cached);
+        assertEquals(1, cached.length);
+        assertEquals(conversions[0].getName(), cached[0].getName());
+        assertEquals(conversions[0].getReturnType(), cached[0].getReturnType());
+
+        // an exact match needs no conversions
+        assertNull(determineConversions("longFunc", newElementSymbol(DefaultDataTypes.LONG)));
+        hits = library.getResolutionCacheStatistics().getHitCount();
+        assertNull(determineConversions("longFunc", newElementSymbol(DefaultDataTypes.LONG)));
+        assertEquals(hits + 1, library.getResolutionCacheStatistics().getHitCount());
+    }
+
+    @Test
+    public void testCachedNoConversion() throws Exception {
+        // long to integer is only an explicit conversion
+        ElementSymbol arg = newElementSymbol(DefaultDataTypes.LONG);
+
+        assertNoConversion("intFunc", arg);
+        ConcurrentLRUCache.Statistics stats = library.getResolutionCacheStatistics();
+        long hits = stats.getHitCount();
+        long misses = stats.getMissCount();
+
+        assertNoConversion("intFunc", arg);
+        stats = library.getResolutionCacheStatistics();
+        assertEquals(hits + 1, stats.getHitCount());
+        assertEquals(misses, stats.getMissCount());
+    }
+
+    @Test
+    public void testModifiedTreeInvalidatesCache() throws Exception {
+        ElementSymbol arg = newElementSymbol(DefaultDataTypes.INTEGER);
+
+        FunctionDescriptor[] conversions = determineConversions("longFunc", arg);
+        assertNotNull(conversions[0]);
+        assertNoConversion("noFunc", arg);
+
+        int modificationCount = userFunctions.getModificationCount();
+        userFunctions.addFunction(SCHEMA, source, createFunction("longFunc", DefaultDataTypes.INTEGER), false);
+        userFunctions.addFunction(SCHEMA, source, createFunction("noFunc", DefaultDataTypes.INTEGER), false);
+        assertEquals(modificationCount + 2, userFunctions.getModificationCount());
+
+        // the new functions are exact matches
+        assertNull(determineConversions("longFunc", arg));
+        assertNull(determineConversions("noFunc", arg));
+    }
+
+    @Test
+    public void testConstantDependentConversionsNotCached() throws Exception {
+        // string to integer is an explicit conversion, only allowed for constants that convert
+        FunctionDescriptor[] conversions = determineConversions("intFunc", factory.newConstant("1"));
+        assertEquals(1, conversions.length);
+        assertNotNull(conversions[0]);
+
+        // the value of the previous constant must not decide the conversion
+        assertNoConversion("intFunc", factory.newConstant("a"));
+        conversions = determineConversions("intFunc", factory.newConstant("2"));
+        assertNotNull(conversions[0]);
+
+        // non constant arguments of the same type have no conversion
+        assertNoConversion("intFunc", newElementSymbol(DefaultDataTypes.STRING));
+    }
+}
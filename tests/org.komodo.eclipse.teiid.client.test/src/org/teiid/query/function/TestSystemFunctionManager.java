@@ -0,0 +1,65 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.query.function;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.komodo.spi.runtime.version.TeiidVersion.Version;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc"} )
+public class TestSystemFunctionManager {
+
+    @Test
+    public void testSharedPerVersion() {
+        SystemFunctionManager manager = SystemFunctionManager.getInstance(Version.TEIID_8_7.get());
+        assertSame(manager, SystemFunctionManager.getInstance(Version.TEIID_8_7.get()));
+        assertNotSame(manager, SystemFunctionManager.getInstance(Version.TEIID_7_7.get()));
+    }
+
+    @Test
+    public void testSharedInstanceCannotAllowEnvFunction() {
+        SystemFunctionManager manager = SystemFunctionManager.getInstance(Version.TEIID_8_7.get());
+        try {
+            manager.setAllowEnvFunction(false);
+            fail("The shared manager should not be changed");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        assertTrue(manager.isAllowEnvFunction());
+    }
+
+    @Test
+    public void testOwnInstanceCanAllowEnvFunction() {
+        SystemFunctionManager manager = new SystemFunctionManager(Version.TEIID_8_7.get(), getClass().getClassLoader());
+        manager.setAllowEnvFunction(false);
+        assertFalse(manager.isAllowEnvFunction());
+        assertTrue(SystemFunctionManager.getInstance(Version.TEIID_8_7.get()).isAllowEnvFunction());
+    }
+}
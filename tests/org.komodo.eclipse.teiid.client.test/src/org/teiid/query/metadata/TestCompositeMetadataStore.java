@@ -0,0 +1,190 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.query.metadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.teiid.metadata.AbstractMetadataRecord;
+import org.teiid.metadata.MetadataStore;
+import org.teiid.metadata.Procedure;
+import org.teiid.metadata.Schema;
+import org.teiid.metadata.Table;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestCompositeMetadataStore {
+
+    private static Schema createSchema(String name, MetadataStore store) {
+        Schema schema = new Schema();
+        schema.setName(name);
+        schema.setUUID("uuid:" + name);
+        store.addSchema(schema);
+        return schema;
+    }
+
+    private static Table createTable(String name, Schema schema) {
+        Table table = new Table();
+        table.setName(name);
+        table.setUUID("uuid:" + schema.getName() + "." + name);
+        schema.addTable(table);
+        return table;
+    }
+
+    private static Procedure createProcedure(String name, Schema schema) {
+        Procedure procedure = new Procedure();
+        procedure.setName(name);
+        procedure.setUUID("uuid:" + schema.getName() + "." + name);
+        schema.addProcedure(procedure);
+        return procedure;
+    }
+
+    private static Set<String> fullNames(Collection<? extends AbstractMetadataRecord> records) {
+        Set<String> names = new HashSet<String>();
+        for (AbstractMetadataRecord record : records) {
+            names.add(record.getFullName());
+        }
+        return names;
+    }
+
+    private static Set<String> names(String... fullNames) {
+        Set<String> names = new HashSet<String>();
+        for (String fullName : fullNames) {
+            names.add(fullName);
+        }
+        return names;
+    }
+
+    private static CompositeMetadataStore createStore() {
+        MetadataStore store = new MetadataStore();
+        Schema pm1 = createSchema("pm1", store);
+        Schema pm2 = createSchema("pm2", store);
+        createTable("g1", pm1);
+        createTable("g2", pm1);
+        createTable("g1", pm2);
+        createTable("doc.g1", pm2);
+        createTable("doc.xg1", pm2);
+        createProcedure("sq1", pm1);
+        createProcedure("sq1", pm2);
+        createProcedure("pkg.sq1", pm2);
+        return new CompositeMetadataStore(store);
+    }
+
+    @Test
+    public void testPartialNameAcrossSchemas() throws Exception {
+        CompositeMetadataStore store = createStore();
+
+        assertEquals(names("pm1.g1", "pm2.g1", "pm2.doc.g1"), fullNames(store.getGroupsForPartialName("g1")));
+        assertEquals(names("pm1.g2"), fullNames(store.getGroupsForPartialName("g2")));
+        assertTrue(store.getGroupsForPartialName("g3").isEmpty());
+        // schema qualified names are found through findGroup
+        assertTrue(store.getGroupsForPartialName("pm1.g1").isEmpty());
+        assertEquals("pm1.g1", store.findGroup("pm1.g1").getFullName());
+    }
+
+    @Test
+    public void testPartialNameOfDottedTableName() throws Exception {
+        CompositeMetadataStore store = createStore();
+
+        assertEquals(names("pm2.doc.g1"), fullNames(store.getGroupsForPartialName("doc.g1")));
+        assertEquals(names("pm2.doc.xg1"), fullNames(store.getGroupsForPartialName("xg1")));
+        assertEquals(names("pm2.doc.g1"), fullNames(store.getGroupsForPartialName("DOC.g1")));
+        // only whole segments match
+        assertTrue(store.getGroupsForPartialName("c.g1").isEmpty());
+        assertTrue(store.getGroupsForPartialName("xdoc.g1").isEmpty());
+        assertEquals("pm2.doc.g1", store.findGroup("pm2.doc.g1").getFullName());
+    }
+
+    @Test
+    public void testPartialNameIgnoresCase() {
+        CompositeMetadataStore store = createStore();
+
+        assertEquals(names("pm1.g1", "pm2.g1", "pm2.doc.g1"), fullNames(store.getGroupsForPartialName("G1")));
+        assertEquals(names("pm2.doc.g1"), fullNames(store.getGroupsForPartialName("DOC.G1")));
+        assertEquals(names("pm2.doc.xg1"), fullNames(store.getGroupsForPartialName("Doc.XG1")));
+    }
+
+    @Test
+    public void testPartialProcedureName() throws Exception {
+        CompositeMetadataStore store = createStore();
+
+        assertEquals(names("pm1.sq1", "pm2.sq1", "pm2.pkg.sq1"), fullNames(store.getStoredProcedure("SQ1")));
+        assertEquals(names("pm2.pkg.sq1"), fullNames(store.getStoredProcedure("pm2.PKG.sq1")));
+        assertEquals(names("pm1.sq1"), fullNames(store.getStoredProcedure("PM1.sq1")));
+    }
+
+    @Test
+    public void testPartialNameAfterMerge() throws Exception {
+        CompositeMetadataStore store = createStore();
+        // build the index before merging
+        assertEquals(3, store.getGroupsForPartialName("g1").size());
+
+        MetadataStore other = new MetadataStore();
+        Schema pm3 = createSchema("pm3", other);
+        createTable("G1", pm3);
+        createTable("g3", pm3);
+        createProcedure("sq1", pm3);
+        store.merge(other);
+
+        assertEquals(names("pm1.g1", "pm2.g1", "pm2.doc.g1", "pm3.G1"), fullNames(store.getGroupsForPartialName("g1")));
+        assertEquals(names("pm3.g3"), fullNames(store.getGroupsForPartialName("g3")));
+        assertEquals(names("pm1.sq1", "pm2.sq1", "pm2.pkg.sq1", "pm3.sq1"), fullNames(store.getStoredProcedure("sq1")));
+
+        List<Table> tables = new ArrayList<Table>(store.getGroupsForPartialName("g3"));
+        assertEquals(1, tables.size());
+        assertEquals(pm3, tables.get(0).getParent());
+    }
+
+    @Test
+    public void testPartialNameAfterSchemaChange() throws Exception {
+        CompositeMetadataStore store = createStore();
+        // build the index before changing the schemas
+        assertEquals(3, store.getGroupsForPartialName("g1").size());
+        assertEquals(3, store.getStoredProcedure("sq1").size());
+
+        Schema pm1 = store.getSchema("pm1");
+        createTable("g3", pm1);
+        createProcedure("pkg.sq1", pm1);
+
+        assertEquals(names("pm1.g3"), fullNames(store.getGroupsForPartialName("g3")));
+        assertEquals(names("pm1.sq1", "pm2.sq1", "pm2.pkg.sq1", "pm1.pkg.sq1"), fullNames(store.getStoredProcedure("sq1")));
+
+        // removed from the map of the schema, replaced by a table of the same count
+        Schema pm2 = store.getSchema("pm2");
+        pm2.getTables().remove("doc.xg1");
+        createTable("g4", pm2);
+        pm2.getProcedures().remove("pkg.sq1");
+
+        assertTrue(store.getGroupsForPartialName("xg1").isEmpty());
+        assertEquals(names("pm2.g4"), fullNames(store.getGroupsForPartialName("g4")));
+        assertEquals(names("pm1.sq1", "pm2.sq1", "pm1.pkg.sq1"), fullNames(store.getStoredProcedure("sq1")));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.query.metadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.komodo.spi.runtime.version.TeiidVersion.Version;
+import org.teiid.metadata.Table;
+import org.teiid.query.unittest.RealMetadataFactory;
+import org.teiid.query.validator.ValidatorFailure;
+import org.teiid.query.validator.ValidatorReport;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestMetadataValidator {
+
+    private static final String SOURCE_DDL =
+        "CREATE FOREIGN TABLE g1 (e1 string, e2 integer);" +
+        "CREATE FOREIGN TABLE g2 (e1 string, e3 boolean);";
+
+    // Views without declared columns, valid and invalid definitions
+    // and definitions depending upon the columns of other views
+    private static final String VIEW_DDL =
+        "CREATE VIEW v1 AS SELECT e1, e2 FROM phy.g1;" +
+        "CREATE VIEW v2 (e1 string, e2 integer) AS SELECT e1, e2 FROM v1;" +
+        "CREATE VIEW v3 (e1 string) AS SELECT x FROM phy.g1;" +
+        "CREATE VIEW v4 (e1 string) AS SELECT e1 FROM missing;" +
+        "CREATE VIEW v5 AS SELECT e1, e3 FROM phy.g2;" +
+        "CREATE VIEW v6 (e1 string, e3 boolean) AS SELECT v5.e1, v5.e3 FROM v5, v2 WHERE v5.e1 = v2.e1;" +
+        "CREATE VIEW v7 (e1 string) AS SELECT y FROM v5;" +
+        "CREATE VIRTUAL PROCEDURE p1 () RETURNS TABLE (e1 string) AS BEGIN SELECT e1 FROM v6; END;" +
+        "CREATE VIRTUAL PROCEDURE p2 () RETURNS TABLE (e1 string) AS BEGIN SELECT z FROM v2; END;" +
+        "CREATE VIRTUAL PROCEDURE p3 () RETURNS TABLE (e1 string) AS BEGIN SELECT e1 FROM v1; END;";
+
+    private final RealMetadataFactory metadataFactory = new RealMetadataFactory(Version.TEIID_8_7.get());
+
+    private TransformationMetadata createMetadata() {
+        CompositeMetadataStore store = new CompositeMetadataStore(Collections.EMPTY_LIST);
+        store.merge(metadataFactory.helpParse(SOURCE_DDL, "phy").asMetadataStore());
+        store.merge(metadataFactory.helpParse(VIEW_DDL, "virt").asMetadataStore());
+        return metadataFactory.createTransformationMetadata(store, "multiview");
+    }
+
+    private static List<String> messages(ValidatorReport report) {
+        List<String> messages = new ArrayList<String>();
+        for (ValidatorFailure failure : report.getItems()) {
+            messages.add(failure.getOutcome() + ": " + failure.getMessage());
+        }
+        return messages;
+    }
+
+    private List<String> validate(int parallelism) {
+        TransformationMetadata metadata = createMetadata();
+        MetadataValidator validator = new MetadataValidator(metadataFactory.getTeiidVersion());
+        validator.setParallelism(parallelism);
+        assertEquals(parallelism, validator.getParallelism());
+
+        ValidatorReport report = validator.validate(metadata.getVdbMetaData(), metadata.getMetadataStore());
+
+        // the columns of views without declared columns are added by the validation
+        Table v1 = metadata.getMetadataStore().getSchema("virt").getTable("v1");
+        assertEquals(2, v1.getColumns().size());
+        Table v5 = metadata.getMetadataStore().getSchema("virt").getTable("v5");
+        assertEquals(2, v5.getColumns().size());
+
+        return messages(report);
+    }
+
+    @Test
+    public void testReportIndependentOfParallelism() {
+        List<String> sequential = validate(1);
+        // v3, v4, v7 and p2 are invalid
+        assertFalse(sequential.isEmpty());
+        for (String msg : new String[] {"v3", "v4", "v7", "p2"}) {
+            boolean found = false;
+            for (String message : sequential) {
+                found |= message.contains("virt." + msg);
+            }
+            assertTrue(msg, found);
+        }
+
+        for (int parallelism = 2; parallelism <= 4; parallelism++) {
+            assertEquals(sequential, validate(parallelism));
+        }
+    }
+
+    @Test
+    public void testRepeatedParallelValidation() {
+        List<String> expected = validate(1);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(expected, validate(4));
+        }
+    }
+
+    @Test
+    public void testParallelismAtLeastOne() {
+        MetadataValidator validator = new MetadataValidator(metadataFactory.getTeiidVersion());
+        validator.setParallelism(0);
+        assertEquals(1, validator.getParallelism());
+        validator.setParallelism(-2);
+        assertEquals(1, validator.getParallelism());
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.query.metadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.spi.runtime.version.ITeiidVersion;
+import org.komodo.spi.runtime.version.TeiidVersion.Version;
+import org.teiid.core.util.ObjectConverterUtil;
+import org.teiid.metadata.AbstractMetadataRecord;
+import org.teiid.metadata.Column;
+import org.teiid.metadata.Datatype;
+import org.teiid.metadata.MetadataStore;
+import org.teiid.metadata.Procedure;
+import org.teiid.metadata.Schema;
+import org.teiid.metadata.Table;
+import org.teiid.query.parser.QueryParser;
+import org.teiid.query.resolver.QueryResolver;
+import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.symbol.Expression;
+import org.teiid.query.unittest.RealMetadataFactory;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestSystemMetadata {
+
+    private static final ITeiidVersion TEIID_VERSION = Version.TEIID_8_7.get();
+
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = File.createTempFile("teiid", "snapshot");
+        directory.delete();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private static List<String> names(Map<String, ? extends AbstractMetadataRecord> records) {
+        List<String> names = new ArrayList<String>();
+        for (AbstractMetadataRecord record : records.values()) {
+            names.add(record.getFullName());
+        }
+        return names;
+    }
+
+    private static void assertEquivalent(SystemMetadata expected, SystemMetadata actual) {
+        assertEquals(expected.getDataTypes().size(), actual.getDataTypes().size());
+        for (int i = 0; i < expected.getDataTypes().size(); ++i) {
+            Datatype expectedType = expected.getDataTypes().get(i);
+            Datatype actualType = actual.getDataTypes().get(i);
+            assertEquals(expectedType.getName(), actualType.getName());
+            assertEquals(expectedType.getRuntimeTypeName(), actualType.getRuntimeTypeName());
+            assertEquals(expectedType.getLength(), actualType.getLength());
+        }
+        assertEquals(expected.getRuntimeTypeMap().keySet(), actual.getRuntimeTypeMap().keySet());
+
+        MetadataStore expectedStore = expected.getSystemStore();
+        MetadataStore actualStore = actual.getSystemStore();
+        assertEquals(names(expectedStore.getSchemas()), names(actualStore.getSchemas()));
+        for (Schema expectedSchema : expectedStore.getSchemas().values()) {
+            Schema actualSchema = actualStore.getSchema(expectedSchema.getName());
+            assertEquals(names(expectedSchema.getTables()), names(actualSchema.getTables()));
+            assertEquals(names(expectedSchema.getProcedures()), names(actualSchema.getProcedures()));
+            for (Table expectedTable : expectedSchema.getTables().values()) {
+                Table actualTable = actualSchema.getTable(expectedTable.getName());
+                assertEquals(expectedTable.getColumns().size(), actualTable.getColumns().size());
+                for (int i = 0; i < expectedTable.getColumns().size(); ++i) {
+                    Column expectedColumn = expectedTable.getColumns().get(i);
+                    Column actualColumn = actualTable.getColumns().get(i);
+                    assertEquals(expectedColumn.getName(), actualColumn.getName());
+                    assertEquals(expectedColumn.getRuntimeType(), actualColumn.getRuntimeType());
+                }
+            }
+            for (Procedure expectedProcedure : expectedSchema.getProcedures().values()) {
+                Procedure actualProcedure = actualSchema.getProcedure(expectedProcedure.getName());
+                assertEquals(expectedProcedure.getParameters().size(), actualProcedure.getParameters().size());
+            }
+        }
+    }
+
+    private static void resolve(SystemMetadata systemMetadata) throws Exception {
+        RealMetadataFactory metadataFactory = new RealMetadataFactory(TEIID_VERSION);
+        TransformationMetadata metadata = metadataFactory.createTransformationMetadata(systemMetadata.getSystemStore(), "system");
+        QueryParser parser = new QueryParser(TEIID_VERSION);
+        Command command = parser.parseCommand("SELECT Name, IsPhysical FROM SYS.Tables WHERE SchemaName = 'SYS'");
+        new QueryResolver(parser).resolveCommand(command, metadata);
+
+        List<Expression> symbols = command.getProjectedSymbols();
+        assertEquals(String.class, symbols.get(0).getType());
+        assertEquals(Boolean.class, symbols.get(1).getType());
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws Exception {
+        SystemMetadata parsed = new SystemMetadata(TEIID_VERSION, directory);
+        assertFalse(parsed.isFromSnapshot());
+        assertTrue(parsed.getSnapshot().isFile());
+
+        SystemMetadata read = new SystemMetadata(TEIID_VERSION, directory);
+        assertTrue(read.isFromSnapshot());
+        assertEquivalent(parsed, read);
+        resolve(read);
+    }
+
+    @Test
+    public void testChecksumMismatch() throws Exception {
+        SystemMetadata parsed = new SystemMetadata(TEIID_VERSION, directory);
+        File snapshot = parsed.getSnapshot();
+
+        // change a byte of the serialized metadata
+        RandomAccessFile file = new RandomAccessFile(snapshot, "rw");
+        try {
+            long position = file.length() / 2;
+            file.seek(position);
+            int value = file.read();
+            file.seek(position);
+            file.write(value ^ 1);
+        } finally {
+            file.close();
+        }
+
+        SystemMetadata reparsed = new SystemMetadata(TEIID_VERSION, directory);
+        assertFalse(reparsed.isFromSnapshot());
+        assertEquivalent(parsed, reparsed);
+        resolve(reparsed);
+
+        // and the snapshot is replaced
+        assertTrue(new SystemMetadata(TEIID_VERSION, directory).isFromSnapshot());
+    }
+
+    @Test
+    public void testVersionMismatch() throws Exception {
+        SystemMetadata parsed = new SystemMetadata(TEIID_VERSION, directory);
+        SystemMetadata other = new SystemMetadata(Version.TEIID_8_6.get(), directory);
+        assertFalse(other.isFromSnapshot());
+        assertFalse(parsed.getSnapshot().equals(other.getSnapshot()));
+
+        // the snapshot of another version under the name of this one
+        ObjectConverterUtil.write(new FileInputStream(other.getSnapshot()), parsed.getSnapshot());
+
+        SystemMetadata reparsed = new SystemMetadata(TEIID_VERSION, directory);
+        assertFalse(reparsed.isFromSnapshot());
+        assertEquivalent(parsed, reparsed);
+        resolve(reparsed);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.query.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.komodo.spi.query.IQueryFactory;
+import org.komodo.spi.runtime.version.ITeiidVersion;
+import org.komodo.spi.runtime.version.TeiidVersion.Version;
+import org.teiid.query.parser.TeiidNodeFactory.ASTNodes;
+import org.teiid.query.sql.lang.Teiid7ParserTreeConstants;
+import org.teiid.query.sql.lang.Teiid8ParserTreeConstants;
+import org.teiid.query.sql.symbol.Expression;
+import org.teiid.runtime.client.query.SyntaxFactory;
+
+/**
+ * Measures the throughput of creating language objects through
+ * {@link TeiidNodeFactory} and {@link IQueryFactory}.
+ *
+ * The original node factory located a node id by scanning the
+ * parser's node names for each node created. This lookup is
+ * reproduced here as the baseline against which the current
+ * indexed lookup of the node factory is compared.
+ *
+ * Execute as a java application.
+ */
+@SuppressWarnings( {"javadoc", "nls", "unchecked"} )
+public class QueryFactoryBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200000;
+
+    private static final int ITERATIONS = 2000000;
+
+    private static final ASTNodes[] NODE_TYPES = {
+        ASTNodes.CONSTANT, ASTNodes.ELEMENT_SYMBOL, ASTNodes.GROUP_SYMBOL,
+        ASTNodes.FUNCTION, ASTNodes.COMPARE_CRITERIA, ASTNodes.QUERY
+    };
+
+    private final TeiidParser teiidParser;
+
+    private final TeiidNodeFactory nodeFactory = TeiidNodeFactory.getInstance();
+
+    private final IQueryFactory factory;
+
+    private Object sink;
+
+    public QueryFactoryBenchmark(ITeiidVersion teiidVersion) {
+        this.teiidParser = new QueryParser(teiidVersion).getTeiidParser();
+        this.factory = new SyntaxFactory(teiidParser);
+    }
+
+    /**
+     * The node id lookup performed prior to indexing the node ids
+     */
+    private Object createByNameScan(ASTNodes nodeType) {
+        String[] nodeNames = teiidParser instanceof Teiid8Parser ?
+                                Teiid8ParserTreeConstants.jjtNodeName :
+                                Teiid7ParserTreeConstants.jjtNodeName;
+
+        for (int i = 0; i < nodeNames.length; ++i) {
+            if (nodeNames[i].equalsIgnoreCase(nodeType.getName()))
+                return nodeFactory.create(teiidParser, i);
+        }
+
+        throw new IllegalArgumentException(nodeType.getName());
+    }
+
+    private long runNameScan(int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            sink = createByNameScan(NODE_TYPES[i % NODE_TYPES.length]);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long runIndexed(int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            sink = nodeFactory.create(teiidParser, NODE_TYPES[i % NODE_TYPES.length]);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long runQueryFactory(int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            List<Expression> args = new ArrayList<Expression>(2);
+            args.add((Expression) factory.createElementSymbol("g.e1"));
+            args.add((Expression) factory.createConstant(Integer.valueOf(i)));
+            sink = factory.createFunction("concat", args);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String name, int iterations, long nanos) {
+        double opsPerSecond = iterations / (nanos / 1000000000d);
+        System.out.println(String.format("    %-30s %,15.0f ops/s", name, opsPerSecond));
+    }
+
+    public void run() {
+        runNameScan(WARMUP_ITERATIONS);
+        runIndexed(WARMUP_ITERATIONS);
+        runQueryFactory(WARMUP_ITERATIONS);
+
+        System.out.println("Teiid " + teiidParser.getVersion());
+        report("node name scan (before)", ITERATIONS, runNameScan(ITERATIONS));
+        report("node id table (after)", ITERATIONS, runIndexed(ITERATIONS));
+        report("IQueryFactory function", ITERATIONS, runQueryFactory(ITERATIONS));
+
+        if (sink == null)
+            System.out.println();
+    }
+
+    public static void main(String[] args) {
+        new QueryFactoryBenchmark(Version.TEIID_7_7.get()).run();
+        new QueryFactoryBenchmark(Version.TEIID_8_7.get()).run();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.query.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.komodo.spi.runtime.version.TeiidVersion.Version;
+import org.teiid.query.parser.TeiidNodeFactory.ASTNodes;
+import org.teiid.query.sql.lang.CompareCriteria;
+import org.teiid.query.sql.lang.LanguageObject;
+import org.teiid.query.sql.lang.ObjectTable;
+import org.teiid.query.sql.lang.Query;
+import org.teiid.query.sql.lang.Teiid7ParserTreeConstants;
+import org.teiid.query.sql.lang.Teiid8ParserTreeConstants;
+import org.teiid.query.sql.symbol.Constant;
+import org.teiid.query.sql.symbol.ElementSymbol;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestTeiidNodeFactory {
+
+    private final TeiidNodeFactory nodeFactory = TeiidNodeFactory.getInstance();
+
+    private static Class<?> classOf(Object node) {
+        return node == null ? null : node.getClass();
+    }
+
+    private void assertNode(TeiidParser teiidParser, ASTNodes nodeType, int nodeId, Class<?> nodeClass) {
+        LanguageObject expected = nodeFactory.create(teiidParser, nodeId);
+        LanguageObject actual = nodeFactory.create(teiidParser, nodeType);
+        assertEquals(nodeType.getName(), nodeClass, classOf(expected));
+        assertEquals(nodeType.getName(), nodeClass, classOf(actual));
+    }
+
+    private void assertNoNode(TeiidParser teiidParser, ASTNodes nodeType) {
+        try {
+            nodeFactory.create(teiidParser, nodeType);
+            fail("Node " + nodeType.getName() + " is not a node of the Teiid " + teiidParser.getVersion() + " parser");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCreateTeiid7Nodes() {
+        TeiidParser teiidParser = new QueryParser(Version.TEIID_7_7.get()).getTeiidParser();
+
+        assertNode(teiidParser, ASTNodes.QUERY, Teiid7ParserTreeConstants.JJTQUERY, Query.class);
+        assertNode(teiidParser, ASTNodes.ELEMENT_SYMBOL, Teiid7ParserTreeConstants.JJTELEMENTSYMBOL, ElementSymbol.class);
+        assertNode(teiidParser, ASTNodes.CONSTANT, Teiid7ParserTreeConstants.JJTCONSTANT, Constant.class);
+        assertNode(teiidParser, ASTNodes.COMPARE_CRITERIA, Teiid7ParserTreeConstants.JJTCOMPARECRITERIA, CompareCriteria.class);
+
+        // Only a node of the Teiid 8 parser
+        assertNoNode(teiidParser, ASTNodes.OBJECT_TABLE);
+    }
+
+    @Test
+    public void testCreateTeiid8Nodes() {
+        TeiidParser teiidParser = new QueryParser(Version.TEIID_8_7.get()).getTeiidParser();
+
+        assertNode(teiidParser, ASTNodes.QUERY, Teiid8ParserTreeConstants.JJTQUERY, Query.class);
+        assertNode(teiidParser, ASTNodes.ELEMENT_SYMBOL, Teiid8ParserTreeConstants.JJTELEMENTSYMBOL, ElementSymbol.class);
+        assertNode(teiidParser, ASTNodes.CONSTANT, Teiid8ParserTreeConstants.JJTCONSTANT, Constant.class);
+        assertNode(teiidParser, ASTNodes.COMPARE_CRITERIA, Teiid8ParserTreeConstants.JJTCOMPARECRITERIA, CompareCriteria.class);
+        assertNode(teiidParser, ASTNodes.OBJECT_TABLE, Teiid8ParserTreeConstants.JJTOBJECTTABLE, ObjectTable.class);
+
+        // Removed from the Teiid 8 parser
+        assertNoNode(teiidParser, ASTNodes.RAISE_ERROR_STATEMENT);
+    }
+
+    @Test
+    public void testSameInstanceAcrossThreads() throws Exception {
+        final TeiidNodeFactory[] instances = new TeiidNodeFactory[1];
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                instances[0] = TeiidNodeFactory.getInstance();
+            }
+        };
+        thread.start();
+        thread.join();
+
+        assertEquals(nodeFactory, instances[0]);
+    }
+}
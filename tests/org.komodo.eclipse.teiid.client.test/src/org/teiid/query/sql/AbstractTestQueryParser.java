@@ -22,6 +22,7 @@
 package org.teiid.query.sql;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -32,6 +33,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 import org.komodo.spi.query.sql.lang.ISPParameter.ParameterInfo;
@@ -40,6 +45,7 @@ import org.teiid.core.types.DataTypeManagerService;
 import org.teiid.language.SQLConstants.NonReserved;
 import org.teiid.language.SQLConstants.Reserved;
 import org.teiid.language.SortSpecification;
+import org.teiid.query.parser.CommandCache;
 import org.teiid.query.parser.ParseInfo;
 import org.teiid.query.parser.TeiidNodeFactory.ASTNodes;
 import org.teiid.query.sql.lang.ArrayTable;
@@ -4697,4 +4703,68 @@ public abstract class AbstractTestQueryParser extends AbstractTest<Command> {
     public void testTrim1() {
         helpException("select trim('xy' from e1) from pm1.g1");
     }
+
+    @Test
+    public void testConcurrentParsing() throws Exception {
+        final String[] sqls = {
+            "SELECT a, b FROM g WHERE a = 1",
+            "SELECT * FROM g1 INNER JOIN g2 ON g1.a1 = g2.a2",
+            "SELECT e1 FROM pm1.g1 WHERE e2 IN (1, 2, 3) ORDER BY e1",
+            "DELETE FROM g WHERE b = 'x'"
+        };
+
+        final List<Command> expected = new ArrayList<Command>();
+        for (String sql : sqls) {
+            expected.add(parser.parseCommand(sql));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 16; ++i) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        for (int j = 0; j < 50; ++j) {
+                            int index = j % sqls.length;
+                            Command command = parser.parseCommand(sqls[index]);
+                            if (! expected.get(index).equals(command))
+                                return false;
+                        }
+                        return true;
+                    }
+                }));
+            }
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCommandCache() throws Exception {
+        // a single segment so the least recently used command is evicted
+        CommandCache cache = new CommandCache(2, 1);
+        parser.setCommandCache(cache);
+
+        String sql = "SELECT a, b FROM g WHERE a = 1";
+        Command first = parser.parseCommand(sql);
+        Command second = parser.parseCommand(sql);
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(1, cache.getStatistics().getMissCount());
+        assertEquals(1, cache.getStatistics().getHitCount());
+
+        // Designer commands are cached separately
+        parser.parseDesignerCommand(sql);
+        assertEquals(2, cache.getStatistics().getMissCount());
+
+        parser.parseCommand("SELECT c FROM h");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+    }
 }
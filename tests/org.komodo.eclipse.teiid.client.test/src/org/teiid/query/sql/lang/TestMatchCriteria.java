@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.query.sql.lang;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.regex.Pattern;
+import org.junit.Test;
+import org.teiid.query.sql.lang.MatchCriteria.PatternMatcher;
+import org.teiid.query.sql.lang.MatchCriteria.PatternTranslator;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestMatchCriteria {
+
+    private static final char[] REGEX_RESERVED = new char[] {'$', '(', ')', '*', '+', '.', '?', '[', '\\', ']', '^', '{', '|', '}'};
+
+    private static final PatternTranslator LIKE_TO_REGEX = new PatternTranslator(new char[] {'%', '_'}, new String[] {".*", "."}, REGEX_RESERVED, '\\', Pattern.DOTALL);
+
+    private static final String[] PATTERNS = {
+        "", "%", "%%", "abc", "abc%", "%abc", "%abc%", "a.c%", "%a+c", "%[a]%",
+        "ab\\%%", "%\\_c", "\\\\abc", "a_c", "a%c", "%a_c%"
+    };
+
+    private static final String[] VALUES = {
+        "", "abc", "abcdef", "xyzabc", "xabcx", "ab", "a.c", "a.cd", "xa+c", "[a]", "ab%d", "a_c", "\\abc", "aXc", "ABC"
+    };
+
+    private void helpTestMatches(String pattern, char escape, String value) throws Exception {
+        PatternMatcher matcher = LIKE_TO_REGEX.getMatcher(pattern, escape);
+        boolean expected = LIKE_TO_REGEX.translate(pattern, escape).matcher(value).find();
+
+        assertEquals(pattern + " like " + value, expected, matcher.matches(value));
+        assertEquals(pattern + " like " + value, expected, matcher.matches(new StringBuilder(value)));
+    }
+
+    @Test
+    public void testLikeMatchersAgreeWithRegex() throws Exception {
+        for (String pattern : PATTERNS) {
+            for (String value : VALUES) {
+                helpTestMatches(pattern, '\\', value);
+            }
+        }
+    }
+
+    @Test
+    public void testLikeMatchersWithoutEscape() throws Exception {
+        for (String value : VALUES) {
+            helpTestMatches("\\%", MatchCriteria.NULL_ESCAPE_CHAR, value);
+            helpTestMatches("%\\", MatchCriteria.NULL_ESCAPE_CHAR, value);
+        }
+    }
+
+    @Test
+    public void testLiteralMatchersAgreeWithRegexAtLineTerminators() throws Exception {
+        String[] patterns = {"", "%", "abc", "%abc", "abc%", "%abc%", "abc\r", "%abc\n"};
+        String[] values = {
+            "\n", "\r\n", "abc\n", "abc\r\n", "abc\r", "abc\u0085", "abc\u2028", "abc\u2029",
+            "xabc\n", "abc\n\n", "abc\r\r\n", "abc\n\r", "abc\nx", "abc\t", "ab\n"
+        };
+
+        for (String pattern : patterns) {
+            for (String value : values) {
+                helpTestMatches(pattern, '\\', value);
+            }
+        }
+
+        assertTrue(LIKE_TO_REGEX.getMatcher("abc", '\\').matches("abc\n"));
+        assertFalse(LIKE_TO_REGEX.getMatcher("abc", '\\').matches("abc\n\n"));
+    }
+
+    @Test( expected = Exception.class )
+    public void testInvalidEscape() throws Exception {
+        LIKE_TO_REGEX.getMatcher("a\\bc%", '\\');
+    }
+
+    @Test
+    public void testMatcherCached() throws Exception {
+        PatternMatcher matcher = LIKE_TO_REGEX.getMatcher("cached%", '\\');
+        long hits = MatchCriteria.getPatternCacheStatistics().getHitCount();
+
+        assertSame(matcher, LIKE_TO_REGEX.getMatcher("cached%", '\\'));
+        assertEquals(hits + 1, MatchCriteria.getPatternCacheStatistics().getHitCount());
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.query.sql.lang;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.komodo.spi.runtime.version.TeiidVersion.Version;
+import org.teiid.query.eval.Evaluator;
+import org.teiid.query.parser.QueryParser;
+import org.teiid.query.parser.TeiidNodeFactory.ASTNodes;
+import org.teiid.query.sql.symbol.Constant;
+import org.teiid.query.sql.symbol.Expression;
+import org.teiid.query.sql.v8.Test8Factory;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestSetCriteria {
+
+    private final Test8Factory factory = new Test8Factory(new QueryParser(Version.TEIID_8_7.get()));
+
+    private SetCriteria newConstantSet(Expression expression, List<Expression> values) {
+        SetCriteria criteria = factory.newNode(ASTNodes.SET_CRITERIA);
+        criteria.setExpression(expression);
+        criteria.setValues(values);
+        criteria.setAllConstants(true);
+        return criteria;
+    }
+
+    /**
+     * Membership as determined by searching the values for an equal {@link Constant}
+     */
+    private boolean containsConstant(SetCriteria criteria, Object value) {
+        Constant probe = factory.newConstant(value, criteria.getExpression().getType());
+        return criteria.getValues().contains(probe);
+    }
+
+    private void assertLookupAgrees(SetCriteria criteria, Object... probes) {
+        for (Object probe : probes) {
+            assertEquals(probe + " in " + criteria.getValues(), containsConstant(criteria, probe), criteria.containsConstantValue(probe));
+        }
+    }
+
+    private boolean evaluate(Criteria criteria) throws Exception {
+        return new Evaluator(Version.TEIID_8_7.get()).evaluate(criteria);
+    }
+
+    @Test
+    public void testMixedNumericTypes() {
+        List<Expression> values = new ArrayList<Expression>();
+        values.add(factory.newConstant(1));
+        values.add(factory.newConstant(2L));
+        values.add(factory.newConstant(new BigDecimal("3.00")));
+        values.add(factory.newConstant((short) 4));
+        values.add(factory.newConstant(5.0d));
+
+        SetCriteria criteria = newConstantSet(factory.newConstant(1), values);
+        assertLookupAgrees(criteria, 1, 2, 2L, 3, new BigDecimal("3"), (short) 4, 4, 5, 5.0d);
+        assertTrue(criteria.containsConstantValue(1));
+        assertFalse(criteria.containsConstantValue(2));
+
+        criteria = newConstantSet(factory.newConstant(BigDecimal.ONE), values);
+        assertLookupAgrees(criteria, new BigDecimal("3"), new BigDecimal("3.0000"), new BigDecimal("1"), 1, 3);
+        assertTrue(criteria.containsConstantValue(new BigDecimal("3")));
+        assertTrue(criteria.containsConstantValue(new BigDecimal("3.0000")));
+    }
+
+    @Test
+    public void testZeroDecimals() {
+        List<Expression> values = new ArrayList<Expression>();
+        values.add(factory.newConstant(new BigDecimal("0.00")));
+
+        SetCriteria criteria = newConstantSet(factory.newConstant(BigDecimal.ONE), values);
+        assertLookupAgrees(criteria, BigDecimal.ZERO, new BigDecimal("0E+3"), new BigDecimal("-0.0"), BigDecimal.ONE);
+        assertTrue(criteria.containsConstantValue(new BigDecimal("0E+3")));
+    }
+
+    @Test
+    public void testNullConstant() throws Exception {
+        List<Expression> values = new ArrayList<Expression>();
+        values.add(factory.newConstant(2));
+        values.add(factory.newConstant(null, Integer.class));
+
+        SetCriteria criteria = newConstantSet(factory.newConstant(1), values);
+        assertTrue(criteria.containsNullConstant());
+        assertFalse(criteria.containsConstantValue(1));
+        // 1 IN (2, null) is unknown
+        assertFalse(evaluate(criteria));
+        criteria.setNegated(true);
+        assertFalse(evaluate(criteria));
+
+        criteria = newConstantSet(factory.newConstant(2), values);
+        assertTrue(evaluate(criteria));
+        criteria.setNegated(true);
+        assertFalse(evaluate(criteria));
+
+        criteria = newConstantSet(factory.newConstant(null, Integer.class), values);
+        assertFalse(evaluate(criteria));
+        criteria.setNegated(true);
+        assertFalse(evaluate(criteria));
+    }
+
+    @Test
+    public void testNoNullConstant() throws Exception {
+        List<Expression> values = new ArrayList<Expression>();
+        values.add(factory.newConstant(2));
+
+        SetCriteria criteria = newConstantSet(factory.newConstant(1), values);
+        assertFalse(criteria.containsNullConstant());
+        assertFalse(evaluate(criteria));
+        criteria.setNegated(true);
+        assertTrue(evaluate(criteria));
+    }
+
+    @Test
+    public void testValuesMutatedInPlace() throws Exception {
+        List<Expression> values = new ArrayList<Expression>(Arrays.asList((Expression) factory.newConstant(1), factory.newConstant(2)));
+
+        SetCriteria criteria = newConstantSet(factory.newConstant(3), values);
+        assertFalse(evaluate(criteria));
+
+        // same size so only detected as the values were obtained for modification
+        ((List<Expression>) criteria.getValues()).set(0, factory.newConstant(3));
+        assertTrue(evaluate(criteria));
+
+        criteria.getValues().clear();
+        assertFalse(criteria.containsConstantValue(3));
+
+        values = new ArrayList<Expression>();
+        values.add(factory.newConstant(4));
+        criteria.getValues().addAll(values);
+        assertTrue(criteria.containsConstantValue(4));
+        assertFalse(criteria.containsConstantValue(3));
+    }
+
+    @Test
+    public void testConstantMutatedInPlace() throws Exception {
+        Constant constant = factory.newConstant(1);
+        List<Expression> values = new ArrayList<Expression>();
+        values.add(constant);
+
+        SetCriteria criteria = newConstantSet(factory.newConstant(2), values);
+        assertFalse(evaluate(criteria));
+
+        ((Constant) criteria.getValues().iterator().next()).setValue(2);
+        assertTrue(evaluate(criteria));
+    }
+
+    @Test
+    public void testValuesReplacedAndExpressionTypeChanged() throws Exception {
+        List<Expression> values = new ArrayList<Expression>();
+        values.add(factory.newConstant(1L));
+
+        SetCriteria criteria = newConstantSet(factory.newConstant(1), values);
+        assertFalse(criteria.containsConstantValue(1L));
+
+        criteria.setExpression(factory.newConstant(1L));
+        assertTrue(criteria.containsConstantValue(1L));
+
+        List<Expression> newValues = new ArrayList<Expression>();
+        newValues.add(factory.newConstant(5L));
+        criteria.setValues(newValues);
+        assertFalse(criteria.containsConstantValue(1L));
+        assertTrue(criteria.containsConstantValue(5L));
+    }
+}
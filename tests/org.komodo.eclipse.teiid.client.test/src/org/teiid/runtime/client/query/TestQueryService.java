@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.runtime.client.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.spi.runtime.version.TeiidVersion.Version;
+import org.komodo.spi.udf.FunctionMethodDescriptor;
+import org.komodo.spi.udf.FunctionParameterDescriptor;
+import org.teiid.query.function.FunctionDescriptor;
+import org.teiid.query.function.FunctionLibrary;
+import org.teiid.query.function.FunctionTree;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestQueryService {
+
+    private static final Class<?>[] STRING_ARG = new Class<?>[] {String.class};
+
+    private QueryService queryService;
+
+    @Before
+    public void setUp() {
+        queryService = new QueryService(Version.TEIID_8_7.get());
+    }
+
+    private static FunctionMethodDescriptor descriptor(String schema, String name, String returnType) {
+        return new FunctionMethodDescriptor(schema + "." + name, name, "description", "category",
+                                            "org.example.Functions", name,
+                                            new FunctionParameterDescriptor[] {new FunctionParameterDescriptor("arg", "string")},
+                                            new FunctionParameterDescriptor("result", returnType), schema);
+    }
+
+    /**
+     * @return new descriptors, equal to those of earlier calls
+     */
+    private static List<FunctionMethodDescriptor> descriptors() {
+        List<FunctionMethodDescriptor> descriptors = new ArrayList<FunctionMethodDescriptor>();
+        descriptors.add(descriptor("s1", "f1", "string"));
+        descriptors.add(descriptor("s2", "f2", "string"));
+        descriptors.add(descriptor("s1", "f3", "integer"));
+        return descriptors;
+    }
+
+    private FunctionTree[] createTrees(List<FunctionMethodDescriptor> descriptors) {
+        return ((FunctionLibrary)queryService.createFunctionLibrary(descriptors)).getUserFunctions();
+    }
+
+    @Test
+    public void testUnchangedSchemaReused() {
+        FunctionLibrary first = (FunctionLibrary)queryService.createFunctionLibrary(descriptors());
+        FunctionLibrary second = (FunctionLibrary)queryService.createFunctionLibrary(descriptors());
+
+        assertNotSame(first, second);
+        assertEquals(2, second.getUserFunctions().length);
+        assertSame(first.getUserFunctions()[0], second.getUserFunctions()[0]);
+        assertSame(first.getUserFunctions()[1], second.getUserFunctions()[1]);
+        assertEquals("s1.f3", second.findFunction("s1.f3", STRING_ARG).getMetadataID());
+    }
+
+    @Test
+    public void testAddedDescriptorRebuildsSchema() {
+        FunctionTree[] trees = createTrees(descriptors());
+
+        List<FunctionMethodDescriptor> descriptors = descriptors();
+        descriptors.add(descriptor("s2", "f4", "string"));
+        FunctionTree[] newTrees = createTrees(descriptors);
+
+        assertSame(trees[0], newTrees[0]);
+        assertNotSame(trees[1], newTrees[1]);
+    }
+
+    @Test
+    public void testRemovedDescriptorRebuildsSchema() {
+        FunctionTree[] trees = createTrees(descriptors());
+
+        List<FunctionMethodDescriptor> descriptors = descriptors();
+        descriptors.remove(2);
+        FunctionTree[] newTrees = createTrees(descriptors);
+
+        assertNotSame(trees[0], newTrees[0]);
+        assertSame(trees[1], newTrees[1]);
+    }
+
+    @Test
+    public void testChangedDescriptorRebuildsSchema() {
+        FunctionTree[] trees = createTrees(descriptors());
+
+        List<FunctionMethodDescriptor> descriptors = descriptors();
+        descriptors.set(2, descriptor("s1", "f3", "long"));
+        FunctionLibrary library = (FunctionLibrary)queryService.createFunctionLibrary(descriptors);
+        FunctionTree[] newTrees = library.getUserFunctions();
+
+        assertNotSame(trees[0], newTrees[0]);
+        assertSame(trees[1], newTrees[1]);
+        FunctionDescriptor function = library.findFunction("s1.f3", STRING_ARG);
+        assertEquals(Long.class, function.getReturnType());
+
+        // a change to a descriptor after it was used is detected as well
+        descriptors.get(1).setDeterministic(!descriptors.get(1).isDeterministic());
+        FunctionTree[] changedTrees = createTrees(descriptors);
+        assertSame(newTrees[0], changedTrees[0]);
+        assertNotSame(newTrees[1], changedTrees[1]);
+    }
+
+    @Test
+    public void testDroppedSchemaEvicted() {
+        FunctionTree[] trees = createTrees(descriptors());
+
+        List<FunctionMethodDescriptor> descriptors = descriptors();
+        descriptors.remove(1);
+        FunctionTree[] newTrees = createTrees(descriptors);
+        assertEquals(1, newTrees.length);
+        assertSame(trees[0], newTrees[0]);
+
+        // the tree of the dropped schema is not kept for when it returns
+        newTrees = createTrees(descriptors());
+        assertSame(trees[0], newTrees[0]);
+        assertNotSame(trees[1], newTrees[1]);
+    }
+}
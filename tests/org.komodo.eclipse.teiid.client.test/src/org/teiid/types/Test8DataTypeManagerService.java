@@ -66,6 +66,19 @@ public class Test8DataTypeManagerService extends AbstractTestDataTypeManagerServ
         }
     }
 
+    @Test
+    public void testGetDataTypeIgnoresCase() {
+        for (Entry<ITeiidVersion, DataTypeManagerService> entry : dataTypeManagerCache.entrySet()) {
+            DataTypeManagerService dataTypeManager = entry.getValue();
+
+            assertSame(DefaultDataTypes.VARBINARY, dataTypeManager.getDataType("VarBinary"));
+            assertSame(DefaultDataTypes.STRING, dataTypeManager.getDataType("VARCHAR"));
+            assertSame(DefaultDataTypes.VARBINARY, dataTypeManager.getDataType(BinaryType[].class));
+            assertSame(BinaryType[].class, dataTypeManager.getDataTypeClass("VARBINARY[]"));
+            assertSame(dataTypeManager, DataTypeManagerService.getInstance(entry.getKey()));
+        }
+    }
+
     @Test
     public void testGetDataTypeClass1() {
         for (Entry<ITeiidVersion, DataTypeManagerService> entry : dataTypeManagerCache.entrySet()) {
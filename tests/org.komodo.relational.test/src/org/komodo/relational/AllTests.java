@@ -11,6 +11,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({ 
 	TestTable.class, 
 	TestColumn.class, 
+	TestDifferenceGenerator.class, 
 	TestProcedure.class, 
 	TestParameter.class,
 	TestAccessPattern.class, 
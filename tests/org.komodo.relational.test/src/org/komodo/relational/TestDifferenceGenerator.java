@@ -0,0 +1,393 @@
+/*
+ * Copyright 2014 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.komodo.relational;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.komodo.relational.compare.DifferenceGenerator;
+import org.komodo.relational.compare.DifferenceReport;
+import org.komodo.relational.model.AccessPattern;
+import org.komodo.relational.model.Column;
+import org.komodo.relational.model.ForeignKey;
+import org.komodo.relational.model.Index;
+import org.komodo.relational.model.Model;
+import org.komodo.relational.model.RelationalObject;
+import org.komodo.relational.model.Schema;
+import org.komodo.relational.model.Table;
+import org.komodo.relational.model.UniqueConstraint;
+
+/**
+ * Test Class to test DifferenceGenerator
+ *
+ */
+public class TestDifferenceGenerator {
+
+	private static final String MODEL_NAME = "myModel";  //$NON-NLS-1$
+
+	/**
+	 * Constructor
+	 */
+	public TestDifferenceGenerator( ) {
+		super();
+	}
+
+	private static Table createTable(String name, String... columnNames) {
+		Table table = RelationalUtil.createTable(name);
+		for(String columnName : columnNames) {
+			table.addColumn(RelationalUtil.createColumn(columnName));
+		}
+		return table;
+	}
+
+	private static Index createIndex(String name, String... columnNames) {
+		Index index = RelationalUtil.createIndex(name);
+		for(String columnName : columnNames) {
+			index.addColumn(RelationalUtil.createColumn(columnName));
+		}
+		return index;
+	}
+
+	private static Index addIndex(Table table, String name, String... columnNames) {
+		Index index = RelationalUtil.createIndex(name);
+		for(String columnName : columnNames) {
+			for(Column column : table.getColumns()) {
+				if(column.getName().equals(columnName)) {
+					index.addColumn(column);
+				}
+			}
+		}
+		table.addIndex(index);
+		return index;
+	}
+
+	private static void assertOperations(DifferenceReport report, int creates, int deletes, int updates) {
+		assertEquals(creates, report.getObjectsToCreate().getList().size());
+		assertEquals(deletes, report.getObjectsToDelete().getList().size());
+		assertEquals(updates, report.getObjectsToUpdate().getList().size());
+	}
+
+	private static void assertEqualHashCodes(RelationalObject obj1, RelationalObject obj2) {
+		assertEquals(obj1, obj2);
+		assertEquals(obj2, obj1);
+		assertEquals(obj1.hashCode(), obj2.hashCode());
+	}
+
+	/**
+     * Test identical models.  expected result - no operations
+     */
+    @Test
+    public void testIdenticalModels() {
+    	Model target = RelationalUtil.createModel(MODEL_NAME);
+    	target.addChild(createTable("table1", "col1", "col2")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    	target.addChild(createTable("table2", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+
+    	Model original = RelationalUtil.createModel(MODEL_NAME);
+    	original.addChild(createTable("table1", "col1", "col2")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    	original.addChild(createTable("table2", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+
+    	DifferenceReport report = DifferenceGenerator.compare(target, original);
+
+    	assertOperations(report, 0, 0, 0);
+    	assertFalse(report.hasOperations());
+    }
+
+	/**
+     * Test a changed table.  expected result - the target table is updated
+     */
+    @Test
+    public void testChangedTable() {
+    	Model target = RelationalUtil.createModel(MODEL_NAME);
+    	Table targetTable = createTable("table1", "col1", "col2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    	target.addChild(targetTable);
+
+    	Model original = RelationalUtil.createModel(MODEL_NAME);
+    	original.addChild(createTable("table1", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+
+    	DifferenceReport report = DifferenceGenerator.compare(target, original);
+
+    	assertOperations(report, 0, 0, 1);
+    	assertSame(targetTable, report.getObjectsToUpdate().getList().get(0));
+    }
+
+	/**
+     * Test a renamed table.  expected result - the new table is created and the old one deleted
+     */
+    @Test
+    public void testRenamedTable() {
+    	Model target = RelationalUtil.createModel(MODEL_NAME);
+    	Table renamedTable = createTable("newName", "col1"); //$NON-NLS-1$ //$NON-NLS-2$
+    	target.addChild(renamedTable);
+    	target.addChild(createTable("table2", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+
+    	Model original = RelationalUtil.createModel(MODEL_NAME);
+    	Table oldTable = createTable("oldName", "col1"); //$NON-NLS-1$ //$NON-NLS-2$
+    	original.addChild(oldTable);
+    	original.addChild(createTable("table2", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+
+    	DifferenceReport report = DifferenceGenerator.compare(target, original);
+
+    	assertOperations(report, 1, 1, 0);
+    	assertSame(renamedTable, report.getObjectsToCreate().getList().get(0));
+    	assertSame(oldTable, report.getObjectsToDelete().getList().get(0));
+    }
+
+	/**
+     * Test a name differing only in case.  expected result - names are matched exactly
+     */
+    @Test
+    public void testRenamedTableCase() {
+    	Model target = RelationalUtil.createModel(MODEL_NAME);
+    	target.addChild(createTable("TABLE1", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+
+    	Model original = RelationalUtil.createModel(MODEL_NAME);
+    	original.addChild(createTable("table1", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+
+    	assertOperations(DifferenceGenerator.compare(target, original), 1, 1, 0);
+    }
+
+	/**
+     * Test reordered tables and index columns.  expected result - no operations
+     */
+    @Test
+    public void testReorderedObjects() {
+    	Model target = RelationalUtil.createModel(MODEL_NAME);
+    	Table targetTable1 = createTable("table1", "col1", "col2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    	target.addChild(targetTable1);
+    	target.addChild(createTable("table2", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+    	addIndex(targetTable1, "index1", "col1", "col2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    	Model original = RelationalUtil.createModel(MODEL_NAME);
+    	original.addChild(createTable("table2", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+    	Table originalTable1 = createTable("table1", "col1", "col2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    	original.addChild(originalTable1);
+    	addIndex(originalTable1, "index1", "col2", "col1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    	assertOperations(DifferenceGenerator.compare(target, original), 0, 0, 0);
+    }
+
+	/**
+     * Test reordered table columns.  expected result - table columns are ordered so the table is updated
+     */
+    @Test
+    public void testReorderedTableColumns() {
+    	Model target = RelationalUtil.createModel(MODEL_NAME);
+    	target.addChild(createTable("table1", "col1", "col2")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    	Model original = RelationalUtil.createModel(MODEL_NAME);
+    	original.addChild(createTable("table1", "col2", "col1")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    	assertOperations(DifferenceGenerator.compare(target, original), 0, 0, 1);
+    }
+
+	/**
+     * Test objects with the same name and type but different parents.  expected result - the objects do not match
+     */
+    @Test
+    public void testSameNameDifferentParent() {
+    	Schema schema1 = RelationalUtil.createSchema("schema1"); //$NON-NLS-1$
+    	Schema schema2 = RelationalUtil.createSchema("schema2"); //$NON-NLS-1$
+
+    	// Indexes take the parent of their table when added
+    	Model target = RelationalUtil.createModel(MODEL_NAME);
+    	Table targetTable = createTable("table1", "col1"); //$NON-NLS-1$ //$NON-NLS-2$
+    	schema1.addTable(targetTable);
+    	Index targetIndex = addIndex(targetTable, "index1", "col1"); //$NON-NLS-1$ //$NON-NLS-2$
+    	target.addChild(targetTable);
+
+    	Model original = RelationalUtil.createModel(MODEL_NAME);
+    	Table originalTable = createTable("table1", "col1"); //$NON-NLS-1$ //$NON-NLS-2$
+    	schema2.addTable(originalTable);
+    	Index originalIndex = addIndex(originalTable, "index1", "col1"); //$NON-NLS-1$ //$NON-NLS-2$
+    	original.addChild(originalTable);
+
+    	assertSame(schema1, targetIndex.getParent());
+    	assertSame(schema2, originalIndex.getParent());
+
+    	DifferenceReport report = DifferenceGenerator.compare(target, original);
+
+    	// The tables both have a model parent so they match
+    	assertOperations(report, 1, 1, 0);
+    	assertSame(targetIndex, report.getObjectsToCreate().getList().get(0));
+    	assertSame(originalIndex, report.getObjectsToDelete().getList().get(0));
+    }
+
+	/**
+     * Test objects with the same name and parent name but different parent types.  expected result - the objects do not match
+     */
+    @Test
+    public void testSameNameDifferentParentType() {
+    	Model target = RelationalUtil.createModel(MODEL_NAME);
+    	Table targetTable = createTable("table1", "col1"); //$NON-NLS-1$ //$NON-NLS-2$
+    	target.addChild(targetTable);
+    	Index targetIndex = RelationalUtil.createIndex("index1"); //$NON-NLS-1$
+    	targetIndex.setParent(RelationalUtil.createSchema("parent")); //$NON-NLS-1$
+    	targetTable.getIndexes().add(targetIndex);
+
+    	Model original = RelationalUtil.createModel(MODEL_NAME);
+    	Table originalTable = createTable("table1", "col1"); //$NON-NLS-1$ //$NON-NLS-2$
+    	original.addChild(originalTable);
+    	Index originalIndex = RelationalUtil.createIndex("index1"); //$NON-NLS-1$
+    	originalIndex.setParent(RelationalUtil.createTable("parent")); //$NON-NLS-1$
+    	originalTable.getIndexes().add(originalIndex);
+
+    	assertOperations(DifferenceGenerator.compare(target, original), 1, 1, 0);
+    }
+
+	/**
+     * Test that objects whose equals() ignores the order of a collection have equal hash codes
+     */
+    @Test
+    public void testEqualsHashCodeIgnoreOrder() {
+    	Column col1 = RelationalUtil.createColumn("col1"); //$NON-NLS-1$
+    	Column col2 = RelationalUtil.createColumn("col2"); //$NON-NLS-1$
+    	Column col3 = RelationalUtil.createColumn("col3"); //$NON-NLS-1$
+
+    	// Columns of keys, indexes and access patterns
+    	ForeignKey fk1 = RelationalUtil.createForeignKey("fk"); //$NON-NLS-1$
+    	fk1.addColumn(col1);
+    	fk1.addColumn(col2);
+    	ForeignKey fk2 = RelationalUtil.createForeignKey("fk"); //$NON-NLS-1$
+    	fk2.addColumn(col2);
+    	fk2.addColumn(col1);
+    	assertEqualHashCodes(fk1, fk2);
+
+    	UniqueConstraint uc1 = RelationalUtil.createUniqueConstraint("uc"); //$NON-NLS-1$
+    	uc1.addColumn(col1);
+    	uc1.addColumn(col2);
+    	uc1.addColumn(col3);
+    	UniqueConstraint uc2 = RelationalUtil.createUniqueConstraint("uc"); //$NON-NLS-1$
+    	uc2.addColumn(col3);
+    	uc2.addColumn(col1);
+    	uc2.addColumn(col2);
+    	assertEqualHashCodes(uc1, uc2);
+
+    	AccessPattern ap1 = RelationalUtil.createAccessPattern("ap"); //$NON-NLS-1$
+    	ap1.addColumn(col1);
+    	ap1.addColumn(col2);
+    	AccessPattern ap2 = RelationalUtil.createAccessPattern("ap"); //$NON-NLS-1$
+    	ap2.addColumn(col2);
+    	ap2.addColumn(col1);
+    	assertEqualHashCodes(ap1, ap2);
+
+    	assertEqualHashCodes(createIndex("index", "col1", "col2"), createIndex("index", "col2", "col1")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+
+    	// Foreign keys of a table
+    	ForeignKey fkA = RelationalUtil.createForeignKey("fkA"); //$NON-NLS-1$
+    	fkA.addColumn(col1);
+    	ForeignKey fkB = RelationalUtil.createForeignKey("fkB"); //$NON-NLS-1$
+    	fkB.addColumn(col2);
+    	Table table1 = RelationalUtil.createTable("table"); //$NON-NLS-1$
+    	table1.addForeignKey(fkA);
+    	table1.addForeignKey(fkB);
+    	Table table2 = RelationalUtil.createTable("table"); //$NON-NLS-1$
+    	table2.addForeignKey(fkB);
+    	table2.addForeignKey(fkA);
+    	assertEqualHashCodes(table1, table2);
+
+    	// Tables of a schema
+    	Schema schema1 = RelationalUtil.createSchema("schema"); //$NON-NLS-1$
+    	schema1.addTable(createTable("tableA", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+    	schema1.addTable(createTable("tableB", "col2")); //$NON-NLS-1$ //$NON-NLS-2$
+    	Schema schema2 = RelationalUtil.createSchema("schema"); //$NON-NLS-1$
+    	schema2.addTable(createTable("tableB", "col2")); //$NON-NLS-1$ //$NON-NLS-2$
+    	schema2.addTable(createTable("tableA", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+    	assertEqualHashCodes(schema1, schema2);
+
+    	// Extension properties
+    	Column extCol1 = RelationalUtil.createColumn("col"); //$NON-NLS-1$
+    	extCol1.addExtensionProperty("prop1", "value1"); //$NON-NLS-1$ //$NON-NLS-2$
+    	extCol1.addExtensionProperty("prop2", "value2"); //$NON-NLS-1$ //$NON-NLS-2$
+    	Column extCol2 = RelationalUtil.createColumn("col"); //$NON-NLS-1$
+    	extCol2.addExtensionProperty("prop2", "value2"); //$NON-NLS-1$ //$NON-NLS-2$
+    	extCol2.addExtensionProperty("prop1", "value1"); //$NON-NLS-1$ //$NON-NLS-2$
+    	assertEqualHashCodes(extCol1, extCol2);
+    }
+
+	/**
+     * Test that collections differing by more than order are not equal
+     */
+    @Test
+    public void testNotEqualDifferentCollections() {
+    	Schema schema1 = RelationalUtil.createSchema("schema"); //$NON-NLS-1$
+    	schema1.addTable(createTable("tableA", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+    	Schema schema2 = RelationalUtil.createSchema("schema"); //$NON-NLS-1$
+    	schema2.addTable(createTable("tableB", "col1")); //$NON-NLS-1$ //$NON-NLS-2$
+    	assertFalse(schema1.equals(schema2));
+
+    	Index index1 = createIndex("index", "col1", "col2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    	Index index2 = createIndex("index", "col1", "col3"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    	assertFalse(index1.equals(index2));
+    }
+
+	/**
+     * Test column properties differing only in case.  expected result - no operations
+     */
+    @Test
+    public void testColumnPropertiesDifferingInCase() {
+    	Table targetTable = createTable("table1", "col1"); //$NON-NLS-1$ //$NON-NLS-2$
+    	Column targetColumn = targetTable.getColumns().get(0);
+    	targetColumn.setDatatype("string"); //$NON-NLS-1$
+    	targetColumn.setNativeType("varchar"); //$NON-NLS-1$
+    	targetColumn.setDefaultValue("abc"); //$NON-NLS-1$
+    	Model target = RelationalUtil.createModel(MODEL_NAME);
+    	target.addChild(targetTable);
+
+    	Table originalTable = createTable("table1", "col1"); //$NON-NLS-1$ //$NON-NLS-2$
+    	Column originalColumn = originalTable.getColumns().get(0);
+    	originalColumn.setDatatype("STRING"); //$NON-NLS-1$
+    	originalColumn.setNativeType("VARCHAR"); //$NON-NLS-1$
+    	originalColumn.setDefaultValue("ABC"); //$NON-NLS-1$
+    	Model original = RelationalUtil.createModel(MODEL_NAME);
+    	original.addChild(originalTable);
+
+    	assertEqualHashCodes(targetColumn, originalColumn);
+    	assertEqualHashCodes(targetTable, originalTable);
+
+    	DifferenceReport report = DifferenceGenerator.compare(target, original);
+
+    	assertOperations(report, 0, 0, 0);
+    }
+
+	/**
+     * Test that collections with the same size but different duplicates are not equal
+     */
+    @Test
+    public void testNotEqualDuplicates() {
+    	Column col1 = RelationalUtil.createColumn("col1"); //$NON-NLS-1$
+    	Column col2 = RelationalUtil.createColumn("col2"); //$NON-NLS-1$
+    	Column col3 = RelationalUtil.createColumn("col3"); //$NON-NLS-1$
+
+    	AccessPattern ap1 = RelationalUtil.createAccessPattern("ap"); //$NON-NLS-1$
+    	ap1.addColumn(col1);
+    	ap1.addColumn(col2);
+    	ap1.addColumn(col3);
+    	AccessPattern ap2 = RelationalUtil.createAccessPattern("ap"); //$NON-NLS-1$
+    	ap2.addColumn(col1);
+    	ap2.addColumn(col1);
+    	ap2.addColumn(col2);
+    	assertFalse(ap1.equals(ap2));
+    	assertFalse(ap2.equals(ap1));
+
+    	// the same columns, duplicated differently
+    	Index index1 = createIndex("index", "col1", "col1", "col2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    	Index index2 = createIndex("index", "col2", "col1", "col2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    	assertEqualHashCodes(index1, index2);
+    }
+
+}